@@ -0,0 +1,54 @@
+package com.nageoffer.onethread.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 基准测试入口，依次以 1/4/16/64 个并发（生产者-消费者对）运行基准测试，结果输出为 JSON 便于版本间对比
+ * <p>
+ * 打包后执行：java -jar benchmarks/target/onethread-benchmarks.jar [基准测试类名...]，
+ * 例如只运行队列基准测试：java -jar onethread-benchmarks.jar BlockingQueueBenchmark；
+ * 如需自定义 JMH 参数，可直接使用 org.openjdk.jmh.Main 作为入口
+ */
+public class BenchmarkRunner {
+
+    private static final int[] CONCURRENCY_LEVELS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        List<String> includes = Arrays.asList(args);
+        for (int concurrency : CONCURRENCY_LEVELS) {
+            run(includes, BlockingQueueBenchmark.class, concurrency, concurrency, concurrency);
+            run(includes, QueueResizeBenchmark.class, concurrency, concurrency, concurrency, 1);
+            run(includes, ExecutorExecuteBenchmark.class, concurrency);
+            run(includes, RejectedHandlerBenchmark.class, concurrency);
+            run(includes, RunStateProbeBenchmark.class, concurrency);
+        }
+    }
+
+    /**
+     * @param concurrency  当前并发级别，用于结果文件命名
+     * @param threadGroups 分组基准测试各方法的线程数（按方法名字典序），为空时按 concurrency 设置线程数
+     */
+    private static void run(List<String> includes, Class<?> benchmark, int concurrency, int... threadGroups) throws RunnerException {
+        if (!includes.isEmpty() && !includes.contains(benchmark.getSimpleName())) {
+            return;
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(benchmark.getName())
+                .resultFormat(ResultFormatType.JSON)
+                .result(String.format("jmh-%s-%d.json", benchmark.getSimpleName(), concurrency));
+        if (threadGroups.length > 0) {
+            builder.threadGroups(threadGroups);
+        } else {
+            builder.threads(concurrency);
+        }
+        new Runner(builder.build()).run();
+    }
+}
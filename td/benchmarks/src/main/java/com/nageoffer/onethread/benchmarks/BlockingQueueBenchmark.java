@@ -0,0 +1,80 @@
+package com.nageoffer.onethread.benchmarks;
+
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阻塞队列生产消费吞吐基准测试，覆盖 {@link BlockingQueueTypeEnum} 中的所有队列类型
+ * <p>
+ * 生产者和消费者数量通过 {@link BenchmarkRunner} 中的 threadGroups 指定（1/4/16/64 对），
+ * 入队出队均带超时，避免迭代结束时线程阻塞在空队列或满队列上
+ * <p>
+ * 队列类型参数不指定取值，由 JMH 遍历全部枚举常量，新增队列类型自动纳入测试。无界队列（PriorityBlockingQueue、
+ * LinkedTransferQueue）的 offer 永不阻塞，生产者会无限堆积，因此额外用 {@link #capacity} 个许可限制在途元素数量，
+ * 与有界队列在相同背压下比较。EagerTaskQueue 和 CoDelBlockingQueue 的准入逻辑依赖所属线程池和任务入队时间，
+ * 这里只衡量其底层队列开销；SpillableBlockingQueue 写满后会溢写到磁盘。
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingQueueBenchmark {
+
+    private static final Integer TASK = 1;
+
+    @Param
+    public BlockingQueueTypeEnum queueType;
+
+    @Param({"1024"})
+    public int capacity;
+
+    private BlockingQueue<Integer> queue;
+
+    /**
+     * 无界队列的在途元素许可，有界队列为 null
+     */
+    private Semaphore slots;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = BlockingQueueTypeEnum.createBlockingQueue(queueType.getName(), capacity);
+        slots = queue.remainingCapacity() == Integer.MAX_VALUE ? new Semaphore(capacity) : null;
+    }
+
+    @Benchmark
+    @Group("queue")
+    public Integer consumer() throws InterruptedException {
+        Integer task = queue.poll(1, TimeUnit.MILLISECONDS);
+        if (task != null && slots != null) {
+            slots.release();
+        }
+        return task;
+    }
+
+    @Benchmark
+    @Group("queue")
+    public boolean producer() throws InterruptedException {
+        if (slots != null && !slots.tryAcquire(1, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        return queue.offer(TASK, 1, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,103 @@
+package com.nageoffer.onethread.benchmarks;
+
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code OneThreadExecutor.execute} 与原生 {@link ThreadPoolExecutor} 的吞吐对比，衡量任务包装、计数和耗时统计的开销
+ * <p>
+ * 每次调用提交一批空任务并等待其全部执行完成，提交线程数通过 {@link BenchmarkRunner} 指定
+ * <p>
+ * 不包含 PriorityBlockingQueue，空任务没有实现 {@link Comparable} 无法入队。拒绝策略使用 CallerRunsPolicy，
+ * SynchronousQueue 没有空闲线程或 CoDelBlockingQueue 拒绝时由提交线程执行任务，保证每批任务都能执行完成
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorExecuteBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"OneThreadExecutor", "ThreadPoolExecutor"})
+    public String executorType;
+
+    @Param({
+            "ARRAY_BLOCKING_QUEUE",
+            "LINKED_BLOCKING_QUEUE",
+            "LINKED_BLOCKING_DEQUE",
+            "SYNCHRONOUS_QUEUE",
+            "LINKED_TRANSFER_QUEUE",
+            "RESIZABLE_CAPACITY_LINKED_BLOCKING_QUEUE",
+            "RESIZABLE_ARRAY_RING_QUEUE",
+            "EAGER_TASK_QUEUE",
+            "SPILLABLE_BLOCKING_QUEUE",
+            "CODEL_BLOCKING_QUEUE"
+    })
+    public BlockingQueueTypeEnum queueType;
+
+    /**
+     * 队列容量，大于最高并发下所有提交线程的在途任务总数（64 * {@link #BATCH_SIZE}），正常情况下不会触发拒绝
+     */
+    @Param({"65536"})
+    public int queueCapacity;
+
+    @Param({"8"})
+    public int poolSize;
+
+    private ThreadPoolExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ThreadPoolExecutorBuilder builder = ThreadPoolExecutorBuilder.builder()
+                .threadPoolId("benchmark-execute")
+                .corePoolSize(poolSize)
+                .maximumPoolSize(poolSize)
+                .workQueueType(queueType)
+                .workQueueCapacity(queueCapacity)
+                .rejectedHandler(new ThreadPoolExecutor.CallerRunsPolicy())
+                .threadFactory("benchmark-execute_");
+        if ("OneThreadExecutor".equals(executorType)) {
+            builder.dynamicPool();
+        }
+        executor = builder.build();
+        executor.prestartAllCoreThreads();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void execute() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(BATCH_SIZE);
+        Runnable task = latch::countDown;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            executor.execute(task);
+        }
+        latch.await();
+    }
+}
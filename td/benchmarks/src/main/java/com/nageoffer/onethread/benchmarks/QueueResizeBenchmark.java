@@ -0,0 +1,86 @@
+package com.nageoffer.onethread.benchmarks;
+
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.executor.support.ResizableCapacityQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 可调容量队列在生产消费负载下被持续调用 setCapacity 时的吞吐基准测试
+ * <p>
+ * 线程分组为 consumer / producer / resizer，resizer 固定 1 个线程，每隔 {@link #resizeIntervalMicros} 微秒
+ * 在两个容量之间来回切换，模拟配置中心频繁下发队列容量
+ * <p>
+ * 覆盖所有实现 {@link ResizableCapacityQueue} 的队列类型
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueResizeBenchmark {
+
+    private static final Integer TASK = 1;
+
+    @Param({
+            "RESIZABLE_CAPACITY_LINKED_BLOCKING_QUEUE",
+            "RESIZABLE_ARRAY_RING_QUEUE",
+            "EAGER_TASK_QUEUE",
+            "SPILLABLE_BLOCKING_QUEUE",
+            "CODEL_BLOCKING_QUEUE"
+    })
+    public BlockingQueueTypeEnum queueType;
+
+    @Param({"256"})
+    public int minCapacity;
+
+    @Param({"4096"})
+    public int maxCapacity;
+
+    @Param({"100"})
+    public long resizeIntervalMicros;
+
+    private BlockingQueue<Integer> queue;
+    private boolean grow;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = BlockingQueueTypeEnum.createBlockingQueue(queueType.getName(), minCapacity);
+    }
+
+    @Benchmark
+    @Group("resize")
+    public Integer consumer() throws InterruptedException {
+        return queue.poll(1, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("resize")
+    public boolean producer() throws InterruptedException {
+        return queue.offer(TASK, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("resize")
+    public void resizer() {
+        grow = !grow;
+        ((ResizableCapacityQueue) queue).setCapacity(grow ? maxCapacity : minCapacity);
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(resizeIntervalMicros));
+    }
+}
@@ -0,0 +1,79 @@
+package com.nageoffer.onethread.benchmarks;
+
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 拒绝路径基准测试：唯一的工作线程被阻塞且队列为 SynchronousQueue，每次 execute 都会触发拒绝策略，
+ * 对比 {@code OneThreadExecutor#setRejectedExecutionHandler} 包装（拒绝计数）与原生拒绝策略的开销
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectedHandlerBenchmark {
+
+    private static final Runnable TASK = () -> {
+    };
+
+    @Param({"OneThreadExecutor", "ThreadPoolExecutor"})
+    public String executorType;
+
+    private ThreadPoolExecutor executor;
+    private CountDownLatch blocker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ThreadPoolExecutorBuilder builder = ThreadPoolExecutorBuilder.builder()
+                .threadPoolId("benchmark-rejected")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.SYNCHRONOUS_QUEUE)
+                .threadFactory("benchmark-rejected_")
+                .rejectedHandler(new ThreadPoolExecutor.DiscardPolicy());
+        if ("OneThreadExecutor".equals(executorType)) {
+            builder.dynamicPool();
+        }
+        executor = builder.build();
+
+        blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        blocker.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void rejectedExecute() {
+        executor.execute(TASK);
+    }
+}
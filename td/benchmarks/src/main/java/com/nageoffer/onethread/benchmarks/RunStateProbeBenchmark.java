@@ -0,0 +1,78 @@
+package com.nageoffer.onethread.benchmarks;
+
+import cn.hutool.core.util.ReflectUtil;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolRunStateProbe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池运行状态探测基准测试：对比看板原先每次调用都反射查找方法和字段的实现、
+ * {@link ThreadPoolRunStateProbe} 预解析 VarHandle 的实现，以及无法访问内部状态时退化使用的公开 API
+ * <p>
+ * 原实现在 JDK 17+ 上需要开放 {@code java.util.concurrent} 包，因此 fork 时追加 {@code --add-opens}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.util.concurrent=ALL-UNNAMED")
+public class RunStateProbeBenchmark {
+
+    private ThreadPoolExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        executor.prestartAllCoreThreads();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public String reflectUtil() {
+        Method runStateLessThan = ReflectUtil.getMethodByName(ThreadPoolExecutor.class, "runStateLessThan");
+        ReflectUtil.setAccessible(runStateLessThan);
+        AtomicInteger ctl = (AtomicInteger) ReflectUtil.getFieldValue(executor, "ctl");
+        int shutdown = (int) ReflectUtil.getFieldValue(executor, "SHUTDOWN");
+        boolean runStateLessThanBool = ReflectUtil.invoke(executor, runStateLessThan, ctl.get(), shutdown);
+        if (runStateLessThanBool) {
+            return "Running";
+        }
+
+        Method runStateAtLeast = ReflectUtil.getMethodByName(ThreadPoolExecutor.class, "runStateAtLeast");
+        ReflectUtil.setAccessible(runStateAtLeast);
+        int terminated = (int) ReflectUtil.getFieldValue(executor, "TERMINATED");
+        return ReflectUtil.invoke(executor, runStateAtLeast, ctl.get(), terminated) ? "Terminated" : "Shutting down";
+    }
+
+    @Benchmark
+    public String probe() {
+        return ThreadPoolRunStateProbe.probe(executor).getStatus();
+    }
+
+    @Benchmark
+    public boolean publicApi() {
+        return executor.isShutdown() | executor.isTerminating() | executor.isTerminated();
+    }
+}
@@ -0,0 +1,324 @@
+package com.nageoffer.onethread.core.alarm;
+
+import com.nageoffer.onethread.core.toolkit.ThreadFactoryBuilder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 任务执行超时检测时间轮，所有线程池共享一个时间轮和一个检测线程
+ * <p>
+ * 每个工作线程持有一个可复用的跟踪条目，任务开始和结束只更新条目字段，条目不在时间轮中时才通过无锁栈投递一次，
+ * 每个任务的开销为 O(1)，不为任务创建定时任务。检测线程每 100 毫秒推进一格，按条目当前任务的截止时间重新放入对应的格子，
+ * 线程空闲时条目移出时间轮，时间轮中的条目数不超过正在执行任务的工作线程数。
+ * <p>
+ * 任务超时后通知 {@link TimeoutListener} 一次，并按配置中断工作线程。中断前会再次确认仍是同一个任务，
+ * 但任务恰好在确认后结束时，中断标记可能落到该线程的下一个任务上。
+ */
+@Slf4j
+public final class TaskTimeoutWheel {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /**
+     * 超时报警中保留的最大栈深度
+     */
+    private static final int MAX_STACK_DEPTH = 32;
+
+    private static final int IDLE = 0;
+    private static final int IN_WHEEL = 1;
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Entry.class, "state", int.class);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static final ThreadLocal<Entry> ENTRY = new ThreadLocal<>();
+    private static final AtomicReference<Entry> PENDING = new AtomicReference<>();
+    private static final AtomicBoolean STARTED = new AtomicBoolean(false);
+
+    /**
+     * 以下字段仅由检测线程访问
+     */
+    private static final Entry[] BUCKETS = new Entry[WHEEL_SIZE];
+    private static long wheelStartNanos;
+    private static long nextTick;
+
+    /**
+     * 报警检查器注册的超时回调，未启动报警检查时为空
+     */
+    private static volatile TimeoutListener listener;
+
+    private TaskTimeoutWheel() {
+    }
+
+    /**
+     * 注册超时回调
+     *
+     * @param timeoutListener 任务超时时在检测线程中执行的回调，需快速返回
+     */
+    public static void register(TimeoutListener timeoutListener) {
+        listener = timeoutListener;
+    }
+
+    /**
+     * 取消注册超时回调，已开始的超时检测和中断不受影响
+     */
+    public static void unregister() {
+        listener = null;
+    }
+
+    /**
+     * 在工作线程中标记任务开始执行
+     *
+     * @param threadPoolId 线程池唯一标识
+     * @param timeoutNanos 执行超时时间，单位纳秒
+     * @param interrupt    超时后是否中断工作线程
+     */
+    public static void taskStarted(String threadPoolId, long timeoutNanos, boolean interrupt) {
+        Entry entry = ENTRY.get();
+        if (entry == null) {
+            entry = new Entry(Thread.currentThread());
+            ENTRY.set(entry);
+        }
+
+        long now = System.nanoTime();
+        entry.threadPoolId = threadPoolId;
+        entry.startNanos = now;
+        entry.deadlineNanos = now + timeoutNanos;
+        entry.timeoutNanos = timeoutNanos;
+        entry.interrupt = interrupt;
+        // 奇数表示正在执行任务，volatile 写保证检测线程读到序号后能看到上面的字段
+        entry.sequence = entry.sequence + 1;
+
+        if (entry.state == IDLE && STATE.compareAndSet(entry, IDLE, IN_WHEEL)) {
+            push(entry);
+        }
+        if (!STARTED.get() && STARTED.compareAndSet(false, true)) {
+            start();
+        }
+    }
+
+    /**
+     * 在工作线程中标记任务执行结束，未开启过超时检测时不访问线程本地变量
+     */
+    public static void taskFinished() {
+        if (!STARTED.get()) {
+            return;
+        }
+        Entry entry = ENTRY.get();
+        if (entry != null && (entry.sequence & 1L) == 1L) {
+            entry.sequence = entry.sequence + 1;
+        }
+    }
+
+    private static void push(Entry entry) {
+        Entry head;
+        do {
+            head = PENDING.get();
+            entry.pendingNext = head;
+        } while (!PENDING.compareAndSet(head, entry));
+    }
+
+    private static void start() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                ThreadFactoryBuilder.builder()
+                        .namePrefix("scheduler_task_timeout_wheel")
+                        .daemon(true)
+                        .build()
+        );
+        wheelStartNanos = System.nanoTime();
+        nextTick = 0L;
+        scheduler.scheduleAtFixedRate(TaskTimeoutWheel::advance, 0, TICK_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    private static void advance() {
+        try {
+            long now = System.nanoTime();
+            long currentTick = (now - wheelStartNanos) / TICK_NANOS;
+            for (Entry entry = PENDING.getAndSet(null); entry != null; ) {
+                Entry next = entry.pendingNext;
+                entry.pendingNext = null;
+                schedule(entry, entry.deadlineNanos);
+                entry = next;
+            }
+
+            // 检测线程停顿超过一圈时每个格子只需处理一次
+            long fromTick = Math.max(nextTick, currentTick - WHEEL_MASK);
+            for (long tick = fromTick; tick <= currentTick; tick++) {
+                nextTick = tick + 1;
+                int bucket = (int) (tick & WHEEL_MASK);
+                Entry entry = BUCKETS[bucket];
+                BUCKETS[bucket] = null;
+                while (entry != null) {
+                    Entry next = entry.bucketNext;
+                    entry.bucketNext = null;
+                    process(entry, now);
+                    entry = next;
+                }
+            }
+        } catch (Throwable ex) {
+            log.error("Task timeout wheel advance error.", ex);
+        }
+    }
+
+    private static void process(Entry entry, long now) {
+        long sequence = entry.sequence;
+        if ((sequence & 1L) == 0L) {
+            // 线程空闲，移出时间轮；移出后再次确认，避免与刚开始的任务互相错过
+            entry.state = IDLE;
+            if (entry.sequence != sequence && STATE.compareAndSet(entry, IDLE, IN_WHEEL)) {
+                schedule(entry, entry.deadlineNanos);
+            }
+            return;
+        }
+
+        String threadPoolId = entry.threadPoolId;
+        long startNanos = entry.startNanos;
+        long deadlineNanos = entry.deadlineNanos;
+        long timeoutNanos = entry.timeoutNanos;
+        boolean interrupt = entry.interrupt;
+        VarHandle.acquireFence();
+        if (entry.sequence != sequence || sequence == entry.firedSequence) {
+            // 读取期间切换了任务，或当前任务已报警，下一格再检查
+            schedule(entry, now);
+            return;
+        }
+        if (now - deadlineNanos < 0) {
+            schedule(entry, deadlineNanos);
+            return;
+        }
+
+        entry.firedSequence = sequence;
+        Thread thread = entry.thread;
+        StackTraceElement[] stackTrace = thread.getStackTrace();
+        boolean interrupted = false;
+        if (interrupt && entry.sequence == sequence) {
+            thread.interrupt();
+            interrupted = true;
+        }
+        TimeoutListener timeoutListener = listener;
+        if (timeoutListener != null) {
+            StackTraceElement[] truncated = stackTrace.length > MAX_STACK_DEPTH
+                    ? Arrays.copyOf(stackTrace, MAX_STACK_DEPTH)
+                    : stackTrace;
+            timeoutListener.onTimeout(new TaskTimeout(
+                    threadPoolId,
+                    thread.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(now - startNanos),
+                    TimeUnit.NANOSECONDS.toMillis(timeoutNanos),
+                    interrupted,
+                    truncated
+            ));
+        }
+        schedule(entry, now);
+    }
+
+    /**
+     * 放入截止时间对应的格子，至少为下一格，超过一圈的截止时间先放在一圈以内，到期后重新计算
+     */
+    private static void schedule(Entry entry, long deadlineNanos) {
+        long tick = (deadlineNanos - wheelStartNanos + TICK_NANOS - 1) / TICK_NANOS;
+        tick = Math.max(nextTick, Math.min(tick, nextTick + WHEEL_MASK));
+        int bucket = (int) (tick & WHEEL_MASK);
+        entry.bucketNext = BUCKETS[bucket];
+        BUCKETS[bucket] = entry;
+    }
+
+    /**
+     * 任务执行超时回调
+     */
+    @FunctionalInterface
+    public interface TimeoutListener {
+
+        /**
+         * 任务执行超时，每个任务最多回调一次
+         *
+         * @param timeout 超时任务信息
+         */
+        void onTimeout(TaskTimeout timeout);
+    }
+
+    /**
+     * 超时任务信息
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class TaskTimeout {
+
+        /**
+         * 线程池唯一标识
+         */
+        private final String threadPoolId;
+
+        /**
+         * 执行任务的工作线程名称
+         */
+        private final String threadName;
+
+        /**
+         * 检测到超时时任务已执行时长，单位毫秒
+         */
+        private final long elapsedMillis;
+
+        /**
+         * 执行超时时间，单位毫秒
+         */
+        private final long timeoutMillis;
+
+        /**
+         * 是否已中断工作线程
+         */
+        private final boolean interrupted;
+
+        /**
+         * 检测到超时时工作线程的调用栈
+         */
+        private final StackTraceElement[] stackTrace;
+    }
+
+    /**
+     * 工作线程的跟踪条目，由工作线程更新任务字段，由检测线程读取
+     */
+    private static final class Entry {
+
+        private final Thread thread;
+        private volatile long sequence;
+        private volatile int state;
+        private String threadPoolId;
+        private long startNanos;
+        private long deadlineNanos;
+        private long timeoutNanos;
+        private boolean interrupt;
+
+        /**
+         * 以下字段仅由检测线程访问
+         */
+        private long firedSequence;
+        private Entry bucketNext;
+
+        /**
+         * 投递到检测线程前由工作线程写入，检测线程取出后读取
+         */
+        private Entry pendingNext;
+
+        private Entry(Thread thread) {
+            this.thread = thread;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.nageoffer.onethread.core.alarm;
 import cn.hutool.core.date.DateUtil;
 import com.nageoffer.onethread.core.config.ApplicationProperties;
 import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadForkJoinPool;
 import com.nageoffer.onethread.core.executor.OneThreadRegistry;
 import com.nageoffer.onethread.core.executor.ThreadPoolExecutorHolder;
 import com.nageoffer.onethread.core.executor.ThreadPoolExecutorProperties;
@@ -19,12 +20,16 @@ import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 线程池运行状态报警检查器
+ * <p>
+ * 拒绝和队列写满由线程池通过 {@link ThreadPoolAlarmTrigger} 立即触发检查；其余阈值每秒只检查计数发生变化的线程池；
+ * 任务执行超时由 {@link TaskTimeoutWheel} 回调报警
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -39,36 +44,139 @@ public class ThreadPoolAlarmChecker {
                     .build()
     );
     private final Map<String, Long> lastRejectCountMap = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastCounterSumMap = new ConcurrentHashMap<>();
 
     /**
-     * 启动定时检查任务
+     * 原生线程池无法无锁判断是否有任务流动，仍按该周期全量检查
+     */
+    private static final long NATIVE_CHECK_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * 计数未变化的线程池（例如线程全部阻塞）按该周期兜底检查，保证持续异常时仍能报警
+     */
+    private static final long IDLE_CHECK_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private long lastNativeCheckTime;
+    private long lastIdleCheckTime;
+
+    /**
+     * 启动报警检查任务
      */
     public void start() {
-        // 每10秒检查一次，初始延迟0秒
-        scheduler.scheduleWithFixedDelay(this::checkAlarm, 0, 5, TimeUnit.SECONDS);
+        // 拒绝或队列写满时由线程池主动触发检查
+        ThreadPoolAlarmTrigger.register(this::wakeUp);
+        // 任务执行超时时由超时检测时间轮回调
+        TaskTimeoutWheel.register(this::onExecuteTimeout);
+        // 每秒检查一次计数发生变化的线程池，初始延迟0秒
+        scheduler.scheduleWithFixedDelay(this::checkAlarm, 0, 1, TimeUnit.SECONDS);
     }
 
     /**
      * 停止报警检查
      */
     public void stop() {
+        ThreadPoolAlarmTrigger.unregister();
+        TaskTimeoutWheel.unregister();
         if (!scheduler.isShutdown()) {
             scheduler.shutdown();
         }
     }
 
     /**
-     * 报警检查核心逻辑
+     * 在提交任务线程中执行，只投递检查任务，不做任何阈值计算
+     */
+    private void wakeUp() {
+        try {
+            scheduler.execute(this::checkTriggered);
+        } catch (RejectedExecutionException ignored) {
+            // 报警检查器已停止
+        }
+    }
+
+    /**
+     * 在超时检测线程中执行，只投递报警任务，获取线程池信息和发送报警不占用检测线程
+     */
+    private void onExecuteTimeout(TaskTimeoutWheel.TaskTimeout timeout) {
+        try {
+            scheduler.execute(() -> checkExecuteTimeout(timeout));
+        } catch (RejectedExecutionException ignored) {
+            // 报警检查器已停止
+        }
+    }
+
+    /**
+     * 发送任务执行超时报警
+     */
+    private void checkExecuteTimeout(TaskTimeoutWheel.TaskTimeout timeout) {
+        ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(timeout.getThreadPoolId());
+        if (holder != null && holder.getExecutorProperties().getAlarm().getEnable()) {
+            sendAlarmMessage("Timeout", holder, timeout);
+        }
+    }
+
+    /**
+     * 检查被主动触发的线程池
+     */
+    private void checkTriggered() {
+        for (String threadPoolId : ThreadPoolAlarmTrigger.drain()) {
+            ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(threadPoolId);
+            if (holder != null && holder.getExecutorProperties().getAlarm().getEnable()) {
+                checkThreshold(holder);
+            }
+        }
+    }
+
+    /**
+     * 报警检查核心逻辑，只检查计数发生变化的线程池
      */
     private void checkAlarm() {
+        long now = System.currentTimeMillis();
+        boolean nativeCheck = now - lastNativeCheckTime >= NATIVE_CHECK_INTERVAL_MILLIS;
+        boolean idleCheck = now - lastIdleCheckTime >= IDLE_CHECK_INTERVAL_MILLIS;
+
         Collection<ThreadPoolExecutorHolder> holders = OneThreadRegistry.getAllHolders();
         for (ThreadPoolExecutorHolder holder : holders) {
-            if (holder.getExecutorProperties().getAlarm().getEnable()) {
-                checkQueueUsage(holder);
-                checkActiveRate(holder);
-                checkRejectCount(holder);
+            if (!holder.getExecutorProperties().getAlarm().getEnable()) {
+                continue;
+            }
+            boolean shouldCheck = holder.getExecutor() instanceof OneThreadExecutor
+                    ? isCounterChanged(holder) || idleCheck
+                    : nativeCheck;
+            if (shouldCheck) {
+                checkThreshold(holder);
             }
         }
+
+        // 清理已注销线程池的计数，避免动态创建和销毁线程池时持续占用内存
+        lastCounterSumMap.keySet().removeIf(threadPoolId -> OneThreadRegistry.getHolder(threadPoolId) == null);
+        lastRejectCountMap.keySet().removeIf(threadPoolId -> OneThreadRegistry.getHolder(threadPoolId) == null);
+
+        if (nativeCheck) {
+            lastNativeCheckTime = now;
+        }
+        if (idleCheck) {
+            lastIdleCheckTime = now;
+        }
+    }
+
+    private void checkThreshold(ThreadPoolExecutorHolder holder) {
+        if (holder.isForkJoinPool()) {
+            checkForkJoinPool(holder);
+            return;
+        }
+        checkQueueUsage(holder);
+        checkActiveRate(holder);
+        checkRejectCount(holder);
+    }
+
+    /**
+     * 自上次检查以来线程池是否有任务提交、完成或拒绝
+     */
+    private boolean isCounterChanged(ThreadPoolExecutorHolder holder) {
+        OneThreadExecutor executor = (OneThreadExecutor) holder.getExecutor();
+        long counterSum = executor.getSubmittedCount().sum() + executor.getCompletedCount().sum();
+        Long lastCounterSum = lastCounterSumMap.put(holder.getThreadPoolId(), counterSum);
+        return lastCounterSum == null || lastCounterSum != counterSum;
     }
 
     /**
@@ -101,7 +209,7 @@ public class ThreadPoolAlarmChecker {
         ThreadPoolExecutor executor = holder.getExecutor();
         ThreadPoolExecutorProperties properties = holder.getExecutorProperties();
 
-        int activeCount = executor.getActiveCount(); // API 有锁，避免高频率调用
+        int activeCount = executor.getActiveCount(); // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
         int maximumPoolSize = executor.getMaximumPoolSize();
 
         if (maximumPoolSize == 0) {
@@ -116,6 +224,27 @@ public class ThreadPoolAlarmChecker {
         }
     }
 
+    /**
+     * 检查 ForkJoinPool，外部提交积压数相对队列容量配置判断积压，活跃线程数相对并行度判断活跃度
+     */
+    private void checkForkJoinPool(ThreadPoolExecutorHolder holder) {
+        OneThreadForkJoinPool forkJoinPool = holder.getForkJoinPool();
+        ThreadPoolExecutorProperties properties = holder.getExecutorProperties();
+
+        Integer capacity = properties.getQueueCapacity();
+        if (capacity != null && capacity > 0) {
+            long usageRate = Math.round((forkJoinPool.getQueuedSubmissionCount() * 100.0) / capacity);
+            if (usageRate >= properties.getAlarm().getQueueThreshold()) {
+                sendAlarmMessage("Capacity", holder);
+            }
+        }
+
+        int activeRate = (int) Math.round((forkJoinPool.getActiveThreadCount() * 100.0) / forkJoinPool.getParallelism());
+        if (activeRate >= properties.getAlarm().getActiveThreshold()) {
+            sendAlarmMessage("Activity", holder);
+        }
+    }
+
     /**
      * 检查拒绝策略执行次数
      */
@@ -129,7 +258,7 @@ public class ThreadPoolAlarmChecker {
         }
 
         OneThreadExecutor oneThreadExecutor = (OneThreadExecutor) executor;
-        long currentRejectCount = oneThreadExecutor.getRejectCount().get();
+        long currentRejectCount = oneThreadExecutor.getRejectCount();
         long lastRejectCount = lastRejectCountMap.getOrDefault(threadPoolId, 0L);
 
         // 首次初始化或拒绝次数增加时触发
@@ -141,6 +270,10 @@ public class ThreadPoolAlarmChecker {
     }
 
     private void sendAlarmMessage(String alarmType, ThreadPoolExecutorHolder holder) {
+        sendAlarmMessage(alarmType, holder, null);
+    }
+
+    private void sendAlarmMessage(String alarmType, ThreadPoolExecutorHolder holder, TaskTimeoutWheel.TaskTimeout timeout) {
         ThreadPoolExecutorProperties properties = holder.getExecutorProperties();
         String threadPoolId = holder.getThreadPoolId();
 
@@ -156,6 +289,13 @@ public class ThreadPoolAlarmChecker {
             } catch (UnknownHostException e) {
                 log.warn("Error in obtaining HostAddress", e);
             }
+            if (timeout != null) {
+                alarm.setExecuteTimeoutDetail(buildExecuteTimeoutDetail(timeout));
+            }
+
+            if (holder.isForkJoinPool()) {
+                return fillForkJoinPoolAlarm(alarm, holder);
+            }
 
             ThreadPoolExecutor executor = holder.getExecutor();
             BlockingQueue<?> queue = executor.getQueue();
@@ -163,15 +303,15 @@ public class ThreadPoolAlarmChecker {
             int size = queue.size();
             int remaining = queue.remainingCapacity();
             long rejectCount = (executor instanceof OneThreadExecutor)
-                    ? ((OneThreadExecutor) executor).getRejectCount().get()
+                    ? ((OneThreadExecutor) executor).getRejectCount()
                     : -1L;
 
             alarm.setCorePoolSize(executor.getCorePoolSize())
                     .setMaximumPoolSize(executor.getMaximumPoolSize())
-                    .setActivePoolSize(executor.getActiveCount())  // API 有锁，避免高频率调用
-                    .setCurrentPoolSize(executor.getPoolSize()) // API 有锁，避免高频率调用
-                    .setCompletedTaskCount(executor.getCompletedTaskCount()) // API 有锁，避免高频率调用
-                    .setLargestPoolSize(executor.getLargestPoolSize()) // API 有锁，避免高频率调用
+                    .setActivePoolSize(executor.getActiveCount())  // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+                    .setCurrentPoolSize(executor.getPoolSize()) // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+                    .setCompletedTaskCount(executor.getCompletedTaskCount()) // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+                    .setLargestPoolSize(executor.getLargestPoolSize()) // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
                     .setWorkQueueName(queue.getClass().getSimpleName())
                     .setWorkQueueSize(size)
                     .setWorkQueueRemainingCapacity(remaining)
@@ -187,4 +327,44 @@ public class ThreadPoolAlarmChecker {
 
         notifierDispatcher.sendAlarmMessage(alarm);
     }
+
+    /**
+     * 首行为工作线程和执行时长，其后按 {@link Throwable#printStackTrace()} 的格式拼接调用栈
+     */
+    private String buildExecuteTimeoutDetail(TaskTimeoutWheel.TaskTimeout timeout) {
+        StringBuilder detail = new StringBuilder()
+                .append("线程 ").append(timeout.getThreadName())
+                .append(" 已执行 ").append(timeout.getElapsedMillis()).append(" 毫秒")
+                .append("（超时时间 ").append(timeout.getTimeoutMillis()).append(" 毫秒）")
+                .append(timeout.isInterrupted() ? "，已中断" : "");
+        for (StackTraceElement element : timeout.getStackTrace()) {
+            detail.append("\n\tat ").append(element);
+        }
+        return detail.toString();
+    }
+
+    private ThreadPoolAlarmNotifyDTO fillForkJoinPoolAlarm(ThreadPoolAlarmNotifyDTO alarm, ThreadPoolExecutorHolder holder) {
+        OneThreadForkJoinPool forkJoinPool = holder.getForkJoinPool();
+        ThreadPoolExecutorProperties properties = holder.getExecutorProperties();
+
+        int queuedSubmissionCount = (int) Math.min(forkJoinPool.getQueuedSubmissionCount(), Integer.MAX_VALUE);
+        Integer capacity = properties.getQueueCapacity();
+        alarm.setCorePoolSize(forkJoinPool.getParallelism())
+                .setMaximumPoolSize(forkJoinPool.getMaximumPoolSize())
+                .setActivePoolSize(forkJoinPool.getActiveThreadCount())
+                .setCurrentPoolSize(forkJoinPool.getPoolSize())
+                .setCompletedTaskCount(-1L)
+                .setLargestPoolSize(-1)
+                .setWorkQueueName("ForkJoinPool")
+                .setWorkQueueSize(queuedSubmissionCount)
+                .setWorkQueueRemainingCapacity(capacity == null ? -1 : Math.max(capacity - queuedSubmissionCount, 0))
+                .setWorkQueueCapacity(capacity == null ? -1 : capacity)
+                .setRejectedHandlerName("-")
+                .setRejectCount(-1L)
+                .setCurrentTime(DateUtil.now())
+                .setApplicationName(ApplicationProperties.getApplicationName())
+                .setActiveProfile(ApplicationProperties.getActiveProfile())
+                .setReceives(properties.getNotify().getReceives());
+        return alarm;
+    }
 }
@@ -0,0 +1,72 @@
+package com.nageoffer.onethread.core.alarm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 线程池报警触发器，线程池发生拒绝或队列写满时立即通知报警检查器，无需等待下一次定时检查
+ * <p>
+ * 同一线程池在被检查前多次触发只会通知一次，拒绝风暴下提交线程只需一次 Set 查询
+ */
+public class ThreadPoolAlarmTrigger {
+
+    /**
+     * 等待检查的线程池 ID 集合
+     */
+    private static final Set<String> PENDING_THREAD_POOL_IDS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 报警检查器注册的唤醒回调，未启动报警检查时为空
+     */
+    private static volatile Runnable listener;
+
+    /**
+     * 注册唤醒回调
+     *
+     * @param wakeUpListener 有线程池等待检查时执行的回调，需快速返回
+     */
+    public static void register(Runnable wakeUpListener) {
+        listener = wakeUpListener;
+    }
+
+    /**
+     * 取消注册唤醒回调
+     */
+    public static void unregister() {
+        listener = null;
+        PENDING_THREAD_POOL_IDS.clear();
+    }
+
+    /**
+     * 通知线程池需要立即进行报警检查
+     *
+     * @param threadPoolId 线程池唯一标识
+     */
+    public static void signal(String threadPoolId) {
+        Runnable wakeUpListener = listener;
+        if (wakeUpListener == null || threadPoolId == null) {
+            return;
+        }
+        // 先 contains 再 add，避免风暴期间对同一个 key 反复加锁
+        if (!PENDING_THREAD_POOL_IDS.contains(threadPoolId) && PENDING_THREAD_POOL_IDS.add(threadPoolId)) {
+            wakeUpListener.run();
+        }
+    }
+
+    /**
+     * 取出所有等待检查的线程池 ID
+     *
+     * @return 线程池 ID 集合
+     */
+    public static List<String> drain() {
+        List<String> threadPoolIds = new ArrayList<>();
+        for (String threadPoolId : PENDING_THREAD_POOL_IDS) {
+            if (PENDING_THREAD_POOL_IDS.remove(threadPoolId)) {
+                threadPoolIds.add(threadPoolId);
+            }
+        }
+        return threadPoolIds;
+    }
+}
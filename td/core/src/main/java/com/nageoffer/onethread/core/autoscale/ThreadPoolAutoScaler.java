@@ -0,0 +1,207 @@
+package com.nageoffer.onethread.core.autoscale;
+
+import cn.hutool.core.date.DateUtil;
+import com.nageoffer.onethread.core.config.ApplicationProperties;
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadRegistry;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorHolder;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorProperties;
+import com.nageoffer.onethread.core.executor.VirtualThreadOneThreadExecutor;
+import com.nageoffer.onethread.core.monitor.HistogramDeltaWrapper;
+import com.nageoffer.onethread.core.notification.dto.ThreadPoolConfigChangeDTO;
+import com.nageoffer.onethread.core.notification.service.NotifierDispatcher;
+import com.nageoffer.onethread.core.toolkit.ThreadFactoryBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.nageoffer.onethread.core.constant.Constants.CHANGE_DELIMITER;
+
+/**
+ * 线程池自动扩缩容控制器
+ * <p>
+ * 按线程池配置的周期采集队列等待耗时 P99 或线程活跃度，采用 AIMD 反馈调节：超过目标时线程数加性增加，
+ * 低于目标一半时按系数乘性缩减，调节范围限制在 [minPoolSize, maxPoolSize] 之间。
+ * 普通线程池调节核心线程数（必要时同步抬高最大线程数），虚拟线程池调节最大并发数。
+ * <p>
+ * 自动调节只作用于线程池实例，不修改注册器中的配置属性；配置中心刷新时线程数同时与线程池实例对比，下发的参数仍以配置中心为准。
+ * 每次调节都会通过 {@link NotifierDispatcher#sendChangeMessage} 发送变更通知。
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ThreadPoolAutoScaler {
+
+    private final NotifierDispatcher notifierDispatcher;
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+            1,
+            ThreadFactoryBuilder.builder()
+                    .namePrefix("scheduler_thread-pool_auto_scaler")
+                    .build()
+    );
+    private final Map<String, HistogramDeltaWrapper> queueWaitDeltaMap = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastScaleTimeMap = new ConcurrentHashMap<>();
+
+    /**
+     * 启动自动扩缩容检查任务
+     */
+    public void start() {
+        // 每秒检查一次是否到达各线程池的调节周期
+        scheduler.scheduleWithFixedDelay(this::scale, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停止自动扩缩容
+     */
+    public void stop() {
+        if (!scheduler.isShutdown()) {
+            scheduler.shutdown();
+        }
+    }
+
+    private void scale() {
+        long now = System.currentTimeMillis();
+        for (ThreadPoolExecutorHolder holder : OneThreadRegistry.getAllHolders()) {
+            ThreadPoolExecutorProperties.AutoScaleConfig config = holder.getExecutorProperties().getAutoScale();
+            if (config == null || !Boolean.TRUE.equals(config.getEnable()) || !(holder.getExecutor() instanceof OneThreadExecutor)) {
+                continue;
+            }
+
+            long lastScaleTime = lastScaleTimeMap.getOrDefault(holder.getThreadPoolId(), 0L);
+            if (now - lastScaleTime < TimeUnit.SECONDS.toMillis(config.getInterval())) {
+                continue;
+            }
+            lastScaleTimeMap.put(holder.getThreadPoolId(), now);
+
+            try {
+                scale(holder, config);
+            } catch (Exception ex) {
+                log.error("[{}] Failed to auto scale thread pool.", holder.getThreadPoolId(), ex);
+            }
+        }
+    }
+
+    private void scale(ThreadPoolExecutorHolder holder, ThreadPoolExecutorProperties.AutoScaleConfig config) {
+        String threadPoolId = holder.getThreadPoolId();
+        OneThreadExecutor executor = (OneThreadExecutor) holder.getExecutor();
+        ThreadPoolExecutorProperties properties = holder.getExecutorProperties();
+        boolean virtual = executor instanceof VirtualThreadOneThreadExecutor;
+
+        HistogramDeltaWrapper queueWaitDelta = queueWaitDeltaMap.computeIfAbsent(threadPoolId, key -> new HistogramDeltaWrapper());
+        queueWaitDelta.update(executor.getQueueWaitHistogram());
+
+        int current = virtual ? executor.getMaximumPoolSize() : executor.getCorePoolSize();
+        int minPoolSize = Optional.ofNullable(config.getMinPoolSize()).orElse(properties.getCorePoolSize());
+        int maxPoolSize = Optional.ofNullable(config.getMaxPoolSize()).orElse(properties.getMaximumPoolSize());
+
+        // 以目标值的比例衡量负载：大于 1 表示超过目标
+        double load;
+        if (Objects.equals(config.getTarget(), "utilization")) {
+            load = (executor.getActiveCount() * 100.0D) / (Math.max(current, 1) * config.getUtilization());
+        } else {
+            load = queueWaitDelta.getValueAtPercentile(99D) / (TimeUnit.MILLISECONDS.toMicros(config.getQueueWaitMillis()) * 1.0D);
+        }
+
+        int target = nextPoolSize(current, load, executor.getQueue().isEmpty(), config, minPoolSize, maxPoolSize);
+        if (target == current) {
+            return;
+        }
+
+        int originalCorePoolSize = executor.getCorePoolSize();
+        int originalMaximumPoolSize = executor.getMaximumPoolSize();
+        // 与配置中心刷新互斥，避免并发修改同一个线程池
+        synchronized (holder.getUpdateLock()) {
+            resize(executor, target);
+        }
+
+        log.info("[{}] Thread pool auto scaled, load: {}, corePoolSize: {}, maximumPoolSize: {}",
+                threadPoolId,
+                String.format("%.2f", load),
+                String.format(CHANGE_DELIMITER, originalCorePoolSize, executor.getCorePoolSize()),
+                String.format(CHANGE_DELIMITER, originalMaximumPoolSize, executor.getMaximumPoolSize()));
+        sendAutoScaleChangeMessage(holder, originalCorePoolSize, originalMaximumPoolSize);
+    }
+
+    /**
+     * AIMD 调节决策
+     *
+     * @param current     当前线程数（虚拟线程池为最大并发数）
+     * @param load        负载与目标值的比例，大于 1 表示超过目标
+     * @param queueEmpty  阻塞队列是否为空，队列中仍有任务时不缩减
+     * @param config      自动扩缩容配置
+     * @param minPoolSize 调节下限
+     * @param maxPoolSize 调节上限
+     * @return 调节后的线程数
+     */
+    static int nextPoolSize(int current, double load, boolean queueEmpty,
+                            ThreadPoolExecutorProperties.AutoScaleConfig config, int minPoolSize, int maxPoolSize) {
+        int target = current;
+        if (load > 1.0D) {
+            target = current + config.getIncreaseStep();
+        } else if (load < 0.5D && queueEmpty) {
+            target = (int) Math.floor(current * config.getDecreaseFactor());
+        }
+        return Math.max(minPoolSize, Math.min(maxPoolSize, target));
+    }
+
+    /**
+     * 将调节结果应用到线程池：普通线程池调节核心线程数，超过最大线程数时先抬高最大线程数；
+     * 虚拟线程池调节最大并发数，核心线程数不超过最大并发数
+     */
+    static void resize(OneThreadExecutor executor, int target) {
+        if (executor instanceof VirtualThreadOneThreadExecutor) {
+            executor.setCorePoolSize(Math.min(executor.getCorePoolSize(), target));
+            executor.setMaximumPoolSize(target);
+        } else if (target > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(target);
+            executor.setCorePoolSize(target);
+        } else {
+            executor.setCorePoolSize(target);
+        }
+    }
+
+    private void sendAutoScaleChangeMessage(ThreadPoolExecutorHolder holder, int originalCorePoolSize, int originalMaximumPoolSize) {
+        OneThreadExecutor executor = (OneThreadExecutor) holder.getExecutor();
+        ThreadPoolExecutorProperties properties = holder.getExecutorProperties();
+        if (properties.getNotify() == null) {
+            return;
+        }
+
+        String identify;
+        try {
+            identify = InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException ex) {
+            log.warn("Error in obtaining HostAddress", ex);
+            identify = "unknown";
+        }
+
+        Map<String, ThreadPoolConfigChangeDTO.ChangePair<?>> changes = new HashMap<>();
+        changes.put("corePoolSize", new ThreadPoolConfigChangeDTO.ChangePair<>(originalCorePoolSize, executor.getCorePoolSize()));
+        changes.put("maximumPoolSize", new ThreadPoolConfigChangeDTO.ChangePair<>(originalMaximumPoolSize, executor.getMaximumPoolSize()));
+        changes.put("queueCapacity", new ThreadPoolConfigChangeDTO.ChangePair<>(properties.getQueueCapacity(), properties.getQueueCapacity()));
+        changes.put("rejectedHandler", new ThreadPoolConfigChangeDTO.ChangePair<>(properties.getRejectedHandler(), properties.getRejectedHandler()));
+        changes.put("keepAliveTime", new ThreadPoolConfigChangeDTO.ChangePair<>(properties.getKeepAliveTime(), properties.getKeepAliveTime()));
+
+        ThreadPoolConfigChangeDTO configChangeDTO = ThreadPoolConfigChangeDTO.builder()
+                .activeProfile(ApplicationProperties.getActiveProfile())
+                .identify(identify)
+                .applicationName(ApplicationProperties.getApplicationName())
+                .threadPoolId(holder.getThreadPoolId())
+                .receives(properties.getNotify().getReceives())
+                .workQueue(properties.getWorkQueue())
+                .changes(changes)
+                .updateTime(DateUtil.now())
+                .build();
+        notifierDispatcher.sendChangeMessage(configChangeDTO);
+    }
+}
@@ -79,7 +79,7 @@ public class BootstrapConfigProperties {
         private Boolean enable = Boolean.TRUE;
 
         /**
-         * 监控类型
+         * 监控类型：log、micrometer、prometheus
          */
         private String collectType = "micrometer";
 
@@ -87,6 +87,31 @@ public class BootstrapConfigProperties {
          * 采集间隔，默认 10 秒
          */
         private Long collectInterval = 10L;
+
+        /**
+         * 工作线程状态采样间隔，单位毫秒，如 100；默认关闭，为空或小于等于 0 时不进行线程 CPU 与状态采样
+         */
+        private Long threadSampleInterval;
+
+        /**
+         * 指标历史明细级保留的点数量，每个采集周期一个点；默认关闭，为空或小于等于 0 时不记录指标历史
+         */
+        private Integer historyCapacity;
+
+        /**
+         * 指标历史最多记录的线程池数量，启动时按该数量预分配内存
+         */
+        private Integer historyMaxPools = 16;
+
+        /**
+         * 监控类型为 prometheus 时内嵌 HTTP 服务的端口，指标路径为 /metrics；为空时不启动，需显式配置（如 9464）开启
+         */
+        private Integer prometheusPort;
+
+        /**
+         * 内嵌 HTTP 服务的监听地址，默认只监听本机回环地址；服务没有认证，监听 0.0.0.0 前需确认网络访问控制
+         */
+        private String prometheusHost = "127.0.0.1";
     }
 
     @Data
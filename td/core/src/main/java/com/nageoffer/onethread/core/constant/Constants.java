@@ -171,4 +171,18 @@ public class Constants {
             
             **告警时间：%s**
             """;
+
+    /**
+     * 任务执行超时报警追加的超时详情，详情首行为工作线程和执行时长，其后为调用栈
+     */
+    public static final String DING_ALARM_EXECUTE_TIMEOUT_TEXT = """
+            
+             ---
+            
+            <font color='#708090' size=2>超时详情：</font>
+            
+            ```
+            %s
+            ```
+            """;
 }
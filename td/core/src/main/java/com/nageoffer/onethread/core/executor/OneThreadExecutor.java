@@ -1,17 +1,36 @@
 package com.nageoffer.onethread.core.executor;
 
+import com.nageoffer.onethread.core.alarm.TaskTimeoutWheel;
+import com.nageoffer.onethread.core.alarm.ThreadPoolAlarmTrigger;
+import com.nageoffer.onethread.core.executor.support.BlockingWithTimeoutPolicy;
+import com.nageoffer.onethread.core.executor.support.DelegatingPolicy;
+import com.nageoffer.onethread.core.executor.support.EagerTaskQueue;
+import com.nageoffer.onethread.core.executor.support.KeyedTaskDispatcher;
 import com.nageoffer.onethread.core.executor.support.RejectedProxyInvocationHandler;
+import com.nageoffer.onethread.core.executor.support.TimedRunnable;
+import com.nageoffer.onethread.core.jfr.TaskEventRecorder;
+import com.nageoffer.onethread.core.monitor.LatencyHistogram;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 增强的动态、报警和受监控的线程池 oneThread
@@ -28,14 +47,109 @@ public class OneThreadExecutor extends ThreadPoolExecutor {
     /**
      * 线程池拒绝策略执行次数
      */
+    private final LongAdder rejectCount = new LongAdder();
+
+    /**
+     * 拒绝策略为 {@link BlockingWithTimeoutPolicy} 时，正在阻塞等待队列空位的提交线程数
+     */
+    @Getter
+    private final LongAdder blockedProducerCount = new LongAdder();
+
+    /**
+     * 拒绝策略为 {@link BlockingWithTimeoutPolicy} 时，提交线程累计阻塞耗时，单位纳秒
+     */
+    @Getter
+    private final LongAdder blockedTimeNanos = new LongAdder();
+
+    /**
+     * 拒绝策略为 {@link DelegatingPolicy} 时，成功转交给其他线程池的任务数，不计入拒绝次数
+     */
+    @Getter
+    private final LongAdder delegatedCount = new LongAdder();
+
+    /**
+     * 提交到线程池的任务总数（包含被拒绝的任务）
+     */
     @Getter
-    private final AtomicLong rejectCount = new AtomicLong();
+    private final LongAdder submittedCount = new LongAdder();
+
+    /**
+     * 已提交但尚未执行完成的任务数，参考 Tomcat ThreadPoolExecutor#submittedCount
+     * <p>
+     * 提交时加一，执行完成、拒绝、转交其他线程池以及从队列中移除或丢弃时减一
+     */
+    private final LongAdder inFlightCount = new LongAdder();
+
+    /**
+     * 正在执行任务的线程数，在 beforeExecute / afterExecute 中维护
+     */
+    private final LongAdder activeCount = new LongAdder();
+
+    /**
+     * 已执行完成的任务数（包含执行异常的任务，与 {@link ThreadPoolExecutor#getCompletedTaskCount()} 语义一致）
+     */
+    @Getter
+    private final LongAdder completedCount = new LongAdder();
+
+    /**
+     * 执行过程中抛出异常的任务数
+     * <p>
+     * 通过 submit 提交的任务异常会被 FutureTask 吞掉，不会计入该值
+     */
+    @Getter
+    private final LongAdder failedCount = new LongAdder();
+
+    /**
+     * 当前存活的工作线程数，仅在线程创建和退出时变更
+     */
+    private final AtomicInteger livePoolSize = new AtomicInteger();
+
+    /**
+     * 当前存活的工作线程，仅在线程创建和退出时变更，供线程状态采样使用
+     */
+    private final Set<Thread> workerThreads = ConcurrentHashMap.newKeySet();
+    private final Collection<Thread> workerThreadsView = Collections.unmodifiableSet(workerThreads);
+
+    /**
+     * 历史最大工作线程数
+     */
+    private final AtomicInteger peakPoolSize = new AtomicInteger();
+
+    /**
+     * 任务在阻塞队列中的排队耗时分布
+     */
+    @Getter
+    private final LatencyHistogram queueWaitHistogram = new LatencyHistogram();
+
+    /**
+     * 任务执行耗时分布
+     */
+    @Getter
+    private final LatencyHistogram executeTimeHistogram = new LatencyHistogram();
+
+    /**
+     * 按 Key 串行执行任务的调度器
+     */
+    @Getter
+    private final KeyedTaskDispatcher keyedTaskDispatcher = new KeyedTaskDispatcher(this, failedCount);
 
     /**
      * 等待终止时间，单位毫秒
      */
     private long awaitTerminationMillis;
 
+    /**
+     * 任务执行超时时间，单位纳秒，小于等于 0 时不检测
+     */
+    @Getter
+    private volatile long executeTimeoutNanos;
+
+    /**
+     * 任务执行超时后是否中断工作线程
+     */
+    @Getter
+    private volatile boolean executeTimeoutInterrupt;
+
     /**
      * Creates a new {@code ExtensibleThreadPoolExecutor} with the given initial parameters.
      *
@@ -79,11 +193,26 @@ public class OneThreadExecutor extends ThreadPoolExecutor {
         // 通过动态代理设置拒绝策略执行次数
         setRejectedExecutionHandler(handler);
 
+        // 包装线程工厂，统计工作线程的创建与退出
+        setThreadFactory(threadFactory);
+
         // 设置动态线程池扩展属性：线程池 ID 标识
         this.threadPoolId = threadPoolId;
 
         // 设置等待终止时间，单位毫秒
         this.awaitTerminationMillis = awaitTerminationMillis;
+
+        // 优先创建线程的任务队列需要读取当前线程池的线程数
+        bindWorkQueue(workQueue);
+    }
+
+    /**
+     * 将阻塞队列与当前线程池绑定，阻塞队列通过反射替换后需要重新调用
+     */
+    public void bindWorkQueue(BlockingQueue<Runnable> workQueue) {
+        if (workQueue instanceof EagerTaskQueue) {
+            ((EagerTaskQueue<Runnable>) workQueue).setExecutor(this);
+        }
     }
 
     /**
@@ -102,8 +231,44 @@ public class OneThreadExecutor extends ThreadPoolExecutor {
         RejectedExecutionHandler handlerWrapper = new RejectedExecutionHandler() {
             @Override
             public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-                rejectCount.incrementAndGet();
-                handler.rejectedExecution(r, executor);
+                // 优先创建线程模式下，线程数达到上限导致扩容失败时任务仍可进入队列
+                if (!executor.isShutdown()
+                        && executor.getQueue() instanceof EagerTaskQueue
+                        && ((EagerTaskQueue<Runnable>) executor.getQueue()).forceOffer(r)) {
+                    return;
+                }
+                // 限时阻塞提交，阻塞期间入队成功不计入拒绝；按 Key 投递的调度任务可能由工作线程续投，不阻塞
+                RejectedExecutionHandler rejectHandler = handler;
+                if (handler instanceof BlockingWithTimeoutPolicy && !KeyedTaskDispatcher.isDispatchTask(r)) {
+                    BlockingWithTimeoutPolicy blockingPolicy = (BlockingWithTimeoutPolicy) handler;
+                    if (blockingOffer(blockingPolicy, r, executor)) {
+                        return;
+                    }
+                    rejectHandler = blockingPolicy.getFallbackPolicy();
+                } else if (handler instanceof DelegatingPolicy && !KeyedTaskDispatcher.isDispatchTask(r)) {
+                    DelegatingPolicy delegatingPolicy = (DelegatingPolicy) handler;
+                    if (delegatingPolicy.delegate(r, executor)) {
+                        delegatedCount.increment();
+                        inFlightCount.decrement();
+                        return;
+                    }
+                    rejectHandler = delegatingPolicy.getFallbackPolicy();
+                }
+                rejectCount.increment();
+                TaskEventRecorder.taskRejected(threadPoolId, r, executor, toString());
+                // 拒绝策略可能抛出异常，先通知报警检查
+                ThreadPoolAlarmTrigger.signal(threadPoolId);
+                // 按 Key 投递的任务不能被静默丢弃，否则邮箱中的任务无法继续执行
+                if (KeyedTaskDispatcher.isDispatchTask(r)) {
+                    inFlightCount.decrement();
+                    throw new RejectedExecutionException("Keyed task rejected from " + threadPoolId);
+                }
+                if (rejectHandler instanceof DiscardOldestPolicy) {
+                    discardOldest(r);
+                    return;
+                }
+                inFlightCount.decrement();
+                rejectHandler.rejectedExecution(r, executor);
             }
 
             @Override
@@ -115,6 +280,267 @@ public class OneThreadExecutor extends ThreadPoolExecutor {
         super.setRejectedExecutionHandler(handlerWrapper);
     }
 
+    /**
+     * 与 {@link DiscardOldestPolicy} 语义一致，但跳过按 Key 投递的调度任务，避免邮箱中的任务无法继续执行；
+     * 队列中只有调度任务时丢弃当前任务；无论丢弃哪个任务，在途任务数都只减一
+     */
+    private void discardOldest(Runnable r) {
+        inFlightCount.decrement();
+        if (isShutdown()) {
+            return;
+        }
+        BlockingQueue<Runnable> queue = getQueue();
+        for (Runnable each : queue) {
+            if (!KeyedTaskDispatcher.isDispatchTask(each) && queue.remove(each)) {
+                doExecute(r);
+                return;
+            }
+        }
+    }
+
+    private boolean blockingOffer(BlockingWithTimeoutPolicy blockingPolicy, Runnable r, ThreadPoolExecutor executor) {
+        blockedProducerCount.increment();
+        long startNanos = System.nanoTime();
+        try {
+            return blockingPolicy.offer(r, executor);
+        } finally {
+            blockedTimeNanos.add(System.nanoTime() - startNanos);
+            blockedProducerCount.decrement();
+        }
+    }
+
+    /**
+     * 包装线程工厂，在工作线程真正启动和退出时维护线程数，从而无需通过 mainLock 读取 workers 集合
+     */
+    @Override
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        super.setThreadFactory(runnable -> threadFactory.newThread(() -> {
+            peakPoolSize.accumulateAndGet(livePoolSize.incrementAndGet(), Math::max);
+            workerThreads.add(Thread.currentThread());
+            try {
+                runnable.run();
+            } finally {
+                workerThreads.remove(Thread.currentThread());
+                livePoolSize.decrementAndGet();
+            }
+        }));
+    }
+
+    /**
+     * 获取当前存活的工作线程
+     *
+     * @return 只读视图，遍历时不加锁
+     */
+    public Collection<Thread> getWorkerThreads() {
+        return workerThreadsView;
+    }
+
+    /**
+     * 提交任务时包装为 {@link TimedRunnable} 记录入队时间，阻塞队列和拒绝策略中拿到的都是包装后的任务
+     * <p>
+     * 拒绝策略重新提交的任务（如 DiscardOldestPolicy）已经包装过，不再重复包装
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        submittedCount.increment();
+        inFlightCount.increment();
+        if (command instanceof TimedRunnable) {
+            doExecute(command);
+            return;
+        }
+        TimedRunnable timedRunnable = new TimedRunnable(command);
+        TaskEventRecorder.taskQueued(timedRunnable);
+        doExecute(timedRunnable);
+    }
+
+    /**
+     * 按 Key 提交任务，相同 Key 的任务按提交顺序串行执行，不同 Key 的任务并行执行
+     *
+     * @param key     任务 Key，如订单 ID
+     * @param command 任务
+     * @throws RejectedExecutionException 线程池饱和无法投递时抛出，不经过配置的拒绝策略
+     */
+    public void execute(Object key, Runnable command) {
+        keyedTaskDispatcher.execute(key, command);
+    }
+
+    /**
+     * 设置任务执行超时检测，已在执行的任务仍按开始时的超时时间检测
+     *
+     * @param timeoutMillis 执行超时时间，单位毫秒，为空或小于等于 0 时关闭检测
+     * @param interrupt     超时后是否中断工作线程
+     */
+    public void setExecuteTimeout(Long timeoutMillis, boolean interrupt) {
+        this.executeTimeoutInterrupt = interrupt;
+        this.executeTimeoutNanos = timeoutMillis == null || timeoutMillis <= 0
+                ? 0L
+                : TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * 实际调度任务，子类可替换调度方式（如虚拟线程模式）
+     *
+     * @param command 已包装的任务
+     */
+    protected void doExecute(Runnable command) {
+        super.execute(command);
+        // 线程数未达到核心线程数时任务直接交给新建的核心线程，不经过阻塞队列
+        if (livePoolSize.get() >= getCorePoolSize()) {
+            signalIfQueueSaturated();
+        }
+    }
+
+    /**
+     * 任务写入阻塞队列后队列已满时通知报警检查，拒绝由拒绝策略包装类通知
+     * <p>
+     * 不依赖线程创建判断队列是否已满，零容量的 {@link SynchronousQueue} 不检查
+     */
+    protected void signalIfQueueSaturated() {
+        BlockingQueue<Runnable> queue = getQueue();
+        if (!(queue instanceof SynchronousQueue) && queue.remainingCapacity() == 0) {
+            ThreadPoolAlarmTrigger.signal(threadPoolId);
+        }
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        activeCount.increment();
+        if (r instanceof TimedRunnable) {
+            queueWaitHistogram.record(((TimedRunnable) r).markStart());
+            TaskEventRecorder.taskStarted(threadPoolId, (TimedRunnable) r);
+        }
+        long timeoutNanos = executeTimeoutNanos;
+        if (timeoutNanos > 0) {
+            TaskTimeoutWheel.taskStarted(threadPoolId, timeoutNanos, executeTimeoutInterrupt);
+        }
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        TaskTimeoutWheel.taskFinished();
+        if (r instanceof TimedRunnable) {
+            executeTimeHistogram.record(((TimedRunnable) r).elapsedSinceStart());
+            TaskEventRecorder.taskFinished(threadPoolId, (TimedRunnable) r, t);
+        }
+        activeCount.decrement();
+        completedCount.increment();
+        inFlightCount.decrement();
+        if (t != null) {
+            failedCount.increment();
+        }
+    }
+
+    /**
+     * 队列中保存的是包装后的任务，按原始任务查找并移除
+     */
+    @Override
+    public boolean remove(Runnable task) {
+        if (super.remove(task)) {
+            inFlightCount.decrement();
+            return true;
+        }
+        for (Runnable each : getQueue()) {
+            if (TimedRunnable.unwrap(each) == task && super.remove(each)) {
+                inFlightCount.decrement();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 队列中保存的是包装后的任务，父类实现无法识别已取消的 {@link Future}，按原始任务判断后移除
+     */
+    @Override
+    public void purge() {
+        BlockingQueue<Runnable> queue = getQueue();
+        for (Runnable each : queue) {
+            Runnable task = TimedRunnable.unwrap(each);
+            if (task instanceof Future && ((Future<?>) task).isCancelled() && queue.remove(each)) {
+                inFlightCount.decrement();
+            }
+        }
+        // 尝试终止线程池
+        super.purge();
+    }
+
+    /**
+     * 返回已提交但尚未执行完成的任务数，包含队列中等待和正在执行的任务
+     */
+    public long getInFlightCount() {
+        return Math.max(inFlightCount.sum(), 0L);
+    }
+
+    /**
+     * 基于 beforeExecute / afterExecute 维护的计数返回活跃线程数，避免父类实现获取 mainLock
+     * <p>
+     * LongAdder 求和不是原子快照，并发增减时可能短暂读到负数，返回值不小于 0
+     */
+    @Override
+    public int getActiveCount() {
+        return (int) Math.max(activeCount.sum(), 0L);
+    }
+
+    /**
+     * 基于线程工厂包装维护的计数返回工作线程数，避免父类实现获取 mainLock
+     */
+    @Override
+    public int getPoolSize() {
+        return livePoolSize.get();
+    }
+
+    /**
+     * 返回历史最大工作线程数，避免父类实现获取 mainLock
+     */
+    @Override
+    public int getLargestPoolSize() {
+        return peakPoolSize.get();
+    }
+
+    /**
+     * 返回已完成任务数，避免父类实现获取 mainLock 并遍历所有 Worker
+     */
+    @Override
+    public long getCompletedTaskCount() {
+        return completedCount.sum();
+    }
+
+    /**
+     * 线程池拒绝策略执行次数
+     */
+    public Long getRejectCount() {
+        return rejectCount.sum();
+    }
+
+    /**
+     * 返回提交任务总数（已拒绝任务除外），避免父类实现获取 mainLock 并遍历所有 Worker
+     */
+    @Override
+    public long getTaskCount() {
+        return submittedCount.sum() - rejectCount.sum();
+    }
+
+    /**
+     * 队列中保存的是包装后的任务，返回调用方提交的原始任务；按 Key 投递的调度任务展开为邮箱中尚未执行的任务
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> tasks = super.shutdownNow();
+        inFlightCount.add(-tasks.size());
+        List<Runnable> originalTasks = new ArrayList<>(tasks.size());
+        for (Runnable each : tasks) {
+            if (KeyedTaskDispatcher.isDispatchTask(each)) {
+                KeyedTaskDispatcher.drainTo(each, originalTasks);
+            } else {
+                originalTasks.add(TimedRunnable.unwrap(each));
+            }
+        }
+        return originalTasks;
+    }
+
     @Override
     public void shutdown() {
         if (isShutdown()) {
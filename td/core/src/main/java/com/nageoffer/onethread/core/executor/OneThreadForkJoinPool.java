@@ -0,0 +1,303 @@
+package com.nageoffer.onethread.core.executor;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 受 oneThread 管理的 ForkJoinPool，用于 CPU 密集型分治任务
+ * <p>
+ * ForkJoinPool 创建后无法修改并行度，参数变更时重建新池并切换，新提交的任务进入新池，
+ * 旧池执行完已提交的任务（包括其 fork 出的子任务）后自动关闭。
+ * <p>
+ * 参数映射：核心线程数 → 并行度；最大线程数 → 包含补偿线程在内的最大线程数；空闲存活时间 → 补偿线程存活时间
+ */
+@Slf4j
+public class OneThreadForkJoinPool extends AbstractExecutorService {
+
+    /**
+     * 线程池唯一标识
+     */
+    @Getter
+    private final String threadPoolId;
+
+    private final ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory;
+    private final boolean asyncMode;
+
+    /**
+     * 当前接收新任务的 ForkJoinPool
+     */
+    private volatile ForkJoinPool pool;
+
+    /**
+     * 已切换但尚未终止的旧池
+     */
+    private final List<ForkJoinPool> retiredPools = new CopyOnWriteArrayList<>();
+
+    /**
+     * 已终止旧池的累计窃取次数
+     */
+    private final LongAdder retiredStealCount = new LongAdder();
+
+    @Getter
+    private volatile int maximumPoolSize;
+
+    @Getter
+    private volatile long keepAliveTime;
+
+    private volatile boolean shutdown;
+
+    /**
+     * @param threadPoolId    线程池唯一标识
+     * @param parallelism     并行度
+     * @param maximumPoolSize 包含补偿线程在内的最大线程数，小于并行度时取并行度
+     * @param keepAliveTime   补偿线程空闲存活时间，单位秒
+     * @param threadFactory   工作线程工厂
+     * @param asyncMode       是否为异步模式（本地任务按 FIFO 调度）
+     */
+    public OneThreadForkJoinPool(@NonNull String threadPoolId,
+                                 int parallelism,
+                                 int maximumPoolSize,
+                                 long keepAliveTime,
+                                 @NonNull ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory,
+                                 boolean asyncMode) {
+        this.threadPoolId = threadPoolId;
+        this.threadFactory = threadFactory;
+        this.asyncMode = asyncMode;
+        this.maximumPoolSize = maximumPoolSize;
+        this.keepAliveTime = keepAliveTime;
+        this.pool = createPool(parallelism);
+    }
+
+    /**
+     * 变更线程池参数，并行度或最大线程数变化时重建 ForkJoinPool 并切换
+     *
+     * @param parallelism     并行度
+     * @param maximumPoolSize 包含补偿线程在内的最大线程数
+     * @param keepAliveTime   补偿线程空闲存活时间，单位秒
+     */
+    public synchronized void reconfigure(int parallelism, int maximumPoolSize, long keepAliveTime) {
+        if (shutdown) {
+            return;
+        }
+        if (parallelism == getParallelism() && maximumPoolSize == this.maximumPoolSize && keepAliveTime == this.keepAliveTime) {
+            return;
+        }
+        pruneRetiredPools();
+
+        this.maximumPoolSize = maximumPoolSize;
+        this.keepAliveTime = keepAliveTime;
+        ForkJoinPool retiredPool = pool;
+        pool = createPool(parallelism);
+
+        // 旧池不再接收外部提交，已提交任务继续执行
+        retiredPools.add(retiredPool);
+        retiredPool.shutdown();
+        log.info("[{}] ForkJoinPool rebuilt, parallelism: {} => {}", threadPoolId, retiredPool.getParallelism(), parallelism);
+    }
+
+    /**
+     * 移除已终止的旧池并累计其窃取次数，在重建时和监控采集前调用，避免频繁重建后旧池列表持续增长
+     */
+    public synchronized void pruneRetiredPools() {
+        for (ForkJoinPool each : retiredPools) {
+            if (each.isTerminated()) {
+                retiredStealCount.add(each.getStealCount());
+                retiredPools.remove(each);
+            }
+        }
+    }
+
+    /**
+     * 设置并行度
+     */
+    public void setParallelism(int parallelism) {
+        reconfigure(parallelism, maximumPoolSize, keepAliveTime);
+    }
+
+    private ForkJoinPool createPool(int parallelism) {
+        return new ForkJoinPool(
+                parallelism,
+                threadFactory,
+                null,
+                asyncMode,
+                0,
+                Math.max(maximumPoolSize, parallelism),
+                1,
+                // 补偿线程达到上限时继续阻塞而不是抛出异常
+                each -> true,
+                Math.max(keepAliveTime, 1L),
+                TimeUnit.SECONDS
+        );
+    }
+
+    /**
+     * 提交到当前池，提交过程中恰好发生切换时重试
+     */
+    private <T> T submitToPool(Function<ForkJoinPool, T> submitter) {
+        for (; ; ) {
+            ForkJoinPool current = pool;
+            try {
+                return submitter.apply(current);
+            } catch (RejectedExecutionException ex) {
+                if (shutdown || current == pool) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void execute(@NonNull Runnable task) {
+        submitToPool(current -> {
+            current.execute(task);
+            return null;
+        });
+    }
+
+    public void execute(@NonNull ForkJoinTask<?> task) {
+        submitToPool(current -> {
+            current.execute(task);
+            return null;
+        });
+    }
+
+    public <T> ForkJoinTask<T> submit(@NonNull ForkJoinTask<T> task) {
+        return submitToPool(current -> current.submit(task));
+    }
+
+    public <T> T invoke(@NonNull ForkJoinTask<T> task) {
+        return submitToPool(current -> current.submit(task)).join();
+    }
+
+    @Override
+    public ForkJoinTask<?> submit(@NonNull Runnable task) {
+        return submitToPool(current -> current.submit(task));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(@NonNull Runnable task, T result) {
+        return submitToPool(current -> current.submit(task, result));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(@NonNull Callable<T> task) {
+        return submitToPool(current -> current.submit(task));
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        pool.shutdown();
+        retiredPools.forEach(ForkJoinPool::shutdown);
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> tasks = new ArrayList<>(pool.shutdownNow());
+        retiredPools.forEach(each -> tasks.addAll(each.shutdownNow()));
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && pool.isTerminated() && retiredPools.stream().allMatch(ForkJoinPool::isTerminated);
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ForkJoinPool each : retiredPools) {
+            if (!each.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return pool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 当前接收新任务的 ForkJoinPool
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return pool;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * 工作线程数，包含尚未终止的旧池
+     */
+    public int getPoolSize() {
+        int poolSize = pool.getPoolSize();
+        for (ForkJoinPool each : retiredPools) {
+            poolSize += each.getPoolSize();
+        }
+        return poolSize;
+    }
+
+    public int getActiveThreadCount() {
+        int activeCount = pool.getActiveThreadCount();
+        for (ForkJoinPool each : retiredPools) {
+            activeCount += each.getActiveThreadCount();
+        }
+        return activeCount;
+    }
+
+    /**
+     * 外部提交尚未被工作线程领取的任务数
+     */
+    public long getQueuedSubmissionCount() {
+        long queuedSubmissionCount = pool.getQueuedSubmissionCount();
+        for (ForkJoinPool each : retiredPools) {
+            queuedSubmissionCount += each.getQueuedSubmissionCount();
+        }
+        return queuedSubmissionCount;
+    }
+
+    /**
+     * 工作线程本地队列中的任务数（估算值）
+     */
+    public long getQueuedTaskCount() {
+        long queuedTaskCount = pool.getQueuedTaskCount();
+        for (ForkJoinPool each : retiredPools) {
+            queuedTaskCount += each.getQueuedTaskCount();
+        }
+        return queuedTaskCount;
+    }
+
+    /**
+     * 累计任务窃取次数，包含已切换的旧池
+     */
+    public long getStealCount() {
+        long stealCount = pool.getStealCount() + retiredStealCount.sum();
+        for (ForkJoinPool each : retiredPools) {
+            stealCount += each.getStealCount();
+        }
+        return stealCount;
+    }
+
+    @Override
+    public String toString() {
+        return "OneThreadForkJoinPool[" + threadPoolId + "]" + pool;
+    }
+}
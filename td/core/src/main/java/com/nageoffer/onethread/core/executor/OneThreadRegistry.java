@@ -27,6 +27,18 @@ public class OneThreadRegistry {
         HOLDER_MAP.put(threadPoolId, executorHolder);
     }
 
+    /**
+     * 注册 ForkJoinPool 到管理器
+     *
+     * @param threadPoolId 线程池唯一标识
+     * @param forkJoinPool 受管理的 ForkJoinPool 实例
+     * @param properties   线程池参数配置
+     */
+    public static void putHolder(String threadPoolId, OneThreadForkJoinPool forkJoinPool, ThreadPoolExecutorProperties properties) {
+        ThreadPoolExecutorHolder executorHolder = new ThreadPoolExecutorHolder(threadPoolId, forkJoinPool, properties);
+        HOLDER_MAP.put(threadPoolId, executorHolder);
+    }
+
     /**
      * 根据线程池 ID 获取对应的线程池包装对象
      *
@@ -37,6 +49,16 @@ public class OneThreadRegistry {
         return HOLDER_MAP.get(threadPoolId);
     }
 
+    /**
+     * 从管理器中注销线程池，不关闭线程池；报警检查器在下一次定时检查时清理该线程池的计数
+     *
+     * @param threadPoolId 线程池唯一标识
+     * @return 被注销的线程池持有者对象，不存在时为空
+     */
+    public static ThreadPoolExecutorHolder removeHolder(String threadPoolId) {
+        return HOLDER_MAP.remove(threadPoolId);
+    }
+
     /**
      * 获取所有线程池集合
      *
@@ -2,6 +2,8 @@ package com.nageoffer.onethread.core.executor;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -18,7 +20,7 @@ public class ThreadPoolExecutorHolder {
     private String threadPoolId;
 
     /**
-     * 线程池
+     * 线程池，ForkJoinPool 类型时为空
      */
     private ThreadPoolExecutor executor;
 
@@ -26,4 +28,31 @@ public class ThreadPoolExecutorHolder {
      * 线程池属性参数
      */
     private ThreadPoolExecutorProperties executorProperties;
+
+    /**
+     * 受管理的 ForkJoinPool，普通线程池时为空
+     */
+    private OneThreadForkJoinPool forkJoinPool;
+
+    /**
+     * 线程池参数变更锁，配置中心刷新与自动扩缩容修改同一个线程池时共用，避免使用 String.intern() 作为锁对象
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Object updateLock = new Object();
+
+    public ThreadPoolExecutorHolder(String threadPoolId, ThreadPoolExecutor executor, ThreadPoolExecutorProperties executorProperties) {
+        this(threadPoolId, executor, executorProperties, null);
+    }
+
+    public ThreadPoolExecutorHolder(String threadPoolId, OneThreadForkJoinPool forkJoinPool, ThreadPoolExecutorProperties executorProperties) {
+        this(threadPoolId, null, executorProperties, forkJoinPool);
+    }
+
+    /**
+     * 是否为 ForkJoinPool 类型
+     */
+    public boolean isForkJoinPool() {
+        return forkJoinPool != null;
+    }
 }
@@ -42,7 +42,7 @@ public class ThreadPoolExecutorProperties {
     private String workQueue;
 
     /**
-     * 拒绝策略类型
+     * 拒绝策略类型，借用其他线程池时格式为 DelegatingPolicy:目标线程池ID
      */
     private String rejectedHandler;
 
@@ -64,8 +64,45 @@ public class ThreadPoolExecutorProperties {
     /**
      * 报警配置，默认设置
      */
+    @Builder.Default
     private AlarmConfig alarm = new AlarmConfig();
 
+    /**
+     * 自动扩缩容配置，默认关闭
+     */
+    @Builder.Default
+    private AutoScaleConfig autoScale = new AutoScaleConfig();
+
+    /**
+     * 溢写配置，仅队列类型为 SpillableBlockingQueue 时生效，队列容量即内存中保留的任务数
+     */
+    @Builder.Default
+    private SpillConfig spill = new SpillConfig();
+
+    /**
+     * 排队时延准入控制配置，仅队列类型为 CoDelBlockingQueue 时生效
+     */
+    @Builder.Default
+    private CoDelConfig codel = new CoDelConfig();
+
+    /**
+     * 限时阻塞提交配置，仅拒绝策略为 BlockingWithTimeoutPolicy 时生效
+     */
+    @Builder.Default
+    private BlockingPolicyConfig blockingPolicy = new BlockingPolicyConfig();
+
+    /**
+     * 借用线程池配置，仅拒绝策略为 DelegatingPolicy 时生效
+     */
+    @Builder.Default
+    private DelegatePolicyConfig delegatePolicy = new DelegatePolicyConfig();
+
+    /**
+     * 任务执行超时检测配置，仅 OneThreadExecutor 生效
+     */
+    @Builder.Default
+    private ExecuteTimeoutConfig executeTimeout = new ExecuteTimeoutConfig();
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -102,4 +139,140 @@ public class ThreadPoolExecutorProperties {
          */
         private Integer activeThreshold = 80;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AutoScaleConfig {
+
+        /**
+         * 是否开启自动扩缩容，默认关闭
+         */
+        private Boolean enable = Boolean.FALSE;
+
+        /**
+         * 核心线程数下限，为空时取配置的核心线程数
+         */
+        private Integer minPoolSize;
+
+        /**
+         * 核心线程数上限，为空时取配置的最大线程数
+         */
+        private Integer maxPoolSize;
+
+        /**
+         * 调节目标类型：queue-wait 以队列等待耗时 P99 为目标，utilization 以活跃线程占比为目标
+         */
+        private String target = "queue-wait";
+
+        /**
+         * 队列等待耗时 P99 目标值，单位毫秒
+         */
+        private Long queueWaitMillis = 100L;
+
+        /**
+         * 活跃线程占核心线程数的目标百分比
+         */
+        private Integer utilization = 80;
+
+        /**
+         * 超过目标时每次增加的线程数（加性增）
+         */
+        private Integer increaseStep = 1;
+
+        /**
+         * 低于目标一半时线程数的缩减系数（乘性减）
+         */
+        private Double decreaseFactor = 0.9D;
+
+        /**
+         * 调节周期，单位秒
+         */
+        private Integer interval = 10;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SpillConfig {
+
+        /**
+         * 溢写目录，为空时使用系统临时目录，分段文件写在其下仅所有者可访问的子目录中
+         */
+        private String directory;
+
+        /**
+         * 单个分段文件大小，单位 MB
+         */
+        private Integer segmentSize = 64;
+
+        /**
+         * 最大分段文件数，磁盘最多占用 segmentSize * maxSegments
+         */
+        private Integer maxSegments = 16;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CoDelConfig {
+
+        /**
+         * 目标排队时延，单位毫秒
+         */
+        private Long targetDelay = 100L;
+
+        /**
+         * 观察周期，排队时延持续超过目标值达到该时长后开始拒绝新任务，之后每隔 interval / sqrt(拒绝次数) 拒绝一次，单位毫秒
+         */
+        private Long interval = 1000L;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BlockingPolicyConfig {
+
+        /**
+         * 提交线程最长阻塞时间，单位毫秒
+         */
+        private Long timeout = 1000L;
+
+        /**
+         * 阻塞超时后的兜底拒绝策略，不能为 BlockingWithTimeoutPolicy
+         */
+        private String fallback = "AbortPolicy";
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DelegatePolicyConfig {
+
+        /**
+         * 每秒最多转交给目标线程池的任务数，小于等于 0 表示不限制
+         */
+        private Integer permitsPerSecond = 0;
+
+        /**
+         * 无法转交时的兜底拒绝策略，不能为 DelegatingPolicy 或 BlockingWithTimeoutPolicy
+         */
+        private String fallback = "AbortPolicy";
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExecuteTimeoutConfig {
+
+        /**
+         * 任务执行超时时间，单位毫秒，为空或小于等于 0 表示不检测
+         */
+        private Long timeout;
+
+        /**
+         * 超时后是否中断执行任务的工作线程
+         */
+        private Boolean interrupt = Boolean.FALSE;
+    }
 }
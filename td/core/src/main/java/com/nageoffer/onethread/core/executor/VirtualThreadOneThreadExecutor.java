@@ -0,0 +1,281 @@
+package com.nageoffer.onethread.core.executor;
+
+import com.nageoffer.onethread.core.executor.support.ResizableSemaphore;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于虚拟线程的动态线程池，需要运行在 JDK 21 及以上版本
+ * <p>
+ * 每个任务在独立的虚拟线程中执行，不再复用载体线程。maximumPoolSize 语义变为最大并发任务数，通过可调整的信号量限制，
+ * 获取不到许可的任务进入阻塞队列等待，队列满后执行拒绝策略；corePoolSize 仅用于展示和参数校验。
+ * <p>
+ * 父类 {@link java.util.concurrent.ThreadPoolExecutor} 以 0 个核心线程构建且不会创建任何工作线程，只用于维护运行状态和阻塞队列，
+ * 因此动态刷新、注册器、监控与报警等逻辑可以与普通 {@link OneThreadExecutor} 共用。
+ */
+@Slf4j
+public class VirtualThreadOneThreadExecutor extends OneThreadExecutor {
+
+    /**
+     * 并发许可，许可总数即 maximumPoolSize
+     */
+    private final ResizableSemaphore permits;
+
+    /**
+     * 正在执行任务的虚拟线程，用于 shutdownNow 时中断
+     */
+    private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 已获取许可、尚未执行完成的任务数
+     */
+    private final AtomicInteger runningCount = new AtomicInteger();
+
+    private final ReentrantLock terminationLock = new ReentrantLock();
+    private final Condition termination = terminationLock.newCondition();
+
+    private volatile int corePoolSize;
+    private volatile int maximumPoolSize;
+
+    /**
+     * @param threadFactory 创建虚拟线程的线程工厂，参考 {@link com.nageoffer.onethread.core.toolkit.ThreadFactoryBuilder#virtual(boolean)}
+     */
+    public VirtualThreadOneThreadExecutor(
+            @NonNull String threadPoolId,
+            int corePoolSize,
+            int maximumPoolSize,
+            long keepAliveTime,
+            @NonNull TimeUnit unit,
+            @NonNull BlockingQueue<Runnable> workQueue,
+            @NonNull ThreadFactory threadFactory,
+            @NonNull RejectedExecutionHandler handler,
+            long awaitTerminationMillis) {
+        super(threadPoolId, 0, 1, keepAliveTime, unit, workQueue, threadFactory, handler, awaitTerminationMillis);
+        if (corePoolSize < 0 || maximumPoolSize <= 0 || maximumPoolSize < corePoolSize) {
+            throw new IllegalArgumentException();
+        }
+        this.corePoolSize = corePoolSize;
+        this.maximumPoolSize = maximumPoolSize;
+        this.permits = new ResizableSemaphore(maximumPoolSize);
+    }
+
+    @Override
+    protected void doExecute(Runnable command) {
+        if (isShutdown()) {
+            reject(command);
+            return;
+        }
+        // 队列中有等待的任务时新任务也要排队，避免抢在已排队任务之前获取许可
+        if (getQueue().isEmpty() && permits.tryAcquire()) {
+            if (!start(command)) {
+                reject(command);
+            }
+            return;
+        }
+        if (!getQueue().offer(command)) {
+            reject(command);
+            return;
+        }
+        signalIfQueueSaturated();
+        // 入队后再次检查：入队前可能已关闭，或者其他任务刚好释放了许可
+        if (isShutdown() && getQueue().remove(command)) {
+            reject(command);
+            return;
+        }
+        drainQueue();
+    }
+
+    /**
+     * 虚拟线程模式下阻塞队列不参与线程扩容判断，无需绑定
+     */
+    @Override
+    public void bindWorkQueue(BlockingQueue<Runnable> workQueue) {
+    }
+
+    /**
+     * 在新的虚拟线程中执行任务，调用前需已获取许可
+     *
+     * @return 线程创建或启动失败时释放许可并返回 false，由调用方处理任务
+     */
+    private boolean start(Runnable task) {
+        runningCount.incrementAndGet();
+        try {
+            getThreadFactory().newThread(() -> runTask(task)).start();
+            return true;
+        } catch (Throwable ex) {
+            log.error("Failed to start virtual thread, thread pool id: {}", getThreadPoolId(), ex);
+            // 不调用 finishTask，避免线程工厂持续失败时与 drainQueue 相互递归
+            permits.release();
+            runningCount.decrementAndGet();
+            if (isShutdown()) {
+                signalTerminationIfNecessary();
+            }
+            return false;
+        }
+    }
+
+    private void runTask(Runnable task) {
+        Thread thread = Thread.currentThread();
+        runningThreads.add(thread);
+        try {
+            beforeExecute(thread, task);
+            Throwable thrown = null;
+            try {
+                task.run();
+            } catch (Throwable ex) {
+                thrown = ex;
+                throw ex;
+            } finally {
+                afterExecute(task, thrown);
+            }
+        } finally {
+            runningThreads.remove(thread);
+            finishTask();
+        }
+    }
+
+    private void finishTask() {
+        permits.release();
+        runningCount.decrementAndGet();
+        drainQueue();
+        if (isShutdown()) {
+            signalTerminationIfNecessary();
+        }
+    }
+
+    /**
+     * 有可用许可时，把阻塞队列中的任务交给新的虚拟线程执行
+     * <p>
+     * 线程启动失败时已出队的任务交给拒绝策略，并停止本轮调度，剩余任务等待下一个任务结束时再调度
+     */
+    private void drainQueue() {
+        BlockingQueue<Runnable> queue = getQueue();
+        while (!queue.isEmpty() && permits.tryAcquire()) {
+            Runnable task = queue.poll();
+            if (task == null) {
+                permits.release();
+                return;
+            }
+            if (!start(task)) {
+                try {
+                    reject(task);
+                } catch (RejectedExecutionException ex) {
+                    log.warn("Queued task rejected after virtual thread start failure, thread pool id: {}", getThreadPoolId());
+                }
+                return;
+            }
+        }
+    }
+
+    private void reject(Runnable command) {
+        getRejectedExecutionHandler().rejectedExecution(command, this);
+    }
+
+    private void signalTerminationIfNecessary() {
+        if (isTerminated()) {
+            terminationLock.lock();
+            try {
+                termination.signalAll();
+            } finally {
+                terminationLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        signalTerminationIfNecessary();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> tasks = super.shutdownNow();
+        runningThreads.forEach(Thread::interrupt);
+        signalTerminationIfNecessary();
+        return tasks;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return isShutdown() && runningCount.get() == 0 && getQueue().isEmpty();
+    }
+
+    @Override
+    public boolean isTerminating() {
+        return isShutdown() && !isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        terminationLock.lock();
+        try {
+            while (!isTerminated()) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = termination.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            terminationLock.unlock();
+        }
+    }
+
+    /**
+     * 仅记录核心线程数，虚拟线程模式下不会预创建线程
+     */
+    @Override
+    public void setCorePoolSize(int corePoolSize) {
+        if (corePoolSize < 0 || maximumPoolSize < corePoolSize) {
+            throw new IllegalArgumentException();
+        }
+        this.corePoolSize = corePoolSize;
+    }
+
+    @Override
+    public int getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    /**
+     * 调整最大并发任务数，扩大时立即调度队列中等待的任务
+     */
+    @Override
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        if (maximumPoolSize <= 0 || maximumPoolSize < corePoolSize) {
+            throw new IllegalArgumentException();
+        }
+        this.maximumPoolSize = maximumPoolSize;
+        permits.setLimit(maximumPoolSize);
+        drainQueue();
+    }
+
+    @Override
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    @Override
+    public boolean prestartCoreThread() {
+        return false;
+    }
+
+    @Override
+    public int prestartAllCoreThreads() {
+        return 0;
+    }
+}
@@ -121,6 +121,66 @@ public enum BlockingQueueTypeEnum {
         <T> BlockingQueue<T> of() {
             return new ResizableCapacityLinkedBlockingQueue<>();
         }
+    },
+
+    /**
+     * {@link ResizableArrayRingQueue}
+     */
+    RESIZABLE_ARRAY_RING_QUEUE("ResizableArrayRingQueue") {
+        @Override
+        <T> BlockingQueue<T> of(Integer capacity) {
+            return new ResizableArrayRingQueue<>(capacity);
+        }
+
+        @Override
+        <T> BlockingQueue<T> of() {
+            return new ResizableArrayRingQueue<>();
+        }
+    },
+
+    /**
+     * {@link EagerTaskQueue}
+     */
+    EAGER_TASK_QUEUE("EagerTaskQueue") {
+        @Override
+        <T> BlockingQueue<T> of(Integer capacity) {
+            return new EagerTaskQueue<>(capacity);
+        }
+
+        @Override
+        <T> BlockingQueue<T> of() {
+            return new EagerTaskQueue<>();
+        }
+    },
+
+    /**
+     * {@link SpillableBlockingQueue}
+     */
+    SPILLABLE_BLOCKING_QUEUE("SpillableBlockingQueue") {
+        @Override
+        <T> BlockingQueue<T> of(Integer capacity) {
+            return new SpillableBlockingQueue<>(capacity);
+        }
+
+        @Override
+        <T> BlockingQueue<T> of() {
+            return new SpillableBlockingQueue<>(DEFAULT_CAPACITY);
+        }
+    },
+
+    /**
+     * {@link CoDelBlockingQueue}
+     */
+    CODEL_BLOCKING_QUEUE("CoDelBlockingQueue") {
+        @Override
+        <T> BlockingQueue<T> of(Integer capacity) {
+            return new CoDelBlockingQueue<>(capacity);
+        }
+
+        @Override
+        <T> BlockingQueue<T> of() {
+            return new CoDelBlockingQueue<>();
+        }
     };
 
     @Getter
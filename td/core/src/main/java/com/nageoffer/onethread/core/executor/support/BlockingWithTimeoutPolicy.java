@@ -0,0 +1,91 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import lombok.Getter;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限时阻塞提交拒绝策略，线程池饱和时提交线程在队列上等待空位，超时后交给兜底策略处理
+ * <p>
+ * 相比 {@link ThreadPoolExecutor.CallerRunsPolicy} 不会在提交线程中执行任务，适合批量生产者做背压。
+ * 等待基于队列的限时 offer，队列容量通过 {@link ResizableCapacityQueue#setCapacity(int)} 调大时会唤醒等待中的提交线程。
+ * 配合 {@link OneThreadExecutor} 使用时，阻塞成功入队不计入拒绝次数，阻塞中的提交线程数和累计阻塞耗时计入线程池指标。
+ */
+public class BlockingWithTimeoutPolicy implements RejectedExecutionHandler {
+
+    /**
+     * 默认最长阻塞时间，单位毫秒
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 1000L;
+
+    /**
+     * 最长阻塞时间，单位毫秒
+     */
+    @Getter
+    private final long timeoutMillis;
+
+    /**
+     * 阻塞超时后的兜底策略
+     */
+    @Getter
+    private final RejectedExecutionHandler fallbackPolicy;
+
+    public BlockingWithTimeoutPolicy() {
+        this(DEFAULT_TIMEOUT_MILLIS, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public BlockingWithTimeoutPolicy(long timeoutMillis, RejectedExecutionHandler fallbackPolicy) {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("The blocking timeout cannot be negative.");
+        }
+        if (fallbackPolicy == null || fallbackPolicy instanceof BlockingWithTimeoutPolicy) {
+            throw new IllegalArgumentException("The fallback policy must be a non-blocking rejected policy.");
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.fallbackPolicy = fallbackPolicy;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        if (!offer(r, executor)) {
+            fallbackPolicy.rejectedExecution(r, executor);
+        }
+    }
+
+    /**
+     * 在队列上限时等待空位
+     *
+     * @param r        被拒绝的任务
+     * @param executor 线程池
+     * @return 是否入队成功，线程池已关闭或等待超时返回 false
+     * @throws RejectedExecutionException 等待过程中提交线程被中断
+     */
+    public boolean offer(Runnable r, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            return false;
+        }
+        boolean offered;
+        try {
+            offered = executor.getQueue().offer(r, timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for queue space of " + executor, ex);
+        }
+        if (!offered) {
+            return false;
+        }
+        // 等待期间线程池被关闭，任务可能无人执行，尝试撤回
+        if (executor.isShutdown() && executor.getQueue().remove(r)) {
+            return false;
+        }
+        // 线程池没有存活线程时（如核心线程数为 0 且线程均已回收）补充一个线程
+        if (executor.getPoolSize() == 0) {
+            executor.prestartCoreThread();
+        }
+        return true;
+    }
+}
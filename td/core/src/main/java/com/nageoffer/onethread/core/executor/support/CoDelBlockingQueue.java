@@ -0,0 +1,239 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于排队时延的准入控制队列，参考 CoDel（Controlled Delay, RFC 8289）实现
+ * <p>
+ * 有界队列只在写满时拒绝任务，容量较大时任务可能已排队数秒仍未触发拒绝。该队列在入队时取队头任务、出队时取出队任务
+ * 计算排队耗时，工作线程全部卡住没有出队时同样能感知积压。排队耗时持续超过目标值达到一个观察周期后进入丢弃状态，
+ * 拒绝当前 offer，之后按 CoDel 控制律每隔 interval / sqrt(count) 拒绝一次，count 为本轮丢弃状态已拒绝次数，
+ * 积压不消退时拒绝越来越密；被拒绝的 offer 返回 false，由线程池执行拒绝策略并计入拒绝次数。
+ * 排队耗时回落到目标值以下或队列被取空后退出丢弃状态，退出后短时间内再次进入时沿用上一轮的拒绝频率。
+ * <p>
+ * 排队耗时取自 {@link TimedRunnable} 的入队时间，需要配合 {@link OneThreadExecutor} 使用；其他任务类型不参与判断，
+ * 行为与 {@link ResizableCapacityLinkedBlockingQueue} 一致。队列容量同样支持动态调整。
+ *
+ * @param <E> 队列元素类型
+ */
+public class CoDelBlockingQueue<E> extends ResizableCapacityLinkedBlockingQueue<E> {
+
+    /**
+     * 默认目标排队时延，单位毫秒
+     */
+    public static final long DEFAULT_TARGET_DELAY_MILLIS = 100L;
+
+    /**
+     * 默认观察周期，单位毫秒
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000L;
+
+    private volatile long targetDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TARGET_DELAY_MILLIS);
+    private volatile long intervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_INTERVAL_MILLIS);
+
+    /**
+     * 退出丢弃状态后在该倍数观察周期内再次进入，沿用上一轮的拒绝次数
+     */
+    private static final int REENTER_INTERVAL_MULTIPLE = 16;
+
+    /**
+     * 保护丢弃状态的更新，排队耗时低于目标值时不加锁
+     */
+    private final ReentrantLock stateLock = new ReentrantLock();
+
+    /**
+     * 排队耗时首次超过目标值后，持续超过至该时间点则进入丢弃状态；0 表示当前未超过目标值
+     */
+    private volatile long firstAboveTime;
+
+    /**
+     * 是否处于丢弃状态
+     */
+    @Getter
+    private volatile boolean dropping;
+
+    /**
+     * 丢弃状态下下一次拒绝的时间点
+     */
+    private long dropNext;
+
+    /**
+     * 本轮丢弃状态已拒绝次数
+     */
+    private int dropCount;
+
+    /**
+     * 上一轮进入丢弃状态时的拒绝次数
+     */
+    private int lastDropCount;
+
+    public CoDelBlockingQueue() {
+        super();
+    }
+
+    public CoDelBlockingQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * 设置目标排队时延和观察周期，运行中可随时调整
+     *
+     * @param targetDelayMillis 目标排队时延，单位毫秒
+     * @param intervalMillis    观察周期，单位毫秒
+     */
+    public void configure(long targetDelayMillis, long intervalMillis) {
+        if (targetDelayMillis <= 0 || intervalMillis <= 0) {
+            throw new IllegalArgumentException("CoDel target delay and interval must be greater than 0.");
+        }
+        stateLock.lock();
+        try {
+            this.targetDelayNanos = TimeUnit.MILLISECONDS.toNanos(targetDelayMillis);
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+            this.firstAboveTime = 0L;
+            this.dropping = false;
+            this.dropCount = 0;
+            this.lastDropCount = 0;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    public long getTargetDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(targetDelayNanos);
+    }
+
+    public long getIntervalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        // 只拒绝新任务，已入队任务继续执行以尽快消化积压
+        if (shouldDrop()) {
+            return false;
+        }
+        return super.offer(e);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (shouldDrop()) {
+            return false;
+        }
+        return super.offer(e, timeout, unit);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return onDequeue(super.take());
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return onDequeue(super.poll(timeout, unit));
+    }
+
+    @Override
+    public E poll() {
+        return onDequeue(super.poll());
+    }
+
+    /**
+     * 出队时只更新排队耗时观察状态，排队耗时回落时退出丢弃状态；进入丢弃状态和拒绝都在入队时决定
+     */
+    private E onDequeue(E e) {
+        if (e instanceof TimedRunnable) {
+            long now = System.nanoTime();
+            long sojournNanos = now - ((TimedRunnable) e).getEnqueueNanos();
+            if (isBelowTarget(sojournNanos)) {
+                return e;
+            }
+            stateLock.lock();
+            try {
+                if (!okToDrop(sojournNanos, now)) {
+                    dropping = false;
+                }
+            } finally {
+                stateLock.unlock();
+            }
+        }
+        return e;
+    }
+
+    /**
+     * 以队头任务排队耗时更新状态，并按控制律判断本次 offer 是否拒绝
+     */
+    private boolean shouldDrop() {
+        long now = System.nanoTime();
+        long sojournNanos = headSojournNanos(now);
+        if (isBelowTarget(sojournNanos)) {
+            return false;
+        }
+        stateLock.lock();
+        try {
+            boolean okToDrop = okToDrop(sojournNanos, now);
+            if (dropping) {
+                if (!okToDrop) {
+                    dropping = false;
+                    return false;
+                }
+                if (now - dropNext >= 0) {
+                    dropCount++;
+                    dropNext = controlLaw(dropNext, dropCount);
+                    return true;
+                }
+                return false;
+            }
+            if (!okToDrop) {
+                return false;
+            }
+            dropping = true;
+            // 刚退出丢弃状态又重新进入，说明积压未真正消退，从上一轮的拒绝频率继续
+            int delta = dropCount - lastDropCount;
+            dropCount = (delta > 1 && now - dropNext < REENTER_INTERVAL_MULTIPLE * intervalNanos) ? delta : 1;
+            lastDropCount = dropCount;
+            dropNext = controlLaw(now, dropCount);
+            return true;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private long headSojournNanos(long now) {
+        if (size() == 0) {
+            return 0L;
+        }
+        E head = peek();
+        return (head instanceof TimedRunnable) ? now - ((TimedRunnable) head).getEnqueueNanos() : 0L;
+    }
+
+    /**
+     * 排队耗时低于目标值且未处于观察或丢弃状态时无需更新，读 volatile 字段快速返回
+     */
+    private boolean isBelowTarget(long sojournNanos) {
+        return sojournNanos < targetDelayNanos && firstAboveTime == 0L && !dropping;
+    }
+
+    /**
+     * 更新排队耗时观察状态，返回排队耗时是否已持续超过目标值一个观察周期，需持有 stateLock
+     */
+    private boolean okToDrop(long sojournNanos, long now) {
+        if (sojournNanos < targetDelayNanos || size() == 0) {
+            firstAboveTime = 0L;
+            return false;
+        }
+        if (firstAboveTime == 0L) {
+            firstAboveTime = now + intervalNanos;
+            return false;
+        }
+        return now - firstAboveTime >= 0;
+    }
+
+    private long controlLaw(long time, int count) {
+        return time + (long) (intervalNanos / Math.sqrt(count));
+    }
+}
@@ -0,0 +1,143 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadRegistry;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorHolder;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 借用线程池拒绝策略，线程池饱和时将任务转交给 {@link OneThreadRegistry} 中指定的弹性线程池执行
+ * <p>
+ * 配置方式为拒绝策略名称加目标线程池 ID，如 {@code DelegatingPolicy:elastic-pool}。以下情况交给兜底策略处理：
+ * <ul>
+ *     <li>目标线程池未注册或已关闭</li>
+ *     <li>转交链路成环，例如 A 转交给 B、B 饱和后又转交回 A</li>
+ *     <li>超过每秒转交任务数上限</li>
+ *     <li>目标线程池同样拒绝了该任务</li>
+ * </ul>
+ * 配合 {@link OneThreadExecutor} 使用时，转交成功的任务计入转交次数，不计入拒绝次数。
+ */
+public class DelegatingPolicy implements RejectedExecutionHandler {
+
+    /**
+     * 拒绝策略名称前缀，后接目标线程池 ID
+     */
+    public static final String POLICY_NAME_PREFIX = "DelegatingPolicy:";
+
+    /**
+     * 当前线程上正在进行的转交链路，用于检测环路
+     */
+    private static final ThreadLocal<Deque<Executor>> DELEGATION_CHAIN = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * 目标线程池唯一标识
+     */
+    @Getter
+    private final String targetThreadPoolId;
+
+    /**
+     * 每秒最多转交的任务数，小于等于 0 表示不限制
+     */
+    @Getter
+    private final int permitsPerSecond;
+
+    /**
+     * 无法转交时的兜底策略
+     */
+    @Getter
+    private final RejectedExecutionHandler fallbackPolicy;
+
+    /**
+     * 令牌桶理论到达时间（GCRA），单位纳秒
+     */
+    private final AtomicLong theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+
+    public DelegatingPolicy(String targetThreadPoolId, int permitsPerSecond, RejectedExecutionHandler fallbackPolicy) {
+        if (targetThreadPoolId == null || targetThreadPoolId.isEmpty()) {
+            throw new IllegalArgumentException("The target thread pool id of DelegatingPolicy cannot be empty.");
+        }
+        if (fallbackPolicy == null || fallbackPolicy instanceof DelegatingPolicy || fallbackPolicy instanceof BlockingWithTimeoutPolicy) {
+            throw new IllegalArgumentException("The fallback policy must be a non-delegating and non-blocking rejected policy.");
+        }
+        this.targetThreadPoolId = targetThreadPoolId;
+        this.permitsPerSecond = permitsPerSecond;
+        this.fallbackPolicy = fallbackPolicy;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        if (!delegate(r, executor)) {
+            fallbackPolicy.rejectedExecution(r, executor);
+        }
+    }
+
+    /**
+     * 将任务转交给目标线程池
+     *
+     * @param r        被拒绝的任务
+     * @param executor 拒绝任务的线程池
+     * @return 是否转交成功
+     */
+    public boolean delegate(Runnable r, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            return false;
+        }
+        ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(targetThreadPoolId);
+        if (holder == null) {
+            return false;
+        }
+        Executor target = holder.isForkJoinPool() ? holder.getForkJoinPool() : holder.getExecutor();
+        if (target == null || target == executor) {
+            return false;
+        }
+
+        Deque<Executor> chain = DELEGATION_CHAIN.get();
+        if (chain.contains(target) || !tryAcquire()) {
+            return false;
+        }
+        chain.push(executor);
+        try {
+            // 去掉来源线程池的计时包装，排队耗时由目标线程池重新统计
+            target.execute(TimedRunnable.unwrap(r));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            return false;
+        } finally {
+            chain.pop();
+            if (chain.isEmpty()) {
+                DELEGATION_CHAIN.remove();
+            }
+        }
+    }
+
+    /**
+     * 基于 GCRA 的令牌桶限流，允许一秒的突发量
+     */
+    private boolean tryAcquire() {
+        if (permitsPerSecond <= 0) {
+            return true;
+        }
+        long emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        long burstToleranceNanos = TimeUnit.SECONDS.toNanos(1) - emissionIntervalNanos;
+        for (; ; ) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrivalNanos.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            if (newTat - now > burstToleranceNanos + emissionIntervalNanos) {
+                return false;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+}
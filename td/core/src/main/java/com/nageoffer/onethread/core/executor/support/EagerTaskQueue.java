@@ -0,0 +1,63 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import lombok.Setter;
+
+/**
+ * 优先创建线程的任务队列，参考 Tomcat TaskQueue 实现
+ * <p>
+ * 原生 {@link java.util.concurrent.ThreadPoolExecutor} 只有在队列满后才会创建非核心线程，IO 密集型线程池在突发流量下会长时间
+ * 停留在核心线程数，大量任务在队列中等待。该队列在线程数未达到最大线程数且没有空闲线程时让 offer 返回 false，
+ * 使线程池先扩容线程，线程数达到上限后任务才进入队列。
+ * <p>
+ * 需要配合 {@link OneThreadExecutor} 使用，线程数及在途任务数均来自其无锁计数；未绑定线程池时行为与
+ * {@link ResizableCapacityLinkedBlockingQueue} 一致。队列容量同样支持动态调整。
+ *
+ * @param <E> 队列元素类型
+ */
+public class EagerTaskQueue<E> extends ResizableCapacityLinkedBlockingQueue<E> {
+
+    /**
+     * 所属线程池，由 {@link OneThreadExecutor} 构造或替换阻塞队列时绑定
+     */
+    @Setter
+    private volatile OneThreadExecutor executor;
+
+    public EagerTaskQueue() {
+        super();
+    }
+
+    public EagerTaskQueue(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        OneThreadExecutor currentExecutor = executor;
+        if (currentExecutor == null) {
+            return super.offer(e);
+        }
+
+        int poolSize = currentExecutor.getPoolSize();
+        // 线程数已达上限，只能入队
+        if (poolSize >= currentExecutor.getMaximumPoolSize()) {
+            return super.offer(e);
+        }
+        // 有空闲线程，直接入队由空闲线程获取
+        if (currentExecutor.getInFlightCount() <= poolSize) {
+            return super.offer(e);
+        }
+        // 返回 false 让线程池创建新线程
+        return false;
+    }
+
+    /**
+     * 线程池扩容线程失败（并发下已达到最大线程数）后，在执行拒绝策略前强制尝试入队
+     *
+     * @param e 任务
+     * @return 是否入队成功，队列已满时返回 false
+     */
+    public boolean forceOffer(E e) {
+        return super.offer(e);
+    }
+}
@@ -0,0 +1,309 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按 Key 串行执行任务的调度器，相同 Key 的任务按提交顺序串行执行，不同 Key 的任务在线程池中并行执行
+ * <p>
+ * 每个 Key 对应一个无锁邮箱，邮箱中有任务时只会有一个投递任务在线程池中运行；邮箱清空后立即从映射中移除，
+ * 内存占用只与当前有积压的 Key 数量相关，与历史 Key 数量无关。
+ * <p>
+ * 线程池拒绝投递任务时，当前提交的任务抛出 {@link RejectedExecutionException}，
+ * 并发进入同一邮箱的其他任务在提交线程中执行，避免任务滞留在邮箱中。
+ * <p>
+ * 投递任务进入线程池队列后不能被丢弃或移除，否则邮箱计数无法归零，该 Key 后续的任务只入邮箱不再投递；
+ * 线程池需要跳过投递任务（参考 {@link #isDispatchTask(Runnable)}），shutdownNow 时通过 {@link #drainTo(Runnable, Collection)} 取回邮箱中的任务
+ */
+@Slf4j
+public class KeyedTaskDispatcher {
+
+    /**
+     * 单次投递最多连续执行的任务数，超过后重新提交到线程池，避免热点 Key 长期占用线程
+     */
+    private static final int MAX_BATCH_SIZE = 64;
+
+    /**
+     * 邮箱已回收标识
+     */
+    private static final int CLOSED = -1;
+
+    /**
+     * 投递任务等待提交线程完成入队时的自旋次数，超过后让出线程
+     */
+    private static final int MAX_SPINS = 128;
+
+    /**
+     * 按积压数分级统计 Key 数量的上限，超过该值的积压数在查询时遍历邮箱取得
+     */
+    private static final int MAX_TRACKED_BACKLOG = 256;
+
+    private final Executor executor;
+    private final Map<Object, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final LongAdder backlog = new LongAdder();
+
+    /**
+     * 下标 n 为积压数不小于 n 的 Key 数量，邮箱计数每次加减 1 只更新一个下标，最大积压数为最高的非零下标
+     */
+    private final LongAdder[] keyCountByBacklog = new LongAdder[MAX_TRACKED_BACKLOG + 1];
+
+    /**
+     * 执行失败的任务数，投递任务本身不会抛出异常，由调度器统计后计入线程池的失败次数
+     */
+    private final LongAdder failedCount;
+
+    public KeyedTaskDispatcher(Executor executor) {
+        this(executor, new LongAdder());
+    }
+
+    /**
+     * @param executor    执行投递任务的线程池
+     * @param failedCount 按 Key 执行的任务抛出异常时累加的计数
+     */
+    public KeyedTaskDispatcher(Executor executor, LongAdder failedCount) {
+        this.executor = executor;
+        this.failedCount = failedCount;
+        for (int i = 1; i <= MAX_TRACKED_BACKLOG; i++) {
+            keyCountByBacklog[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 提交任务，相同 Key 的任务串行执行
+     *
+     * @param key  任务 Key，如订单 ID
+     * @param task 任务
+     */
+    public void execute(@NonNull Object key, @NonNull Runnable task) {
+        for (; ; ) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(key, Mailbox::new);
+            int count = mailbox.count.get();
+            if (count == CLOSED) {
+                // 邮箱正在回收，移除后重新创建
+                mailboxes.remove(key, mailbox);
+                continue;
+            }
+            if (!mailbox.count.compareAndSet(count, count + 1)) {
+                continue;
+            }
+
+            backlog.increment();
+            onBacklogChanged(count + 1, true);
+            mailbox.tasks.offer(task);
+            // 只有邮箱从空变为非空的提交者负责投递，投递任务运行期间计数不会回到 0
+            if (count == 0) {
+                mailbox.schedule(task);
+            }
+            return;
+        }
+    }
+
+    /**
+     * 判断线程池中的任务是否为按 Key 投递的任务
+     */
+    public static boolean isDispatchTask(Runnable runnable) {
+        return TimedRunnable.unwrap(runnable) instanceof Mailbox;
+    }
+
+    /**
+     * 取出投递任务对应邮箱中尚未执行的任务并回收邮箱，用于线程池 shutdownNow
+     * <p>
+     * 取出期间并发提交到同一邮箱的任务可能遗漏，线程池关闭后新提交的任务会因投递被拒绝而抛出异常
+     *
+     * @param dispatchTask 线程池队列中的投递任务
+     * @param tasks        接收未执行任务的集合
+     */
+    public static void drainTo(Runnable dispatchTask, Collection<Runnable> tasks) {
+        Runnable runnable = TimedRunnable.unwrap(dispatchTask);
+        if (runnable instanceof KeyedTaskDispatcher.Mailbox) {
+            ((KeyedTaskDispatcher.Mailbox) runnable).abort(tasks);
+        }
+    }
+
+    /**
+     * 当前有积压任务的 Key 数量
+     */
+    public int getActiveKeyCount() {
+        return mailboxes.size();
+    }
+
+    /**
+     * 所有 Key 积压的任务总数（包含正在执行的任务）
+     */
+    public long getBacklog() {
+        return backlog.sum();
+    }
+
+    /**
+     * 单个 Key 的最大积压任务数，由分级计数得出，只有存在积压超过 {@value #MAX_TRACKED_BACKLOG} 的 Key 时才遍历邮箱
+     */
+    public int getMaxKeyBacklog() {
+        if (keyCountByBacklog[MAX_TRACKED_BACKLOG].sum() > 0) {
+            int max = MAX_TRACKED_BACKLOG;
+            for (Mailbox mailbox : mailboxes.values()) {
+                max = Math.max(max, mailbox.count.get());
+            }
+            return max;
+        }
+        for (int level = MAX_TRACKED_BACKLOG - 1; level > 0; level--) {
+            if (keyCountByBacklog[level].sum() > 0) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 获取指定 Key 的积压任务数
+     */
+    public int getKeyBacklog(Object key) {
+        Mailbox mailbox = mailboxes.get(key);
+        return mailbox == null ? 0 : Math.max(mailbox.count.get(), 0);
+    }
+
+    /**
+     * 邮箱计数从 level - 1 增加到 level，或从 level 减少到 level - 1
+     */
+    private void onBacklogChanged(int level, boolean increased) {
+        if (level <= MAX_TRACKED_BACKLOG) {
+            if (increased) {
+                keyCountByBacklog[level].increment();
+            } else {
+                keyCountByBacklog[level].decrement();
+            }
+        }
+    }
+
+    private class Mailbox implements Runnable {
+
+        private final Object key;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        /**
+         * 邮箱中未执行完成的任务数，-1 表示已回收
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Mailbox(Object key) {
+            this.key = key;
+        }
+
+        private void schedule(Runnable task) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException ex) {
+                // 撤回当前任务，其余并发进入邮箱的任务在提交线程中执行
+                if (tasks.remove(task)) {
+                    backlog.decrement();
+                    if (!release()) {
+                        drain(false);
+                    }
+                }
+                throw ex;
+            }
+        }
+
+        @Override
+        public void run() {
+            drain(true);
+        }
+
+        private void drain(boolean resubmit) {
+            int executed = 0;
+            for (; ; ) {
+                Runnable task = tasks.poll();
+                if (task == null && (task = awaitTask(resubmit)) == null) {
+                    return;
+                }
+
+                try {
+                    task.run();
+                } catch (Throwable ex) {
+                    failedCount.increment();
+                    log.error("Keyed task execution failed, key: {}", key, ex);
+                } finally {
+                    backlog.decrement();
+                }
+
+                if (release()) {
+                    return;
+                }
+                if (resubmit && ++executed >= MAX_BATCH_SIZE) {
+                    try {
+                        executor.execute(this);
+                        return;
+                    } catch (RejectedExecutionException ignored) {
+                        // 线程池饱和时继续在当前线程执行
+                        executed = 0;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 计数先于入队，提交线程可能还未完成入队。短暂自旋后重新提交投递任务让出工作线程，
+         * 线程池拒绝或在提交线程中执行时改为 yield 等待
+         *
+         * @return 任务，已重新提交投递任务时返回 null
+         */
+        private Runnable awaitTask(boolean resubmit) {
+            for (int spins = 0; ; spins++) {
+                Runnable task = tasks.poll();
+                if (task != null) {
+                    return task;
+                }
+                if (spins < MAX_SPINS) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (resubmit) {
+                    try {
+                        executor.execute(this);
+                        return null;
+                    } catch (RejectedExecutionException ignored) {
+                        resubmit = false;
+                    }
+                }
+                Thread.yield();
+            }
+        }
+
+        private void abort(Collection<Runnable> drained) {
+            int previous = count.getAndSet(CLOSED);
+            for (int level = Math.min(previous, MAX_TRACKED_BACKLOG); level > 0; level--) {
+                onBacklogChanged(level, false);
+            }
+            mailboxes.remove(key, this);
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                backlog.decrement();
+                drained.add(task);
+            }
+        }
+
+        /**
+         * 释放一个任务计数
+         *
+         * @return true-邮箱已清空并回收
+         */
+        private boolean release() {
+            if (count.compareAndSet(1, CLOSED)) {
+                onBacklogChanged(1, false);
+                mailboxes.remove(key, this);
+                return true;
+            }
+            onBacklogChanged(count.decrementAndGet() + 1, false);
+            return false;
+        }
+    }
+}
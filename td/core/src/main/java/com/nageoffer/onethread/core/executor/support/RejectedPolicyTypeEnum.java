@@ -1,9 +1,12 @@
 package com.nageoffer.onethread.core.executor.support;
 
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorProperties;
 import lombok.Getter;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -30,7 +33,12 @@ public enum RejectedPolicyTypeEnum {
     /**
      * {@link ThreadPoolExecutor.DiscardOldestPolicy}
      */
-    DISCARD_OLDEST_POLICY("DiscardOldestPolicy", new ThreadPoolExecutor.DiscardOldestPolicy());
+    DISCARD_OLDEST_POLICY("DiscardOldestPolicy", new ThreadPoolExecutor.DiscardOldestPolicy()),
+
+    /**
+     * {@link BlockingWithTimeoutPolicy}，默认阻塞 1 秒后按 AbortPolicy 拒绝
+     */
+    BLOCKING_WITH_TIMEOUT_POLICY("BlockingWithTimeoutPolicy", new BlockingWithTimeoutPolicy());
 
     @Getter
     private String name;
@@ -66,7 +74,47 @@ public enum RejectedPolicyTypeEnum {
         if (rejectedPolicyTypeEnum != null) {
             return rejectedPolicyTypeEnum.rejectedHandler;// 工厂方法直接返回已有实例
         }
+        if (rejectedPolicyName != null && rejectedPolicyName.startsWith(DelegatingPolicy.POLICY_NAME_PREFIX)) {
+            String targetThreadPoolId = rejectedPolicyName.substring(DelegatingPolicy.POLICY_NAME_PREFIX.length());
+            return new DelegatingPolicy(targetThreadPoolId, 0, ABORT_POLICY.rejectedHandler);
+        }
 
         throw new IllegalArgumentException("No matching type of rejected execution was found: " + rejectedPolicyName);
     }
+
+    /**
+     * Creates a {@link RejectedExecutionHandler} based on the rejected policy name of the given
+     * thread pool properties, applying its blocking policy config to {@link BlockingWithTimeoutPolicy}
+     * and its delegate policy config to {@link DelegatingPolicy}.
+     *
+     * @param properties the thread pool properties
+     * @return the corresponding {@link RejectedExecutionHandler} instance
+     * @throws IllegalArgumentException if no matching rejected policy type is found
+     */
+    public static RejectedExecutionHandler createPolicy(ThreadPoolExecutorProperties properties) {
+        String rejectedPolicyName = properties.getRejectedHandler();
+        if (rejectedPolicyName != null && rejectedPolicyName.startsWith(DelegatingPolicy.POLICY_NAME_PREFIX)) {
+            return createDelegatingPolicy(rejectedPolicyName, properties.getDelegatePolicy());
+        }
+
+        ThreadPoolExecutorProperties.BlockingPolicyConfig config = properties.getBlockingPolicy();
+        if (!Objects.equals(BLOCKING_WITH_TIMEOUT_POLICY.name, rejectedPolicyName) || config == null) {
+            return createPolicy(rejectedPolicyName);
+        }
+
+        long timeoutMillis = Optional.ofNullable(config.getTimeout()).orElse(BlockingWithTimeoutPolicy.DEFAULT_TIMEOUT_MILLIS);
+        RejectedExecutionHandler fallbackPolicy = createPolicy(Optional.ofNullable(config.getFallback()).orElse(ABORT_POLICY.name));
+        return new BlockingWithTimeoutPolicy(timeoutMillis, fallbackPolicy);
+    }
+
+    private static RejectedExecutionHandler createDelegatingPolicy(String rejectedPolicyName, ThreadPoolExecutorProperties.DelegatePolicyConfig config) {
+        String targetThreadPoolId = rejectedPolicyName.substring(DelegatingPolicy.POLICY_NAME_PREFIX.length());
+        if (config == null) {
+            return new DelegatingPolicy(targetThreadPoolId, 0, ABORT_POLICY.rejectedHandler);
+        }
+
+        int permitsPerSecond = Optional.ofNullable(config.getPermitsPerSecond()).orElse(0);
+        RejectedExecutionHandler fallbackPolicy = createPolicy(Optional.ofNullable(config.getFallback()).orElse(ABORT_POLICY.name));
+        return new DelegatingPolicy(targetThreadPoolId, permitsPerSecond, fallbackPolicy);
+    }
 }
@@ -7,7 +7,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 拒绝策略代理处理器
@@ -25,7 +25,7 @@ import java.util.concurrent.atomic.AtomicLong;
 public class RejectedProxyInvocationHandler implements InvocationHandler {
 
     private final Object target;
-    private final AtomicLong rejectCount;
+    private final LongAdder rejectCount;
 
     private static final String REJECT_METHOD = "rejectedExecution";
 
@@ -36,7 +36,7 @@ public class RejectedProxyInvocationHandler implements InvocationHandler {
                 args.length == 2 &&
                 args[0] instanceof Runnable &&
                 args[1] instanceof ThreadPoolExecutor) {
-            rejectCount.incrementAndGet();
+            rejectCount.increment();
         }
 
         if (method.getName().equals("toString") && method.getParameterCount() == 0) {
@@ -0,0 +1,650 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.jfr.QueueCapacityChangeEvent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于数组环形缓冲区的无锁多生产者多消费者有界阻塞队列，支持运行时调整容量
+ * <p>
+ * 入队出队采用 Dmitry Vyukov 的 bounded MPMC 算法：每个槽位维护一个序号，生产者和消费者分别通过 CAS 推进
+ * tail / head 下标，head 和 tail 之间做了缓存行填充，避免伪共享。与 {@link ResizableCapacityLinkedBlockingQueue}
+ * 相比，入队不再分配 Node，也不再由所有生产者争抢同一把 putLock。只有在队列为空或已满需要阻塞等待时才进入加锁的慢路径。
+ * <p>
+ * 容量分为逻辑容量和物理容量：逻辑容量即 {@link #setCapacity(int)} 设置的值，物理容量为环形数组的长度。
+ * 逻辑容量范围内物理数组写满时，会创建一个两倍长度的新环并关闭旧环，消费者消费完旧环剩余元素后切换到新环，
+ * 因此扩容无需拷贝元素，也不会阻塞正在进行的入队出队。缩容只调整逻辑容量，已入队的元素不受影响。
+ * <p>
+ * {@link #remove(Object)} 通过把槽位替换为墓碑标记实现，墓碑在被消费者跳过之前仍然计入 {@link #size()}。
+ *
+ * @param <E> 队列元素类型
+ */
+public class ResizableArrayRingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E>, ResizableCapacityQueue {
+
+    /**
+     * 初始物理容量上限，逻辑容量更大时按需扩容，避免一次性分配大数组
+     */
+    static final int INITIAL_RING_CAPACITY_LIMIT = 1024;
+
+    /**
+     * 物理容量上限
+     */
+    static final int MAXIMUM_RING_CAPACITY = 1 << 30;
+
+    /**
+     * 被 remove 移除的元素占位标记
+     */
+    private static final Object TOMBSTONE = new Object();
+
+    private static final int OFFER_SUCCESS = 0;
+    private static final int OFFER_FULL = 1;
+    private static final int OFFER_RING_FULL = 2;
+    private static final int OFFER_RING_CLOSED = 3;
+
+    private static final VarHandle CONSUMER_RING;
+
+    static {
+        try {
+            CONSUMER_RING = MethodHandles.lookup().findVarHandle(ResizableArrayRingQueue.class, "consumerRing", Ring.class);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    /**
+     * 逻辑容量
+     */
+    private volatile int capacity;
+
+    /**
+     * 生产者写入的环，扩容后指向新环
+     */
+    private volatile Ring producerRing;
+
+    /**
+     * 消费者读取的环，旧环消费完之后切换到下一个环
+     */
+    private volatile Ring consumerRing;
+
+    /**
+     * 慢路径锁，仅在阻塞等待、唤醒和扩容时使用
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * 阻塞等待的消费者和生产者数量，只在持有 lock 时修改，快路径据此判断是否需要唤醒
+     */
+    private volatile int takeWaiters;
+    private volatile int putWaiters;
+
+    public ResizableArrayRingQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public ResizableArrayRingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        Ring ring = new Ring(ringCapacityFor(Math.min(capacity, INITIAL_RING_CAPACITY_LIMIT)));
+        this.producerRing = ring;
+        this.consumerRing = ring;
+    }
+
+    public ResizableArrayRingQueue(Collection<? extends E> c) {
+        this(Integer.MAX_VALUE);
+        addAll(c);
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        int oldCapacity = this.capacity;
+        this.capacity = capacity;
+        if (capacity > oldCapacity && putWaiters > 0) {
+            signalAll(notFull);
+        }
+        QueueCapacityChangeEvent.record(this, oldCapacity, capacity, size());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        for (; ; ) {
+            Ring ring = producerRing;
+            int result = ring.offer(e, capacity - sizeBefore(ring));
+            if (result == OFFER_SUCCESS) {
+                if (takeWaiters > 0) {
+                    signal(notEmpty);
+                }
+                return true;
+            }
+            if (result == OFFER_FULL) {
+                return false;
+            }
+            if (result == OFFER_RING_FULL && !grow(ring)) {
+                return false;
+            }
+            // 环已扩容或被关闭，重新读取生产者环后重试
+        }
+    }
+
+    @Override
+    public E poll() {
+        for (; ; ) {
+            Ring ring = consumerRing;
+            Object item = ring.poll();
+            if (item != null) {
+                if (putWaiters > 0) {
+                    signal(notFull);
+                }
+                return cast(item);
+            }
+
+            Ring next = ring.next;
+            if (next == null) {
+                return null;
+            }
+            if (ring.isDrained()) {
+                CONSUMER_RING.compareAndSet(this, ring, next);
+            } else {
+                // 旧环中有生产者已占位但尚未写入，稍后重试
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        for (Ring ring = consumerRing; ring != null; ring = ring.next) {
+            Object item = ring.peek();
+            if (item != null) {
+                return cast(item);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (offer(e)) {
+            return;
+        }
+        lock.lockInterruptibly();
+        try {
+            putWaiters++;
+            try {
+                while (!offer(e)) {
+                    notFull.await();
+                }
+            } finally {
+                putWaiters--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offer(e)) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            putWaiters++;
+            try {
+                while (!offer(e)) {
+                    if (nanos <= 0L) {
+                        return false;
+                    }
+                    nanos = notFull.awaitNanos(nanos);
+                }
+                return true;
+            } finally {
+                putWaiters--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E item = poll();
+        if (item != null) {
+            return item;
+        }
+        lock.lockInterruptibly();
+        try {
+            takeWaiters++;
+            try {
+                while ((item = poll()) == null) {
+                    notEmpty.await();
+                }
+                return item;
+            } finally {
+                takeWaiters--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E item = poll();
+        if (item != null) {
+            return item;
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            takeWaiters++;
+            try {
+                while ((item = poll()) == null) {
+                    if (nanos <= 0L) {
+                        return null;
+                    }
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                return item;
+            } finally {
+                takeWaiters--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 返回队列中的元素数量，包含尚未被消费者跳过的墓碑
+     */
+    @Override
+    public int size() {
+        long size = 0;
+        for (Ring ring = consumerRing; ring != null; ring = ring.next) {
+            size += ring.size();
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (Ring ring = consumerRing; ring != null; ring = ring.next) {
+            if (ring.remove(o)) {
+                if (putWaiters > 0) {
+                    signal(notFull);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        E item;
+        while (n < maxElements && (item = poll()) != null) {
+            c.add(item);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * 返回弱一致性的迭代器，遍历的是创建时刻队列中元素的快照
+     */
+    @Override
+    public Iterator<E> iterator() {
+        List<Object> snapshot = new ArrayList<>();
+        for (Ring ring = consumerRing; ring != null; ring = ring.next) {
+            ring.collect(snapshot);
+        }
+        return new Itr(snapshot);
+    }
+
+    /**
+     * 当前环物理写满时扩容，由首个发现写满的生产者创建新环
+     *
+     * @return 是否可以继续重试入队
+     */
+    private boolean grow(Ring ring) {
+        if (size() >= capacity) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (producerRing != ring) {
+                return true;
+            }
+            int length = ring.buffer.length;
+            if (length >= MAXIMUM_RING_CAPACITY) {
+                return false;
+            }
+            Ring next = new Ring(length << 1);
+            ring.next = next;
+            producerRing = next;
+            ring.close();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 计算指定环之前（尚未被消费完的旧环）的元素数量，只在扩容后的短暂窗口内非 0
+     */
+    private int sizeBefore(Ring ring) {
+        Ring current = consumerRing;
+        if (current == ring) {
+            return 0;
+        }
+        long size = 0;
+        for (; current != null && current != ring; current = current.next) {
+            size += current.size();
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private void signal(Condition condition) {
+        lock.lock();
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalAll(Condition condition) {
+        lock.lock();
+        try {
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E cast(Object item) {
+        return (E) item;
+    }
+
+    private static int ringCapacityFor(int capacity) {
+        int n = Math.max(2, capacity);
+        return n >= MAXIMUM_RING_CAPACITY ? MAXIMUM_RING_CAPACITY : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private final List<Object> snapshot;
+        private int cursor;
+        private Object lastRet;
+
+        Itr(List<Object> snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.size();
+        }
+
+        @Override
+        public E next() {
+            if (cursor >= snapshot.size()) {
+                throw new NoSuchElementException();
+            }
+            lastRet = snapshot.get(cursor++);
+            return cast(lastRet);
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet == null) {
+                throw new IllegalStateException();
+            }
+            ResizableArrayRingQueue.this.remove(lastRet);
+            lastRet = null;
+        }
+    }
+
+    /**
+     * 缓存行填充：在 tail、head 前后各填充 64 字节以上，防止与其他热点字段共享缓存行
+     */
+    abstract static class RingLeftPadding {
+        long p00, p01, p02, p03, p04, p05, p06, p07;
+        long p08, p09, p0a, p0b, p0c, p0d, p0e, p0f;
+    }
+
+    abstract static class RingTail extends RingLeftPadding {
+        /**
+         * 生产者下标，最高位为关闭标记
+         */
+        volatile long tail;
+    }
+
+    abstract static class RingMiddlePadding extends RingTail {
+        long p10, p11, p12, p13, p14, p15, p16, p17;
+        long p18, p19, p1a, p1b, p1c, p1d, p1e, p1f;
+    }
+
+    abstract static class RingHead extends RingMiddlePadding {
+        /**
+         * 消费者下标
+         */
+        volatile long head;
+    }
+
+    abstract static class RingRightPadding extends RingHead {
+        long p20, p21, p22, p23, p24, p25, p26, p27;
+        long p28, p29, p2a, p2b, p2c, p2d, p2e, p2f;
+    }
+
+    /**
+     * 固定长度的 MPMC 环形缓冲区
+     */
+    static final class Ring extends RingRightPadding {
+
+        private static final long CLOSED_BIT = Long.MIN_VALUE;
+
+        private static final VarHandle TAIL;
+        private static final VarHandle HEAD;
+        private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+        private static final VarHandle BUFFER = MethodHandles.arrayElementVarHandle(Object[].class);
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                TAIL = lookup.findVarHandle(RingTail.class, "tail", long.class);
+                HEAD = lookup.findVarHandle(RingHead.class, "head", long.class);
+            } catch (ReflectiveOperationException ex) {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        final Object[] buffer;
+        final long[] sequences;
+        final int mask;
+
+        /**
+         * 扩容后的下一个环
+         */
+        volatile Ring next;
+
+        Ring(int length) {
+            buffer = new Object[length];
+            sequences = new long[length];
+            mask = length - 1;
+            for (int i = 0; i < length; i++) {
+                sequences[i] = i;
+            }
+        }
+
+        /**
+         * 入队，槽位序号等于 tail 时说明可写；序号的读写均为 volatile 语义，与等待者计数配合保证不丢失唤醒
+         *
+         * @param limit 当前环允许容纳的最大元素数量（逻辑容量减去旧环剩余元素数）
+         */
+        int offer(Object item, long limit) {
+            long t = tail;
+            for (; ; ) {
+                if ((t & CLOSED_BIT) != 0) {
+                    return OFFER_RING_CLOSED;
+                }
+                int index = (int) (t & mask);
+                long sequence = (long) SEQUENCE.getVolatile(sequences, index);
+                long diff = sequence - t;
+                if (diff == 0) {
+                    if (t - head >= limit) {
+                        return OFFER_FULL;
+                    }
+                    if (TAIL.compareAndSet(this, t, t + 1)) {
+                        buffer[index] = item;
+                        SEQUENCE.setVolatile(sequences, index, t + 1);
+                        return OFFER_SUCCESS;
+                    }
+                } else if (diff < 0) {
+                    return OFFER_RING_FULL;
+                }
+                t = tail;
+            }
+        }
+
+        /**
+         * 出队，槽位序号等于 head + 1 时说明已写入；被移除的墓碑直接跳过
+         */
+        Object poll() {
+            long h = head;
+            for (; ; ) {
+                int index = (int) (h & mask);
+                long sequence = (long) SEQUENCE.getVolatile(sequences, index);
+                long diff = sequence - (h + 1);
+                if (diff == 0) {
+                    if (HEAD.compareAndSet(this, h, h + 1)) {
+                        Object item = BUFFER.getAndSet(buffer, index, null);
+                        SEQUENCE.setVolatile(sequences, index, h + mask + 1);
+                        if (item != TOMBSTONE) {
+                            return item;
+                        }
+                    }
+                } else if (diff < 0) {
+                    return null;
+                }
+                h = head;
+            }
+        }
+
+        Object peek() {
+            long h = head;
+            long t = tail & ~CLOSED_BIT;
+            for (long i = h; i < t; i++) {
+                Object item = itemAt(i);
+                if (item != null) {
+                    return item;
+                }
+            }
+            return null;
+        }
+
+        boolean remove(Object o) {
+            long h = head;
+            long t = tail & ~CLOSED_BIT;
+            for (long i = h; i < t; i++) {
+                Object item = itemAt(i);
+                if (item != null && o.equals(item) && BUFFER.compareAndSet(buffer, (int) (i & mask), item, TOMBSTONE)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void collect(List<Object> snapshot) {
+            long h = head;
+            long t = tail & ~CLOSED_BIT;
+            for (long i = h; i < t; i++) {
+                Object item = itemAt(i);
+                if (item != null) {
+                    snapshot.add(item);
+                }
+            }
+        }
+
+        /**
+         * 读取指定下标处已写入且未被消费的元素，否则返回 null
+         */
+        private Object itemAt(long position) {
+            int index = (int) (position & mask);
+            if ((long) SEQUENCE.getVolatile(sequences, index) != position + 1) {
+                return null;
+            }
+            Object item = BUFFER.getVolatile(buffer, index);
+            if (item == TOMBSTONE || (long) SEQUENCE.getVolatile(sequences, index) != position + 1) {
+                return null;
+            }
+            return item;
+        }
+
+        long size() {
+            long h = head;
+            long t = tail & ~CLOSED_BIT;
+            return Math.max(0L, t - h);
+        }
+
+        /**
+         * 关闭当前环，之后的入队都会失败并转到下一个环
+         */
+        void close() {
+            for (; ; ) {
+                long t = tail;
+                if ((t & CLOSED_BIT) != 0 || TAIL.compareAndSet(this, t, t | CLOSED_BIT)) {
+                    return;
+                }
+            }
+        }
+
+        boolean isDrained() {
+            long t = tail;
+            return (t & CLOSED_BIT) != 0 && head == (t & ~CLOSED_BIT);
+        }
+    }
+}
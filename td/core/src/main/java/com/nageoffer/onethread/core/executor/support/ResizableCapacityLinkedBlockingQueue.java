@@ -1,5 +1,7 @@
 package com.nageoffer.onethread.core.executor.support;
 
+import com.nageoffer.onethread.core.jfr.QueueCapacityChangeEvent;
+
 import java.util.AbstractQueue;
 import java.util.Collection;
 import java.util.Iterator;
@@ -49,6 +51,7 @@ import java.util.concurrent.locks.ReentrantLock;
 public class ResizableCapacityLinkedBlockingQueue<E> extends AbstractQueue<E>
         implements
         BlockingQueue<E>,
+        ResizableCapacityQueue,
         java.io.Serializable {
 
     private static final long serialVersionUID = -6903933977591709194L;
@@ -239,13 +242,16 @@ public class ResizableCapacityLinkedBlockingQueue<E> extends AbstractQueue<E>
      *
      * @param capacity the new capacity for the queue
      */
+    @Override
     public void setCapacity(int capacity) {
         final int oldCapacity = this.capacity;
         this.capacity = capacity;
         final int size = count.get();
-        if (capacity > size && size >= oldCapacity) {
+        // 扩容后唤醒阻塞的生产者，被唤醒的生产者入队后会继续唤醒下一个
+        if (capacity > size && capacity > oldCapacity) {
             signalNotFull();
         }
+        QueueCapacityChangeEvent.record(this, oldCapacity, capacity, size);
     }
 
     // this doc comment is a modified copy of the inherited doc comment,
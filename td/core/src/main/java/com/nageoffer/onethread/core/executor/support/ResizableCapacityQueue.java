@@ -0,0 +1,14 @@
+package com.nageoffer.onethread.core.executor.support;
+
+/**
+ * 支持运行时调整容量的阻塞队列，动态刷新时通过该接口变更队列容量
+ */
+public interface ResizableCapacityQueue {
+
+    /**
+     * 设置队列新容量
+     *
+     * @param capacity 新容量，必须大于 0
+     */
+    void setCapacity(int capacity);
+}
@@ -0,0 +1,44 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * 支持运行时调整许可总数的信号量
+ * <p>
+ * 缩小许可数时通过 {@link Semaphore#reducePermits(int)} 扣减，已被持有的许可不会被收回，
+ * 可用许可可能暂时为负数，直到持有者陆续释放后才会恢复
+ */
+public class ResizableSemaphore extends Semaphore {
+
+    /**
+     * 当前许可总数
+     */
+    private int limit;
+
+    public ResizableSemaphore(int limit) {
+        super(limit);
+        this.limit = limit;
+    }
+
+    /**
+     * 调整许可总数
+     *
+     * @param newLimit 新的许可总数，必须大于 0
+     */
+    public synchronized void setLimit(int newLimit) {
+        if (newLimit <= 0) {
+            throw new IllegalArgumentException("The permit limit must be greater than 0.");
+        }
+        int delta = newLimit - limit;
+        if (delta > 0) {
+            release(delta);
+        } else if (delta < 0) {
+            reducePermits(-delta);
+        }
+        limit = newLimit;
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,34 @@
+package com.nageoffer.onethread.core.executor.support;
+
+/**
+ * 溢写队列任务编解码器，用于将不支持 JDK 序列化的任务写入磁盘
+ * <p>
+ * 通过 {@link SpillableBlockingQueue#registerCodec(SpillTaskCodec)} 注册，优先于 JDK 序列化使用。
+ * 溢写文件只在当前进程内有效，编码结果无需跨版本兼容
+ */
+public interface SpillTaskCodec {
+
+    /**
+     * 是否支持编码该任务
+     *
+     * @param task 原始任务
+     * @return true-支持
+     */
+    boolean supports(Object task);
+
+    /**
+     * 编码任务
+     *
+     * @param task 原始任务
+     * @return 编码后的字节
+     */
+    byte[] encode(Object task);
+
+    /**
+     * 解码任务
+     *
+     * @param bytes 编码后的字节
+     * @return 原始任务
+     */
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,590 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.jfr.QueueCapacityChangeEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 内存队列写满后溢写到磁盘的阻塞队列
+ * <p>
+ * 队列头部保存在内存中，容量即线程池配置的队列容量；内存写满后，支持序列化的任务追加写入内存映射的分段文件，
+ * 消费时先消费内存中的任务，再按顺序从磁盘读取，保证 FIFO。磁盘中的任务不占用堆内存，用于吸收分钟级的突发流量。
+ * <ul>
+ *     <li>任务需要实现 {@link Serializable}，或注册了对应的 {@link SpillTaskCodec}，否则内存写满后直接返回 false 触发拒绝策略</li>
+ *     <li>分段文件写在溢写目录下每个队列独立创建的子目录中，子目录和文件仅所有者可读写，文件创建后立即删除（DELETE_ON_CLOSE），
+ *     只通过映射内存访问，进程退出后由操作系统回收</li>
+ *     <li>JDK 序列化读回时只允许本进程溢写时序列化过的类，防止篡改的数据触发反序列化漏洞</li>
+ *     <li>磁盘容量由分段大小和最大分段数决定，超出后返回 false 触发拒绝策略</li>
+ *     <li>{@link #remove(Object)}、{@link #iterator()} 只作用于内存中的任务</li>
+ *     <li>溢写成功时 offer 返回 true，线程池只有在磁盘也写满后才会创建非核心线程</li>
+ *     <li>读回时无法解码的任务（类已变更、数据损坏等）记录日志后丢弃，不影响后续任务消费</li>
+ * </ul>
+ *
+ * @param <E> 队列元素类型
+ */
+@Slf4j
+public class SpillableBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E>, ResizableCapacityQueue {
+
+    /**
+     * 已注册的编解码器，下标写入记录头用于解码，0 号为 JDK 序列化
+     */
+    private static final List<SpillTaskCodec> CODECS = new CopyOnWriteArrayList<>(List.of(new JdkSerializationCodec()));
+
+    /**
+     * 记录头：长度 + 编解码器下标 + 入队时间
+     */
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES;
+
+    private static final long NO_ENQUEUE_NANOS = Long.MIN_VALUE;
+
+    private static final int MB = 1024 * 1024;
+
+    private static final AtomicLong SEGMENT_SEQUENCE = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final ArrayDeque<E> head = new ArrayDeque<>();
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+
+    private volatile int capacity;
+    private volatile String spillDirectory = System.getProperty("java.io.tmpdir");
+
+    /**
+     * 当前队列的分段文件目录，首次溢写时在溢写目录下创建，仅所有者可访问
+     */
+    private volatile Path segmentDirectory;
+    private volatile int segmentSize = 64 * MB;
+    private volatile int maxSegments = 16;
+
+    /**
+     * 磁盘中的任务数
+     */
+    @Getter
+    private volatile int spilledSize;
+
+    public SpillableBlockingQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public SpillableBlockingQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * 注册任务编解码器
+     *
+     * @param codec 编解码器
+     */
+    public static void registerCodec(SpillTaskCodec codec) {
+        if (CODECS.size() >= Byte.MAX_VALUE) {
+            throw new IllegalStateException("Too many spill task codecs.");
+        }
+        // 追加到末尾，已写入磁盘的记录下标保持不变；查找时后注册的优先，JDK 序列化兜底
+        CODECS.add(codec);
+    }
+
+    /**
+     * 设置溢写参数，只影响之后新建的分段文件
+     *
+     * @param spillDirectory 溢写目录，为空时使用临时目录，分段文件写在其下单独创建的子目录中
+     * @param segmentSizeMb  单个分段文件大小，单位 MB
+     * @param maxSegments    最大分段文件数
+     */
+    public void configure(String spillDirectory, Integer segmentSizeMb, Integer maxSegments) {
+        if (spillDirectory != null && !spillDirectory.isBlank() && !spillDirectory.equals(this.spillDirectory)) {
+            this.spillDirectory = spillDirectory;
+            this.segmentDirectory = null;
+        }
+        if (segmentSizeMb != null && segmentSizeMb > 0) {
+            this.segmentSize = (int) Math.min((long) segmentSizeMb * MB, Integer.MAX_VALUE);
+        }
+        if (maxSegments != null && maxSegments > 0) {
+            this.maxSegments = maxSegments;
+        }
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        lock.lock();
+        try {
+            int oldCapacity = this.capacity;
+            this.capacity = capacity;
+            refill();
+            notFull.signalAll();
+            QueueCapacityChangeEvent.record(this, oldCapacity, capacity, size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        lock.lock();
+        try {
+            // 磁盘中有任务时新任务也写入磁盘，保证先进先出
+            if (spilledSize == 0 && head.size() < capacity) {
+                head.addLast(e);
+            } else if (!spill(e)) {
+                return false;
+            }
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        lock.lockInterruptibly();
+        try {
+            while (!offer(e)) {
+                notFull.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (!offer(e)) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            E e;
+            while ((e = dequeue()) == null) {
+                notEmpty.await();
+            }
+            return e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            E e;
+            while ((e = dequeue()) == null) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        lock.lock();
+        try {
+            refill();
+            return head.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return head.size() + spilledSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 剩余的内存容量，磁盘容量按字节计算无法换算为任务数，不计入
+     */
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return Math.max(0, capacity - head.size() - spilledSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        lock.lock();
+        try {
+            boolean removed = head.remove(o);
+            if (removed) {
+                refill();
+                notFull.signal();
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        lock.lock();
+        try {
+            int n = 0;
+            E e;
+            while (n < maxElements && (e = dequeue()) != null) {
+                c.add(e);
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 返回内存中任务的快照迭代器，不包含磁盘中的任务
+     */
+    @Override
+    public Iterator<E> iterator() {
+        lock.lock();
+        try {
+            return new ArrayList<>(head).iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private E dequeue() {
+        refill();
+        E e = head.pollFirst();
+        if (e != null) {
+            refill();
+            notFull.signal();
+        }
+        return e;
+    }
+
+    /**
+     * 将磁盘中的任务按顺序读回内存，直到内存写满或磁盘为空
+     */
+    private void refill() {
+        while (spilledSize > 0 && head.size() < capacity) {
+            Segment segment = segments.peekFirst();
+            if (segment == null) {
+                // 分段已全部读完但计数未归零，以分段为准，避免消费线程反复失败
+                log.error("Spilled size mismatch, remaining spilled size: {}, reset to 0.", spilledSize);
+                spilledSize = 0;
+                break;
+            }
+            if (segment.readPosition == segment.writePosition) {
+                // 当前分段已读完，剩余任务在后续分段中
+                segments.pollFirst();
+                continue;
+            }
+            E e = readRecord(segment);
+            if (e != null) {
+                head.addLast(e);
+            }
+        }
+        // 磁盘读空后只保留最后一个分段并从头复用，避免流量在容量附近波动时反复创建映射文件
+        if (spilledSize == 0 && !segments.isEmpty()) {
+            Segment segment = segments.peekLast();
+            segments.clear();
+            segment.readPosition = 0;
+            segment.writePosition = 0;
+            segment.recordCount = 0;
+            segments.addLast(segment);
+        }
+    }
+
+    private boolean spill(E e) {
+        int codecIndex = findCodec(e);
+        if (codecIndex < 0) {
+            return false;
+        }
+
+        byte[] payload;
+        try {
+            payload = CODECS.get(codecIndex).encode(unwrap(e));
+        } catch (Exception ex) {
+            log.warn("Failed to encode task for spilling, task: {}", e, ex);
+            return false;
+        }
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.buffer.capacity() - segment.writePosition < recordSize) {
+            if (segments.size() >= maxSegments || recordSize > segmentSize) {
+                return false;
+            }
+            segment = createSegment();
+            if (segment == null) {
+                return false;
+            }
+            segments.addLast(segment);
+        }
+
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putInt(segment.writePosition, payload.length);
+        buffer.put(segment.writePosition + Integer.BYTES, (byte) codecIndex);
+        buffer.putLong(segment.writePosition + Integer.BYTES + Byte.BYTES, e instanceof TimedRunnable ? ((TimedRunnable) e).getEnqueueNanos() : NO_ENQUEUE_NANOS);
+        buffer.put(segment.writePosition + RECORD_HEADER_SIZE, payload);
+        segment.writePosition += recordSize;
+        segment.recordCount++;
+        spilledSize++;
+        return true;
+    }
+
+    /**
+     * 读取一条记录并移动读指针，记录一经读取即从磁盘中移除，无论解码是否成功，无法解码时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private E readRecord(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int length = buffer.getInt(segment.readPosition);
+        if (length < 0 || length > segment.writePosition - segment.readPosition - RECORD_HEADER_SIZE) {
+            // 记录头损坏时无法定位下一条记录，丢弃当前分段的剩余数据，按分段中剩余的记录数扣减计数
+            log.error("Corrupted spill record, length: {}, discard the rest {} records of segment.", length, segment.recordCount);
+            spilledSize -= segment.recordCount;
+            segment.recordCount = 0;
+            segment.readPosition = segment.writePosition;
+            return null;
+        }
+        int codecIndex = buffer.get(segment.readPosition + Integer.BYTES);
+        long enqueueNanos = buffer.getLong(segment.readPosition + Integer.BYTES + Byte.BYTES);
+        byte[] payload = new byte[length];
+        buffer.get(segment.readPosition + RECORD_HEADER_SIZE, payload);
+        segment.readPosition += RECORD_HEADER_SIZE + length;
+        segment.recordCount--;
+        spilledSize--;
+
+        Object task;
+        try {
+            task = CODECS.get(codecIndex).decode(payload);
+        } catch (Exception ex) {
+            log.error("Failed to decode spilled task, codec index: {}, discard it.", codecIndex, ex);
+            return null;
+        }
+        // 还原线程池的排队耗时包装，排队耗时包含在磁盘中等待的时间
+        if (enqueueNanos != NO_ENQUEUE_NANOS && task instanceof Runnable) {
+            return (E) new TimedRunnable((Runnable) task, enqueueNanos);
+        }
+        return (E) task;
+    }
+
+    private Segment createSegment() {
+        try {
+            Path directory = getSegmentDirectory();
+            Path path = directory.resolve("segment-" + UUID.randomUUID() + "-" + SEGMENT_SEQUENCE.incrementAndGet() + ".dat");
+            // 映射完成后关闭文件通道，文件随之删除，映射内存在分段对象被回收后释放
+            try (FileChannel channel = FileChannel.open(path,
+                    Set.of(StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.SPARSE,
+                            StandardOpenOption.DELETE_ON_CLOSE),
+                    ownerOnly("rw-------"))) {
+                return new Segment(channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            }
+        } catch (IOException ex) {
+            log.error("Failed to create spill segment in directory: {}", spillDirectory, ex);
+            return null;
+        }
+    }
+
+    /**
+     * 在溢写目录下创建当前队列独占的子目录，目录名不可预测，其他用户无法在其中创建或替换分段文件
+     */
+    private Path getSegmentDirectory() throws IOException {
+        Path directory = segmentDirectory;
+        if (directory == null) {
+            Path parent = Files.createDirectories(Paths.get(spillDirectory));
+            directory = Files.createTempDirectory(parent, "onethread-spill-", ownerOnly("rwx------"));
+            // 分段文件创建后即删除，目录在进程退出时为空
+            directory.toFile().deleteOnExit();
+            segmentDirectory = directory;
+        }
+        return directory;
+    }
+
+    /**
+     * 仅所有者可访问的文件属性，不支持 POSIX 权限的文件系统返回空数组，使用默认权限
+     */
+    private static FileAttribute<?>[] ownerOnly(String permissions) {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString(permissions))};
+    }
+
+    private int findCodec(Object e) {
+        Object task = unwrap(e);
+        for (int i = CODECS.size() - 1; i >= 0; i--) {
+            if (CODECS.get(i).supports(task)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object unwrap(Object e) {
+        return e instanceof TimedRunnable ? ((TimedRunnable) e).getDelegate() : e;
+    }
+
+    private static class Segment {
+
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int readPosition;
+
+        /**
+         * 分段中尚未读取的记录数
+         */
+        private int recordCount;
+
+        private Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * JDK 序列化编解码器，序列化时记录对象图中的所有类，反序列化时只允许这些类
+     */
+    static class JdkSerializationCodec implements SpillTaskCodec {
+
+        /**
+         * 本进程溢写时序列化过的类名，包括数组类型
+         */
+        private static final Set<String> SERIALIZED_CLASS_NAMES = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public boolean supports(Object task) {
+            return task instanceof Serializable;
+        }
+
+        @Override
+        public byte[] encode(Object task) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes) {
+                @Override
+                protected void annotateClass(Class<?> cl) {
+                    SERIALIZED_CLASS_NAMES.add(cl.getName());
+                }
+            }) {
+                out.writeObject(task);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public Object decode(byte[] bytes) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                in.setObjectInputFilter(JdkSerializationCodec::checkClass);
+                return in.readObject();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } catch (ClassNotFoundException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private static ObjectInputFilter.Status checkClass(ObjectInputFilter.FilterInfo filterInfo) {
+            Class<?> serialClass = filterInfo.serialClass();
+            if (serialClass == null) {
+                return ObjectInputFilter.Status.UNDECIDED;
+            }
+            return SERIALIZED_CLASS_NAMES.contains(serialClass.getName())
+                    ? ObjectInputFilter.Status.ALLOWED
+                    : ObjectInputFilter.Status.REJECTED;
+        }
+    }
+}
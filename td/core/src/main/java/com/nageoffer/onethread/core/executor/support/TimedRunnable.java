@@ -0,0 +1,86 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import jdk.jfr.Event;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 带时间戳的任务包装，记录任务入队与开始执行时间，用于统计排队耗时和执行耗时
+ * <p>
+ * 每个任务仅创建一个包装对象，时间戳以基本类型字段保存，不产生额外分配；开启 JFR 录制时同时携带未结束的任务事件
+ */
+public class TimedRunnable implements Runnable {
+
+    /**
+     * 原始任务
+     */
+    @Getter
+    private final Runnable delegate;
+
+    /**
+     * 任务提交到线程池的时间，单位纳秒
+     */
+    @Getter
+    private final long enqueueNanos;
+
+    /**
+     * 任务开始执行的时间，单位纳秒，仅由执行线程读写
+     */
+    @Getter
+    private long startNanos;
+
+    /**
+     * 未结束的 JFR 任务事件，排队期间为排队事件，执行期间为执行事件，对应事件未启用时为 null
+     */
+    @Getter
+    @Setter
+    private Event jfrEvent;
+
+    public TimedRunnable(Runnable delegate) {
+        this(delegate, System.nanoTime());
+    }
+
+    /**
+     * 使用已有的入队时间重建包装，用于任务从磁盘等外部存储读回时保留排队耗时
+     */
+    TimedRunnable(Runnable delegate, long enqueueNanos) {
+        this.delegate = delegate;
+        this.enqueueNanos = enqueueNanos;
+    }
+
+    /**
+     * 标记任务开始执行
+     *
+     * @return 任务排队耗时，单位纳秒
+     */
+    public long markStart() {
+        startNanos = System.nanoTime();
+        return startNanos - enqueueNanos;
+    }
+
+    /**
+     * 获取任务已执行时长
+     *
+     * @return 执行耗时，单位纳秒
+     */
+    public long elapsedSinceStart() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * 如果任务被包装过，返回原始任务
+     */
+    public static Runnable unwrap(Runnable runnable) {
+        return runnable instanceof TimedRunnable ? ((TimedRunnable) runnable).getDelegate() : runnable;
+    }
+
+    @Override
+    public void run() {
+        delegate.run();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
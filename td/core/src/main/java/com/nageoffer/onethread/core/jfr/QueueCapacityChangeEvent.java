@@ -0,0 +1,43 @@
+package com.nageoffer.onethread.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 阻塞队列容量调整事件，附带调用方的调用栈
+ */
+@Name("com.nageoffer.onethread.QueueCapacityChange")
+@Label("Queue Capacity Change")
+@Category({"OneThread", "Thread Pool"})
+@Description("Capacity of a resizable work queue was changed")
+public class QueueCapacityChangeEvent extends Event {
+
+    @Label("Queue Class")
+    public Class<?> queueClass;
+
+    @Label("Capacity Before")
+    public int capacityBefore;
+
+    @Label("Capacity After")
+    public int capacityAfter;
+
+    @Label("Queue Size")
+    public int queueSize;
+
+    /**
+     * 记录一次容量调整，事件未启用时不产生额外开销
+     */
+    public static void record(Object queue, int capacityBefore, int capacityAfter, int queueSize) {
+        QueueCapacityChangeEvent event = new QueueCapacityChangeEvent();
+        if (event.shouldCommit()) {
+            event.queueClass = queue.getClass();
+            event.capacityBefore = capacityBefore;
+            event.capacityAfter = capacityAfter;
+            event.queueSize = queueSize;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.nageoffer.onethread.core.jfr;
+
+import com.nageoffer.onethread.core.executor.support.TimedRunnable;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 任务生命周期 JFR 事件记录器
+ * <p>
+ * 排队和执行事件跨越多个方法，事件对象挂在 {@link TimedRunnable} 上传递，只有事件类型在当前录制中启用时才创建，
+ * 未开启 JFR 录制时每个任务只多一次启用状态读取。是否提交由 JFR 按事件阈值判断，只有慢任务才会写入录制文件。
+ */
+public final class TaskEventRecorder {
+
+    private static final EventType QUEUE_EVENT_TYPE = EventType.getEventType(TaskQueueEvent.class);
+    private static final EventType EXECUTE_EVENT_TYPE = EventType.getEventType(TaskExecuteEvent.class);
+    private static final EventType REJECT_EVENT_TYPE = EventType.getEventType(TaskRejectEvent.class);
+
+    private TaskEventRecorder() {
+    }
+
+    /**
+     * 任务提交时开始排队事件
+     */
+    public static void taskQueued(TimedRunnable task) {
+        if (QUEUE_EVENT_TYPE.isEnabled()) {
+            TaskQueueEvent event = new TaskQueueEvent();
+            event.begin();
+            task.setJfrEvent(event);
+        }
+    }
+
+    /**
+     * 任务开始执行时结束排队事件，并开始执行事件
+     */
+    public static void taskStarted(String threadPoolId, TimedRunnable task) {
+        Event pendingEvent = task.getJfrEvent();
+        if (pendingEvent instanceof TaskQueueEvent) {
+            TaskQueueEvent queueEvent = (TaskQueueEvent) pendingEvent;
+            queueEvent.end();
+            if (queueEvent.shouldCommit()) {
+                queueEvent.threadPoolId = threadPoolId;
+                queueEvent.taskClass = task.getDelegate().getClass();
+                queueEvent.commit();
+            }
+        }
+
+        TaskExecuteEvent executeEvent = null;
+        if (EXECUTE_EVENT_TYPE.isEnabled()) {
+            executeEvent = new TaskExecuteEvent();
+            executeEvent.begin();
+        }
+        task.setJfrEvent(executeEvent);
+    }
+
+    /**
+     * 任务执行结束时结束执行事件
+     */
+    public static void taskFinished(String threadPoolId, TimedRunnable task, Throwable thrown) {
+        Event pendingEvent = task.getJfrEvent();
+        if (pendingEvent instanceof TaskExecuteEvent) {
+            TaskExecuteEvent executeEvent = (TaskExecuteEvent) pendingEvent;
+            executeEvent.end();
+            if (executeEvent.shouldCommit()) {
+                executeEvent.threadPoolId = threadPoolId;
+                executeEvent.taskClass = task.getDelegate().getClass();
+                executeEvent.failed = thrown != null;
+                executeEvent.commit();
+            }
+            task.setJfrEvent(null);
+        }
+    }
+
+    /**
+     * 任务被拒绝时记录拒绝事件，丢弃未结束的排队事件
+     */
+    public static void taskRejected(String threadPoolId, Runnable task, ThreadPoolExecutor executor, String rejectedHandler) {
+        if (task instanceof TimedRunnable) {
+            ((TimedRunnable) task).setJfrEvent(null);
+        }
+
+        if (!REJECT_EVENT_TYPE.isEnabled()) {
+            return;
+        }
+        TaskRejectEvent event = new TaskRejectEvent();
+        if (event.shouldCommit()) {
+            BlockingQueue<Runnable> queue = executor.getQueue();
+            event.threadPoolId = threadPoolId;
+            event.taskClass = TimedRunnable.unwrap(task).getClass();
+            event.rejectedHandler = rejectedHandler;
+            event.poolSize = executor.getPoolSize();
+            event.activeCount = executor.getActiveCount();
+            event.queueSize = queue.size();
+            event.queueRemainingCapacity = queue.remainingCapacity();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.nageoffer.onethread.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 任务执行事件，从任务开始执行到执行结束
+ * <p>
+ * 默认只记录执行超过 20 毫秒的任务，可在 JFR 配置中通过 {@code com.nageoffer.onethread.TaskExecute#threshold} 调整
+ */
+@Name("com.nageoffer.onethread.TaskExecute")
+@Label("Task Execute")
+@Category({"OneThread", "Thread Pool"})
+@Description("Execution of a task in a dynamic thread pool")
+@Threshold("20 ms")
+@StackTrace(false)
+public class TaskExecuteEvent extends Event {
+
+    @Label("Thread Pool Id")
+    public String threadPoolId;
+
+    @Label("Task Class")
+    public Class<?> taskClass;
+
+    @Label("Failed")
+    @Description("Whether the task completed by throwing an exception")
+    public boolean failed;
+}
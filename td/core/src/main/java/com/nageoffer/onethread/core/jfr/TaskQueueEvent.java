@@ -0,0 +1,29 @@
+package com.nageoffer.onethread.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 任务排队事件，从提交到线程池开始到工作线程取出任务结束，由工作线程提交
+ * <p>
+ * 默认只记录排队超过 20 毫秒的任务，可在 JFR 配置中通过 {@code com.nageoffer.onethread.TaskQueue#threshold} 调整
+ */
+@Name("com.nageoffer.onethread.TaskQueue")
+@Label("Task Queue")
+@Category({"OneThread", "Thread Pool"})
+@Description("Time a task spent in the work queue of a dynamic thread pool")
+@Threshold("20 ms")
+@StackTrace(false)
+public class TaskQueueEvent extends Event {
+
+    @Label("Thread Pool Id")
+    public String threadPoolId;
+
+    @Label("Task Class")
+    public Class<?> taskClass;
+}
@@ -0,0 +1,38 @@
+package com.nageoffer.onethread.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 任务拒绝事件，在提交线程中记录，附带提交线程的调用栈
+ */
+@Name("com.nageoffer.onethread.TaskReject")
+@Label("Task Reject")
+@Category({"OneThread", "Thread Pool"})
+@Description("A task was rejected by a dynamic thread pool")
+public class TaskRejectEvent extends Event {
+
+    @Label("Thread Pool Id")
+    public String threadPoolId;
+
+    @Label("Task Class")
+    public Class<?> taskClass;
+
+    @Label("Rejected Handler")
+    public String rejectedHandler;
+
+    @Label("Pool Size")
+    public int poolSize;
+
+    @Label("Active Count")
+    public int activeCount;
+
+    @Label("Queue Size")
+    public int queueSize;
+
+    @Label("Queue Remaining Capacity")
+    public int queueRemainingCapacity;
+}
@@ -0,0 +1,61 @@
+package com.nageoffer.onethread.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 线程池配置变更事件，时长为将新配置应用到线程池的耗时，未配置的参数记为变更前的值
+ */
+@Name("com.nageoffer.onethread.ThreadPoolConfigChange")
+@Label("Thread Pool Config Change")
+@Category({"OneThread", "Thread Pool"})
+@Description("Remote configuration applied to a dynamic thread pool")
+@StackTrace(false)
+public class ThreadPoolConfigChangeEvent extends Event {
+
+    @Label("Thread Pool Id")
+    public String threadPoolId;
+
+    @Label("Core Pool Size Before")
+    public int corePoolSizeBefore;
+
+    @Label("Core Pool Size After")
+    public int corePoolSizeAfter;
+
+    @Label("Maximum Pool Size Before")
+    public int maximumPoolSizeBefore;
+
+    @Label("Maximum Pool Size After")
+    public int maximumPoolSizeAfter;
+
+    @Label("Queue Capacity Before")
+    public int queueCapacityBefore;
+
+    @Label("Queue Capacity After")
+    public int queueCapacityAfter;
+
+    @Label("Keep Alive Time Before")
+    @Timespan(Timespan.SECONDS)
+    public long keepAliveTimeBefore;
+
+    @Label("Keep Alive Time After")
+    @Timespan(Timespan.SECONDS)
+    public long keepAliveTimeAfter;
+
+    @Label("Rejected Handler Before")
+    public String rejectedHandlerBefore;
+
+    @Label("Rejected Handler After")
+    public String rejectedHandlerAfter;
+
+    @Label("Allow Core Thread Time Out Before")
+    public boolean allowCoreThreadTimeOutBefore;
+
+    @Label("Allow Core Thread Time Out After")
+    public boolean allowCoreThreadTimeOutAfter;
+}
@@ -10,8 +10,9 @@ package com.nageoffer.onethread.core.monitor;
  */
 public class DeltaWrapper {
 
-    private Long lastValue;
-    private Long currentValue;
+    private boolean initialized;
+    private long lastValue;
+    private long currentValue;
 
     /**
      * 更新最新值，并记录上一次的值，便于计算 delta
@@ -19,8 +20,9 @@ public class DeltaWrapper {
      * @param newValue 当前周期采集到的原始指标值
      */
     public synchronized void update(long newValue) {
-        this.lastValue = (this.currentValue == null) ? newValue : this.currentValue;
+        this.lastValue = initialized ? this.currentValue : newValue;
         this.currentValue = newValue;
+        this.initialized = true;
     }
 
     /**
@@ -29,9 +31,6 @@ public class DeltaWrapper {
      * @return 周期内的差值；首次为 0
      */
     public synchronized long getDelta() {
-        if (currentValue == null || lastValue == null) {
-            return 0;
-        }
         return currentValue - lastValue;
     }
 }
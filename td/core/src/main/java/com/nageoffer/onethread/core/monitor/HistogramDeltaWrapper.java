@@ -0,0 +1,37 @@
+package com.nageoffer.onethread.core.monitor;
+
+/**
+ * 用于计算耗时直方图在两个采集周期之间的分位值，避免累计数据掩盖近期的耗时变化
+ */
+public class HistogramDeltaWrapper {
+
+    private long[] lastCounts = new long[LatencyHistogram.BUCKET_COUNT];
+    private long[] currentCounts = new long[LatencyHistogram.BUCKET_COUNT];
+    private final long[] deltaCounts = new long[LatencyHistogram.BUCKET_COUNT];
+
+    /**
+     * 更新最新桶计数，并计算与上一周期的差值
+     *
+     * @param histogram 耗时直方图
+     */
+    public synchronized void update(LatencyHistogram histogram) {
+        histogram.snapshot(currentCounts);
+        for (int i = 0; i < currentCounts.length; i++) {
+            deltaCounts[i] = currentCounts[i] - lastCounts[i];
+        }
+        // 交换两个数组，采集周期内不产生新的数组分配
+        long[] swap = lastCounts;
+        lastCounts = currentCounts;
+        currentCounts = swap;
+    }
+
+    /**
+     * 获取周期内的指定分位耗时
+     *
+     * @param percentile 分位值，取值 (0, 100]
+     * @return 分位耗时，单位微秒；周期内无任务时为 0
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        return LatencyHistogram.valueAtPercentile(deltaCounts, percentile);
+    }
+}
@@ -0,0 +1,116 @@
+package com.nageoffer.onethread.core.monitor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 固定桶数的耗时直方图，参考 HdrHistogram 的对数-线性分桶方式，单位微秒
+ * <p>
+ * 每个 2 的幂区间再平均拆分为 8 个子桶，相对误差不超过 12.5%，记录时只做一次原子自增，不产生对象分配
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每个 2 的幂区间拆分的子桶位数
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 可记录的最大耗时（约 19 小时），超出部分计入最后一个桶
+     */
+    private static final int MAX_VALUE_BITS = 36;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+    /**
+     * 桶总数
+     */
+    public static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    public void record(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        buckets.incrementAndGet(bucketIndex(Math.max(0L, Math.min(micros, MAX_VALUE))));
+    }
+
+    /**
+     * 获取当前所有桶计数的拷贝
+     */
+    public long[] snapshot() {
+        return snapshot(new long[BUCKET_COUNT]);
+    }
+
+    /**
+     * 将当前所有桶计数拷贝到指定数组，供周期采集复用数组
+     *
+     * @param counts 长度不小于 {@link #BUCKET_COUNT} 的数组
+     * @return 传入的数组
+     */
+    public long[] snapshot(long[] counts) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * 获取自线程池创建以来的指定分位耗时
+     *
+     * @param percentile 分位值，取值 (0, 100]
+     * @return 分位耗时，单位微秒
+     */
+    public long valueAtPercentile(double percentile) {
+        return valueAtPercentile(snapshot(), percentile);
+    }
+
+    /**
+     * 根据桶计数计算指定分位耗时，返回所在桶的上界
+     *
+     * @param counts     桶计数
+     * @param percentile 分位值，取值 (0, 100]
+     * @return 分位耗时，单位微秒；无数据时返回 0
+     */
+    public static long valueAtPercentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0L;
+        }
+
+        long target = Math.max(1L, (long) Math.ceil(total * percentile / 100.0D));
+        long accumulated = 0;
+        for (int i = 0; i < counts.length; i++) {
+            accumulated += counts[i];
+            if (accumulated >= target) {
+                return bucketUpperBound(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,306 @@
+package com.nageoffer.onethread.core.monitor;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * 线程池指标历史，按线程池、按指标保存在预分配的基本类型环形数组中
+ * <p>
+ * 分为两级：明细级每个采集周期一个点，保留 {@code capacity} 个点；汇总级每 60 个采集周期聚合为一个点（平均值与最大值），保留 1440 个点。
+ * 以 1 秒采集间隔为例，明细保留 1 小时，汇总保留 24 小时。所有数组在创建时按 {@code maxPools} 一次性分配，
+ * 超出数量的线程池不记录历史，内存占用与线程池数量无关。
+ * <p>
+ * 槽位按采集序号而不是墙上时间定位，第 n 次采集的时间戳记为 {@code startMillis + n * resolutionMillis}，
+ * 调度延迟或时钟回拨不会使两次采集落入同一个槽位。
+ * <p>
+ * 只允许监控调度线程写入，查询可在任意线程进行：每个槽位先写指标值再以 release 语义写入槽位序号，
+ * 查询时前后两次读取序号校验，被覆盖的槽位直接跳过；汇总级当前正在聚合的点可能只包含部分数据。
+ */
+@Slf4j
+public class ThreadPoolMetricsHistory {
+
+    /**
+     * 汇总级每个点聚合的明细点数量
+     */
+    public static final int DOWNSAMPLE_FACTOR = 60;
+
+    /**
+     * 汇总级保留的点数量
+     */
+    public static final int COARSE_CAPACITY = 1440;
+
+    private static final Metric[] METRICS = Metric.values();
+    private static final int METRIC_COUNT = METRICS.length;
+    private static final int ABSENT = Integer.MIN_VALUE;
+    private static final VarHandle LONG_ARRAY = MethodHandles.arrayElementVarHandle(long[].class);
+
+    @Getter
+    private final long startMillis;
+    @Getter
+    private final long resolutionMillis;
+    @Getter
+    private final int capacity;
+    @Getter
+    private final int maxPools;
+
+    private final Map<String, Integer> poolIndexMap = new ConcurrentHashMap<>();
+
+    /**
+     * 明细级：槽位序号（采集周期序号 + 1，0 表示空槽位）与指标值
+     */
+    private final long[] fineSequences;
+    private final int[] fineValues;
+
+    /**
+     * 汇总级：槽位序号、样本数、指标累加值与最大值
+     */
+    private final long[] coarseSequences;
+    private final int[] coarseCounts;
+    private final long[] coarseSums;
+    private final int[] coarseMaxValues;
+
+    /**
+     * 计数类指标上一次的累计值，用于计算周期增量
+     */
+    private final long[] lastCounterValues;
+
+    /**
+     * @param startMillis      第 0 次采集的时间戳
+     * @param resolutionMillis 采集间隔
+     * @param capacity         明细级保留的点数量
+     * @param maxPools         最多记录的线程池数量
+     */
+    public ThreadPoolMetricsHistory(long startMillis, long resolutionMillis, int capacity, int maxPools) {
+        if (resolutionMillis <= 0 || capacity <= 0 || maxPools <= 0) {
+            throw new IllegalArgumentException("The resolution, capacity and max pools of metrics history must be positive.");
+        }
+        this.startMillis = startMillis;
+        this.resolutionMillis = resolutionMillis;
+        this.capacity = capacity;
+        this.maxPools = maxPools;
+        this.fineSequences = new long[arrayLength(maxPools, capacity, 1)];
+        this.fineValues = new int[arrayLength(maxPools, capacity, METRIC_COUNT)];
+        this.coarseSequences = new long[arrayLength(maxPools, COARSE_CAPACITY, 1)];
+        this.coarseCounts = new int[arrayLength(maxPools, COARSE_CAPACITY, METRIC_COUNT)];
+        this.coarseSums = new long[arrayLength(maxPools, COARSE_CAPACITY, METRIC_COUNT)];
+        this.coarseMaxValues = new int[arrayLength(maxPools, COARSE_CAPACITY, METRIC_COUNT)];
+        this.lastCounterValues = new long[arrayLength(maxPools, 1, METRIC_COUNT)];
+        Arrays.fill(lastCounterValues, -1L);
+    }
+
+    /**
+     * 记录一次采集结果，仅允许监控调度线程调用
+     *
+     * @param runtimeInfo 线程池运行时信息
+     * @param sequence    采集序号，从 0 开始每个采集周期加 1
+     */
+    public void record(ThreadPoolRuntimeInfo runtimeInfo, long sequence) {
+        if (sequence < 0) {
+            throw new IllegalArgumentException("The collect sequence of metrics history must not be negative.");
+        }
+        int pool = poolIndex(runtimeInfo.getThreadPoolId(), true);
+        if (pool < 0) {
+            return;
+        }
+
+        int fineSlot = pool * capacity + (int) (sequence % capacity);
+        int coarseSlot = pool * COARSE_CAPACITY + (int) ((sequence / DOWNSAMPLE_FACTOR) % COARSE_CAPACITY);
+        long coarseSequence = sequence / DOWNSAMPLE_FACTOR + 1;
+
+        // 先作废槽位再写值，查询方读到序号变化即丢弃
+        LONG_ARRAY.setRelease(fineSequences, fineSlot, 0L);
+        boolean coarseReset = coarseSequences[coarseSlot] != coarseSequence;
+        if (coarseReset) {
+            LONG_ARRAY.setRelease(coarseSequences, coarseSlot, 0L);
+        }
+        VarHandle.storeStoreFence();
+
+        for (int metric = 0; metric < METRIC_COUNT; metric++) {
+            int value = readValue(pool, METRICS[metric], runtimeInfo);
+            fineValues[fineSlot * METRIC_COUNT + metric] = value;
+
+            int coarseIndex = coarseSlot * METRIC_COUNT + metric;
+            if (coarseReset) {
+                coarseCounts[coarseIndex] = 0;
+                coarseSums[coarseIndex] = 0L;
+                coarseMaxValues[coarseIndex] = ABSENT;
+            }
+            if (value != ABSENT) {
+                coarseCounts[coarseIndex]++;
+                coarseSums[coarseIndex] += value;
+                coarseMaxValues[coarseIndex] = Math.max(coarseMaxValues[coarseIndex], value);
+            }
+        }
+
+        LONG_ARRAY.setRelease(fineSequences, fineSlot, sequence + 1);
+        LONG_ARRAY.setRelease(coarseSequences, coarseSlot, coarseSequence);
+    }
+
+    /**
+     * 查询线程池指标历史
+     *
+     * @param threadPoolId 线程池唯一标识
+     * @param coarse       是否查询汇总级
+     * @param fromMillis   起始时间戳（包含）
+     * @param toMillis     结束时间戳（包含）
+     * @return 按时间升序的指标序列，线程池未记录历史时返回 null
+     */
+    public ThreadPoolMetricsHistorySeries query(String threadPoolId, boolean coarse, long fromMillis, long toMillis) {
+        int pool = poolIndex(threadPoolId, false);
+        if (pool < 0) {
+            return null;
+        }
+
+        long resolution = coarse ? resolutionMillis * DOWNSAMPLE_FACTOR : resolutionMillis;
+        int slotCount = coarse ? COARSE_CAPACITY : capacity;
+        long[] sequences = coarse ? coarseSequences : fineSequences;
+        long toSequence = Math.floorDiv(toMillis - startMillis, resolution);
+        // 向上取整，起始时间戳之前的点不返回
+        long fromSequence = Math.max(-Math.floorDiv(startMillis - fromMillis, resolution), toSequence - slotCount + 1);
+
+        List<Long> timestamps = new ArrayList<>();
+        List<long[]> rows = new ArrayList<>();
+        int columnCount = coarse ? METRIC_COUNT * 2 : METRIC_COUNT;
+        for (long sequence = Math.max(fromSequence, 0L); sequence <= toSequence; sequence++) {
+            int slot = pool * slotCount + (int) (sequence % slotCount);
+            if ((long) LONG_ARRAY.getAcquire(sequences, slot) != sequence + 1) {
+                continue;
+            }
+            long[] row = new long[columnCount];
+            for (int metric = 0; metric < METRIC_COUNT; metric++) {
+                int index = slot * METRIC_COUNT + metric;
+                if (coarse) {
+                    int count = coarseCounts[index];
+                    row[metric] = count == 0 ? -1L : coarseSums[index] / count;
+                    row[METRIC_COUNT + metric] = count == 0 ? -1L : coarseMaxValues[index];
+                } else {
+                    int value = fineValues[index];
+                    row[metric] = value == ABSENT ? -1L : value;
+                }
+            }
+            // 读取期间槽位被覆盖，丢弃
+            VarHandle.loadLoadFence();
+            if ((long) LONG_ARRAY.getAcquire(sequences, slot) != sequence + 1) {
+                continue;
+            }
+            timestamps.add(startMillis + sequence * resolution);
+            rows.add(row);
+        }
+
+        Map<String, long[]> series = new LinkedHashMap<>();
+        for (int column = 0; column < columnCount; column++) {
+            Metric metric = METRICS[column % METRIC_COUNT];
+            String name = column < METRIC_COUNT ? metric.getName() : metric.getName() + ".max";
+            long[] values = new long[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                values[i] = rows.get(i)[column];
+            }
+            series.put(name, values);
+        }
+        return ThreadPoolMetricsHistorySeries.builder()
+                .threadPoolId(threadPoolId)
+                .resolutionMillis(resolution)
+                .timestamps(timestamps.stream().mapToLong(Long::longValue).toArray())
+                .series(series)
+                .build();
+    }
+
+    private static int arrayLength(int maxPools, int slotCount, int metricCount) {
+        try {
+            return Math.multiplyExact(Math.multiplyExact(maxPools, slotCount), metricCount);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(String.format(
+                    "Metrics history of %d pools with %d points each is too large, reduce the history capacity or max pools.", maxPools, slotCount), ex);
+        }
+    }
+
+    private int poolIndex(String threadPoolId, boolean create) {
+        Integer index = poolIndexMap.get(threadPoolId);
+        if (index != null || !create) {
+            return index == null ? -1 : index;
+        }
+        if (poolIndexMap.size() >= maxPools) {
+            return -1;
+        }
+        int newIndex = poolIndexMap.size();
+        poolIndexMap.put(threadPoolId, newIndex);
+        if (newIndex == maxPools - 1) {
+            log.warn("[ThreadPool Monitor] Metrics history reached max pools {}, further thread pools will not be recorded.", maxPools);
+        }
+        return newIndex;
+    }
+
+    private int readValue(int pool, Metric metric, ThreadPoolRuntimeInfo runtimeInfo) {
+        long value = metric.getExtractor().applyAsLong(runtimeInfo);
+        if (value < 0) {
+            return ABSENT;
+        }
+
+        if (metric.isCounter()) {
+            int counterIndex = pool * METRIC_COUNT + metric.ordinal();
+            long last = lastCounterValues[counterIndex];
+            lastCounterValues[counterIndex] = value;
+            if (last < 0) {
+                // 首次记录没有可用的增量
+                return ABSENT;
+            }
+            // 计数器被重置（如线程池被替换）时以当前值作为增量
+            value = value >= last ? value - last : value;
+        }
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 记录历史的指标
+     */
+    public enum Metric {
+
+        ACTIVE_SIZE("active.size", false, ThreadPoolRuntimeInfo::getActivePoolSize),
+
+        CURRENT_SIZE("current.size", false, ThreadPoolRuntimeInfo::getCurrentPoolSize),
+
+        QUEUE_SIZE("queue.size", false, ThreadPoolRuntimeInfo::getWorkQueueSize),
+
+        COMPLETED_TASK_COUNT("completed.task.count", true, ThreadPoolRuntimeInfo::getCompletedTaskCount),
+
+        REJECT_COUNT("reject.count", true, ThreadPoolRuntimeInfo::getRejectCount),
+
+        QUEUE_WAIT_P99("queue.wait.p99", false, info -> info.isOneThreadExecutor() ? info.getQueueWaitTimeP99() : -1L),
+
+        EXECUTE_TIME_P99("execute.time.p99", false, info -> info.isOneThreadExecutor() ? info.getExecuteTimeP99() : -1L);
+
+        /**
+         * 指标名称，与 Micrometer 指标名称一致
+         */
+        @Getter
+        private final String name;
+
+        /**
+         * 是否为累计计数，计数类指标记录每个周期的增量
+         */
+        @Getter
+        private final boolean counter;
+
+        /**
+         * 指标取值，小于 0 表示不适用于当前线程池
+         */
+        @Getter
+        private final ToLongFunction<ThreadPoolRuntimeInfo> extractor;
+
+        Metric(String name, boolean counter, ToLongFunction<ThreadPoolRuntimeInfo> extractor) {
+            this.name = name;
+            this.counter = counter;
+            this.extractor = extractor;
+        }
+    }
+}
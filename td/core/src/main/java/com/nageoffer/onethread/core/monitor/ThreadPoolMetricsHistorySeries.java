@@ -0,0 +1,38 @@
+package com.nageoffer.onethread.core.monitor;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 线程池指标历史查询结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThreadPoolMetricsHistorySeries {
+
+    /**
+     * 线程池唯一标识
+     */
+    private String threadPoolId;
+
+    /**
+     * 相邻两点的时间间隔，单位毫秒
+     */
+    private Long resolutionMillis;
+
+    /**
+     * 各点时间戳，按时间升序
+     */
+    private long[] timestamps;
+
+    /**
+     * 指标名称到指标值序列的映射，与 {@link #timestamps} 一一对应，-1 表示无数据；汇总级的最大值序列以 .max 结尾
+     */
+    private Map<String, long[]> series;
+}
@@ -1,39 +1,48 @@
 package com.nageoffer.onethread.core.monitor;
 
-import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollectionUtil;
-import com.alibaba.fastjson2.JSON;
 import com.nageoffer.onethread.core.config.ApplicationProperties;
 import com.nageoffer.onethread.core.config.BootstrapConfigProperties;
 import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadForkJoinPool;
 import com.nageoffer.onethread.core.executor.OneThreadRegistry;
 import com.nageoffer.onethread.core.executor.ThreadPoolExecutorHolder;
+import com.nageoffer.onethread.core.executor.support.KeyedTaskDispatcher;
 import com.nageoffer.onethread.core.toolkit.ThreadFactoryBuilder;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolRunStateProbe;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 线程池运行时监控器
+ * <p>
+ * 每个线程池复用一个 {@link ThreadPoolRuntimeInfo} 实例，采集时原地写入，Gauge 直接读取基本类型字段，
+ * 日志模式通过 {@link ThreadPoolRuntimeInfoJsonWriter} 写入复用的缓冲区，线程池数量较多时采集周期也几乎不产生垃圾对象。
  */
 @Slf4j
 public class ThreadPoolMonitor {
 
     private ScheduledExecutorService scheduler;
-    private Map<String, ThreadPoolRuntimeInfo> micrometerMonitorCache;
-    private Map<String, DeltaWrapper> rejectCountDeltaMap;
-    private Map<String, DeltaWrapper> completedTaskDeltaMap;
+    private ThreadPoolThreadSampler threadSampler;
+    private ThreadPoolMetricsHistory metricsHistory;
+    private long collectSequence;
+    private ThreadPoolPrometheusExporter prometheusExporter;
+    private Map<String, PoolMetrics> poolMetricsMap;
+    private final ThreadPoolRuntimeInfoJsonWriter jsonWriter = new ThreadPoolRuntimeInfoJsonWriter();
 
     private static final String METRIC_NAME_PREFIX = "dynamic.thread-pool";
     private static final String DYNAMIC_THREAD_POOL_ID_TAG = METRIC_NAME_PREFIX + ".id";
@@ -49,9 +58,7 @@ public class ThreadPoolMonitor {
         }
 
         // 初始化监控相关资源
-        micrometerMonitorCache = new ConcurrentHashMap<>();
-        rejectCountDeltaMap = new ConcurrentHashMap<>();
-        completedTaskDeltaMap = new ConcurrentHashMap<>();
+        poolMetricsMap = new ConcurrentHashMap<>();
         scheduler = Executors.newScheduledThreadPool(
                 1,
                 ThreadFactoryBuilder.builder()
@@ -59,17 +66,53 @@ public class ThreadPoolMonitor {
                         .build()
         );
 
-        // 每指定时间检查一次，初始延迟0秒
-        scheduler.scheduleWithFixedDelay(() -> {
+        // 线程状态采样与指标采集在同一个调度线程中执行，采样器无需加锁
+        if (monitorConfig.getThreadSampleInterval() != null && monitorConfig.getThreadSampleInterval() > 0) {
+            threadSampler = new ThreadPoolThreadSampler();
+            scheduler.scheduleWithFixedDelay(threadSampler::sampleStates, 0, monitorConfig.getThreadSampleInterval(), TimeUnit.MILLISECONDS);
+        }
+
+        // 指标历史按采集周期记录，内存在启动时一次性分配
+        if (monitorConfig.getHistoryCapacity() != null && monitorConfig.getHistoryCapacity() > 0) {
+            metricsHistory = new ThreadPoolMetricsHistory(
+                    System.currentTimeMillis(),
+                    TimeUnit.SECONDS.toMillis(monitorConfig.getCollectInterval()),
+                    monitorConfig.getHistoryCapacity(),
+                    Optional.ofNullable(monitorConfig.getHistoryMaxPools()).orElse(16)
+            );
+            collectSequence = 0L;
+        }
+
+        // Prometheus 模式由内嵌 HTTP 服务暴露指标，不依赖 Micrometer 注册中心，未配置端口时不启动
+        if (Objects.equals(monitorConfig.getCollectType(), "prometheus")) {
+            if (monitorConfig.getPrometheusPort() == null) {
+                log.warn("[ThreadPool Monitor] Prometheus exporter disabled, configure onethread.monitor.prometheus-port to enable it.");
+            } else {
+                startPrometheusExporter(
+                        Optional.ofNullable(monitorConfig.getPrometheusHost()).orElse("127.0.0.1"),
+                        monitorConfig.getPrometheusPort()
+                );
+            }
+        }
+
+        // 每指定时间检查一次，初始延迟0秒；按固定频率调度，指标历史的采集序号与时间保持对齐
+        scheduler.scheduleAtFixedRate(() -> {
+            long sequence = collectSequence++;
             Collection<ThreadPoolExecutorHolder> holders = OneThreadRegistry.getAllHolders();
             for (ThreadPoolExecutorHolder holder : holders) {
-                ThreadPoolRuntimeInfo runtimeInfo = buildThreadPoolRuntimeInfo(holder);
+                PoolMetrics poolMetrics = poolMetricsMap.computeIfAbsent(holder.getThreadPoolId(), PoolMetrics::new);
+                collect(holder, poolMetrics);
+                if (metricsHistory != null) {
+                    metricsHistory.record(poolMetrics.runtimeInfo, sequence);
+                }
 
                 // 根据采集类型判断
                 if (Objects.equals(monitorConfig.getCollectType(), "log")) {
-                    logMonitor(runtimeInfo);
+                    logMonitor(poolMetrics.runtimeInfo);
                 } else if (Objects.equals(monitorConfig.getCollectType(), "micrometer")) {
-                    micrometerMonitor(runtimeInfo);
+                    micrometerMonitor(poolMetrics);
+                } else if (prometheusExporter != null) {
+                    prometheusExporter.register(poolMetrics.runtimeInfo);
                 }
             }
         }, 0, monitorConfig.getCollectInterval(), TimeUnit.SECONDS);
@@ -82,87 +125,248 @@ public class ThreadPoolMonitor {
         if (scheduler != null && !scheduler.isShutdown()) {
             scheduler.shutdown();
         }
+        if (prometheusExporter != null) {
+            prometheusExporter.stop();
+        }
+    }
+
+    /**
+     * 获取线程池指标历史
+     *
+     * @return 指标历史，未开启监控或指标历史时返回 null
+     */
+    public ThreadPoolMetricsHistory getMetricsHistory() {
+        return metricsHistory;
+    }
+
+    private void startPrometheusExporter(String host, int port) {
+        ThreadPoolPrometheusExporter exporter = new ThreadPoolPrometheusExporter(host, port);
+        try {
+            exporter.start();
+            prometheusExporter = exporter;
+        } catch (IOException ex) {
+            log.error("[ThreadPool Monitor] Failed to start Prometheus exporter on {}:{}.", host, port, ex);
+        }
     }
 
     private void logMonitor(ThreadPoolRuntimeInfo runtimeInfo) {
-        log.info("[ThreadPool Monitor] {} | Content: {}", runtimeInfo.getThreadPoolId(), JSON.toJSON(runtimeInfo));
+        if (log.isInfoEnabled()) {
+            log.info("[ThreadPool Monitor] {} | Content: {}", runtimeInfo.getThreadPoolId(), jsonWriter.write(runtimeInfo));
+        }
     }
 
     /**
      * 采集 Micrometer 指标
      */
-    private void micrometerMonitor(ThreadPoolRuntimeInfo runtimeInfo) {
-        String threadPoolId = runtimeInfo.getThreadPoolId();
-        ThreadPoolRuntimeInfo existingRuntimeInfo = micrometerMonitorCache.get(threadPoolId);
-
-        // 只在首次注册时绑定 Gauge
-        if (existingRuntimeInfo == null) {
-            Iterable<Tag> tags = CollectionUtil.newArrayList(
-                    Tag.of(DYNAMIC_THREAD_POOL_ID_TAG, threadPoolId),
-                    Tag.of(APPLICATION_NAME_TAG, ApplicationProperties.getApplicationName())
-            );
+    private void micrometerMonitor(PoolMetrics poolMetrics) {
+        ThreadPoolRuntimeInfo runtimeInfo = poolMetrics.runtimeInfo;
+
+        // 只在首次采集时绑定 Gauge，之后 Gauge 直接读取原地更新的运行时信息
+        if (!poolMetrics.gaugeRegistered) {
+            registerGauges(poolMetrics);
+            poolMetrics.gaugeRegistered = true;
+        }
+
+        // 每次都更新 delta 值
+        poolMetrics.completedTaskDelta.update(runtimeInfo.getCompletedTaskCount());
+        poolMetrics.rejectCountDelta.update(runtimeInfo.getRejectCount());
+        poolMetrics.blockedTimeDelta.update(runtimeInfo.getBlockedTime());
+        poolMetrics.delegatedCountDelta.update(runtimeInfo.getDelegatedCount());
+    }
 
-            ThreadPoolRuntimeInfo registerRuntimeInfo = BeanUtil.toBean(runtimeInfo, ThreadPoolRuntimeInfo.class);
-            micrometerMonitorCache.put(threadPoolId, registerRuntimeInfo);
+    private void registerGauges(PoolMetrics poolMetrics) {
+        ThreadPoolRuntimeInfo runtimeInfo = poolMetrics.runtimeInfo;
+        Iterable<Tag> tags = CollectionUtil.newArrayList(
+                Tag.of(DYNAMIC_THREAD_POOL_ID_TAG, runtimeInfo.getThreadPoolId()),
+                Tag.of(APPLICATION_NAME_TAG, ApplicationProperties.getApplicationName())
+        );
+
+        // 注册总量指标
+        Metrics.gauge(metricName("core.size"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getCorePoolSize);
+        Metrics.gauge(metricName("maximum.size"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getMaximumPoolSize);
+        Metrics.gauge(metricName("current.size"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getCurrentPoolSize);
+        Metrics.gauge(metricName("largest.size"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getLargestPoolSize);
+        Metrics.gauge(metricName("run.state"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getRunState);
+        Metrics.gauge(metricName("active.size"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getActivePoolSize);
+        Metrics.gauge(metricName("queue.size"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getWorkQueueSize);
+        Metrics.gauge(metricName("queue.capacity"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getWorkQueueCapacity);
+        Metrics.gauge(metricName("queue.remaining.capacity"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getWorkQueueRemainingCapacity);
 
-            // 注册总量指标
-            Metrics.gauge(metricName("core.size"), tags, registerRuntimeInfo, ThreadPoolRuntimeInfo::getCorePoolSize);
-            Metrics.gauge(metricName("maximum.size"), tags, registerRuntimeInfo, ThreadPoolRuntimeInfo::getMaximumPoolSize);
-            Metrics.gauge(metricName("current.size"), tags, registerRuntimeInfo, ThreadPoolRuntimeInfo::getCurrentPoolSize);
-            Metrics.gauge(metricName("largest.size"), tags, registerRuntimeInfo, ThreadPoolRuntimeInfo::getLargestPoolSize);
-            Metrics.gauge(metricName("active.size"), tags, registerRuntimeInfo, ThreadPoolRuntimeInfo::getActivePoolSize);
-            Metrics.gauge(metricName("queue.size"), tags, registerRuntimeInfo, ThreadPoolRuntimeInfo::getWorkQueueSize);
-            Metrics.gauge(metricName("queue.capacity"), tags, registerRuntimeInfo, ThreadPoolRuntimeInfo::getWorkQueueCapacity);
-            Metrics.gauge(metricName("queue.remaining.capacity"), tags, registerRuntimeInfo, ThreadPoolRuntimeInfo::getWorkQueueRemainingCapacity);
+        if (runtimeInfo.isOneThreadExecutor()) {
+            // 注册耗时分位指标（采集周期内，单位微秒）
+            Metrics.gauge(metricName("queue.wait.p50"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getQueueWaitTimeP50);
+            Metrics.gauge(metricName("queue.wait.p99"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getQueueWaitTimeP99);
+            Metrics.gauge(metricName("queue.wait.p999"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getQueueWaitTimeP999);
+            Metrics.gauge(metricName("execute.time.p50"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getExecuteTimeP50);
+            Metrics.gauge(metricName("execute.time.p99"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getExecuteTimeP99);
+            Metrics.gauge(metricName("execute.time.p999"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getExecuteTimeP999);
 
-            // 注册 delta 指标
-            DeltaWrapper completedDelta = new DeltaWrapper();
-            completedTaskDeltaMap.put(threadPoolId, completedDelta);
-            Metrics.gauge(metricName("completed.task.count"), tags, completedDelta, DeltaWrapper::getDelta);
+            // 注册按 Key 串行执行积压指标
+            Metrics.gauge(metricName("keyed.active.keys"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getKeyedActiveKeyCount);
+            Metrics.gauge(metricName("keyed.backlog"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getKeyedBacklog);
+            Metrics.gauge(metricName("keyed.max.key.backlog"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getKeyedMaxKeyBacklog);
 
-            DeltaWrapper rejectDelta = new DeltaWrapper();
-            rejectCountDeltaMap.put(threadPoolId, rejectDelta);
-            Metrics.gauge(metricName("reject.count"), tags, rejectDelta, DeltaWrapper::getDelta);
-        } else {
-            // 更新属性（避免重新注册 Gauge）
-            BeanUtil.copyProperties(runtimeInfo, existingRuntimeInfo);
+            // 注册限时阻塞提交指标，阻塞耗时为采集周期内的增量
+            Metrics.gauge(metricName("blocked.producer.count"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getBlockedProducerCount);
+            Metrics.gauge(metricName("blocked.time"), tags, poolMetrics.blockedTimeDelta, DeltaWrapper::getDelta);
+
+            // 注册借用线程池转交次数指标，与拒绝次数分开统计
+            Metrics.gauge(metricName("delegated.count"), tags, poolMetrics.delegatedCountDelta, DeltaWrapper::getDelta);
         }
 
-        // 每次都更新 delta 值
-        completedTaskDeltaMap.get(threadPoolId).update(runtimeInfo.getCompletedTaskCount());
-        rejectCountDeltaMap.get(threadPoolId).update(runtimeInfo.getRejectCount());
+        // 注册工作线程 CPU 利用率与线程状态占比指标，仅 OneThreadExecutor 且开启线程采样时支持
+        if (runtimeInfo.isThreadSampled()) {
+            Metrics.gauge(metricName("thread.cpu.utilization"), tags, runtimeInfo, info -> Math.max(info.getCpuUtilizationPerThread(), 0));
+            Metrics.gauge(metricName("thread.runnable.ratio"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getRunnableRatio);
+            Metrics.gauge(metricName("thread.blocked.ratio"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getBlockedRatio);
+            Metrics.gauge(metricName("thread.waiting.ratio"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getWaitingRatio);
+        }
+
+        // 注册工作窃取指标，仅 ForkJoinPool 支持
+        if (runtimeInfo.isForkJoinPool()) {
+            Metrics.gauge(metricName("steal.count"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getStealCount);
+            Metrics.gauge(metricName("queued.submission.count"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getQueuedSubmissionCount);
+            Metrics.gauge(metricName("queued.task.count"), tags, runtimeInfo, ThreadPoolRuntimeInfo::getQueuedTaskCount);
+        }
+
+        // 注册 delta 指标
+        Metrics.gauge(metricName("completed.task.count"), tags, poolMetrics.completedTaskDelta, DeltaWrapper::getDelta);
+        Metrics.gauge(metricName("reject.count"), tags, poolMetrics.rejectCountDelta, DeltaWrapper::getDelta);
     }
 
     private String metricName(String name) {
         return String.join(".", METRIC_NAME_PREFIX, name);
     }
 
-    @SneakyThrows
-    private ThreadPoolRuntimeInfo buildThreadPoolRuntimeInfo(ThreadPoolExecutorHolder holder) {
+    private void collect(ThreadPoolExecutorHolder holder, PoolMetrics poolMetrics) {
+        if (holder.isForkJoinPool()) {
+            collectForkJoinPool(holder, poolMetrics.runtimeInfo);
+            return;
+        }
+
         ThreadPoolExecutor executor = holder.getExecutor();
         BlockingQueue<?> queue = executor.getQueue();
-
-        long rejectCount = -1L;
-        if (executor instanceof OneThreadExecutor) {
-            rejectCount = ((OneThreadExecutor) executor).getRejectCount().get();
-        }
+        ThreadPoolRuntimeInfo runtimeInfo = poolMetrics.runtimeInfo;
+        boolean oneThreadExecutor = executor instanceof OneThreadExecutor;
 
         int workQueueSize = queue.size();
         int remainingCapacity = queue.remainingCapacity();
-        return ThreadPoolRuntimeInfo.builder()
-                .threadPoolId(holder.getThreadPoolId())
-                .corePoolSize(executor.getCorePoolSize())
-                .maximumPoolSize(executor.getMaximumPoolSize())
-                .activePoolSize(executor.getActiveCount())  // API 有锁，避免高频率调用
-                .currentPoolSize(executor.getPoolSize())  // API 有锁，避免高频率调用
-                .completedTaskCount(executor.getCompletedTaskCount())  // API 有锁，避免高频率调用
-                .largestPoolSize(executor.getLargestPoolSize())  // API 有锁，避免高频率调用
-                .workQueueName(queue.getClass().getSimpleName())
-                .workQueueSize(workQueueSize)
-                .workQueueRemainingCapacity(remainingCapacity)
-                .workQueueCapacity(workQueueSize + remainingCapacity)
-                .rejectedHandlerName(executor.getRejectedExecutionHandler().toString())
-                .rejectCount(rejectCount)
-                .build();
+        runtimeInfo.setCorePoolSize(executor.getCorePoolSize());
+        runtimeInfo.setMaximumPoolSize(executor.getMaximumPoolSize());
+        runtimeInfo.setActivePoolSize(executor.getActiveCount());  // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+        runtimeInfo.setCurrentPoolSize(executor.getPoolSize());  // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+        runtimeInfo.setCompletedTaskCount(executor.getCompletedTaskCount());  // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+        runtimeInfo.setLargestPoolSize(executor.getLargestPoolSize());  // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+        runtimeInfo.setWorkQueueSize(workQueueSize);
+        runtimeInfo.setWorkQueueRemainingCapacity(remainingCapacity);
+        runtimeInfo.setWorkQueueCapacity(workQueueSize + remainingCapacity);
+        runtimeInfo.setRejectCount(oneThreadExecutor ? ((OneThreadExecutor) executor).getRejectCount() : -1L);
+        runtimeInfo.setRunState(ThreadPoolRunStateProbe.probe(executor).getCode());
+        runtimeInfo.setOneThreadExecutor(oneThreadExecutor);
+        runtimeInfo.setForkJoinPool(false);
+        runtimeInfo.setThreadSampled(false);
+
+        // 队列和拒绝策略只在被替换时重新生成名称，避免每个周期拼接字符串
+        if (poolMetrics.workQueue != queue) {
+            poolMetrics.workQueue = queue;
+            runtimeInfo.setWorkQueueName(queue.getClass().getSimpleName());
+        }
+        RejectedExecutionHandler rejectedHandler = executor.getRejectedExecutionHandler();
+        if (poolMetrics.rejectedHandler != rejectedHandler) {
+            poolMetrics.rejectedHandler = rejectedHandler;
+            runtimeInfo.setRejectedHandlerName(rejectedHandler.toString());
+        }
+
+        if (oneThreadExecutor) {
+            OneThreadExecutor oneThreadPool = (OneThreadExecutor) executor;
+            fillLatencyPercentiles(poolMetrics, oneThreadPool);
+            fillKeyedBacklog(runtimeInfo, oneThreadPool);
+            runtimeInfo.setBlockedProducerCount((int) oneThreadPool.getBlockedProducerCount().sum());
+            runtimeInfo.setBlockedTime(TimeUnit.NANOSECONDS.toMillis(oneThreadPool.getBlockedTimeNanos().sum()));
+            runtimeInfo.setDelegatedCount(oneThreadPool.getDelegatedCount().sum());
+            if (threadSampler != null) {
+                threadSampler.fill(runtimeInfo, oneThreadPool);
+            }
+        }
+    }
+
+    /**
+     * ForkJoinPool 没有阻塞队列和拒绝策略，队列指标取外部提交积压数，容量取配置的队列容量
+     */
+    private void collectForkJoinPool(ThreadPoolExecutorHolder holder, ThreadPoolRuntimeInfo runtimeInfo) {
+        OneThreadForkJoinPool forkJoinPool = holder.getForkJoinPool();
+        forkJoinPool.pruneRetiredPools();
+        long queuedSubmissionCount = forkJoinPool.getQueuedSubmissionCount();
+        int workQueueSize = (int) Math.min(queuedSubmissionCount, Integer.MAX_VALUE);
+        Integer capacity = holder.getExecutorProperties().getQueueCapacity();
+
+        runtimeInfo.setCorePoolSize(forkJoinPool.getParallelism());
+        runtimeInfo.setMaximumPoolSize(forkJoinPool.getMaximumPoolSize());
+        runtimeInfo.setActivePoolSize(forkJoinPool.getActiveThreadCount());
+        runtimeInfo.setCurrentPoolSize(forkJoinPool.getPoolSize());
+        runtimeInfo.setCompletedTaskCount(-1L);
+        runtimeInfo.setLargestPoolSize(-1);
+        runtimeInfo.setWorkQueueName("ForkJoinPool");
+        runtimeInfo.setWorkQueueSize(workQueueSize);
+        runtimeInfo.setWorkQueueRemainingCapacity(capacity == null ? -1 : Math.max(capacity - workQueueSize, 0));
+        runtimeInfo.setWorkQueueCapacity(capacity == null ? -1 : capacity);
+        runtimeInfo.setRejectedHandlerName("-");
+        runtimeInfo.setRejectCount(-1L);
+        runtimeInfo.setRunState(ThreadPoolRunStateProbe.probe(forkJoinPool).getCode());
+        runtimeInfo.setStealCount(forkJoinPool.getStealCount());
+        runtimeInfo.setQueuedSubmissionCount(queuedSubmissionCount);
+        runtimeInfo.setQueuedTaskCount(forkJoinPool.getQueuedTaskCount());
+        runtimeInfo.setOneThreadExecutor(false);
+        runtimeInfo.setForkJoinPool(true);
+        runtimeInfo.setThreadSampled(false);
+    }
+
+    /**
+     * 计算采集周期内的排队耗时和执行耗时分位值
+     */
+    private void fillLatencyPercentiles(PoolMetrics poolMetrics, OneThreadExecutor executor) {
+        ThreadPoolRuntimeInfo runtimeInfo = poolMetrics.runtimeInfo;
+        HistogramDeltaWrapper queueWaitDelta = poolMetrics.queueWaitHistogramDelta;
+        HistogramDeltaWrapper executeTimeDelta = poolMetrics.executeTimeHistogramDelta;
+        queueWaitDelta.update(executor.getQueueWaitHistogram());
+        executeTimeDelta.update(executor.getExecuteTimeHistogram());
+
+        runtimeInfo.setQueueWaitTimeP50(queueWaitDelta.getValueAtPercentile(50D));
+        runtimeInfo.setQueueWaitTimeP99(queueWaitDelta.getValueAtPercentile(99D));
+        runtimeInfo.setQueueWaitTimeP999(queueWaitDelta.getValueAtPercentile(99.9D));
+        runtimeInfo.setExecuteTimeP50(executeTimeDelta.getValueAtPercentile(50D));
+        runtimeInfo.setExecuteTimeP99(executeTimeDelta.getValueAtPercentile(99D));
+        runtimeInfo.setExecuteTimeP999(executeTimeDelta.getValueAtPercentile(99.9D));
+    }
+
+    /**
+     * 采集按 Key 串行执行的积压情况
+     */
+    private void fillKeyedBacklog(ThreadPoolRuntimeInfo runtimeInfo, OneThreadExecutor executor) {
+        KeyedTaskDispatcher keyedTaskDispatcher = executor.getKeyedTaskDispatcher();
+        runtimeInfo.setKeyedActiveKeyCount(keyedTaskDispatcher.getActiveKeyCount());
+        runtimeInfo.setKeyedBacklog(keyedTaskDispatcher.getBacklog());
+        runtimeInfo.setKeyedMaxKeyBacklog(keyedTaskDispatcher.getMaxKeyBacklog());
+    }
+
+    /**
+     * 单个线程池的采集状态，首次采集时创建，之后每个周期复用
+     */
+    private static class PoolMetrics {
+
+        private final ThreadPoolRuntimeInfo runtimeInfo = new ThreadPoolRuntimeInfo();
+        private final DeltaWrapper completedTaskDelta = new DeltaWrapper();
+        private final DeltaWrapper rejectCountDelta = new DeltaWrapper();
+        private final DeltaWrapper blockedTimeDelta = new DeltaWrapper();
+        private final DeltaWrapper delegatedCountDelta = new DeltaWrapper();
+        private final HistogramDeltaWrapper queueWaitHistogramDelta = new HistogramDeltaWrapper();
+        private final HistogramDeltaWrapper executeTimeHistogramDelta = new HistogramDeltaWrapper();
+        private BlockingQueue<?> workQueue;
+        private RejectedExecutionHandler rejectedHandler;
+        private boolean gaugeRegistered;
+
+        private PoolMetrics(String threadPoolId) {
+            runtimeInfo.setThreadPoolId(threadPoolId);
+        }
     }
 }
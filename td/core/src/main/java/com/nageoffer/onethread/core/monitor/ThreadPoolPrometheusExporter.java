@@ -0,0 +1,248 @@
+package com.nageoffer.onethread.core.monitor;
+
+import com.nageoffer.onethread.core.config.ApplicationProperties;
+import com.nageoffer.onethread.core.toolkit.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 线程池指标 Prometheus 文本格式导出器，不依赖 Micrometer
+ * <p>
+ * 通过内嵌的 {@link HttpServer} 在 {@code /metrics} 暴露指标，抓取时直接读取监控器原地更新的 {@link ThreadPoolRuntimeInfo}，
+ * 渲染到复用的字节缓冲区，数字直接写入字节，标签按线程池编码一次后缓存。指标名称与 Micrometer 模式经 Prometheus 命名转换后一致，
+ * 区别是计数类指标直接暴露累计值（{@code _total}），由 Prometheus 计算速率。
+ * <p>
+ * 抓取请求由单个线程串行处理，缓冲区无需加锁。HTTP 服务没有认证，默认只监听本机回环地址，
+ * 需要跨机器抓取时显式配置监听地址并通过网络策略限制访问来源。
+ */
+@Slf4j
+public class ThreadPoolPrometheusExporter {
+
+    private static final String METRICS_PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String METRIC_NAME_PREFIX = "dynamic_thread_pool_";
+
+    private static final Predicate<ThreadPoolRuntimeInfo> ALL = info -> true;
+    private static final Predicate<ThreadPoolRuntimeInfo> ONE_THREAD_EXECUTOR = ThreadPoolRuntimeInfo::isOneThreadExecutor;
+    private static final Predicate<ThreadPoolRuntimeInfo> THREAD_SAMPLED = ThreadPoolRuntimeInfo::isThreadSampled;
+    private static final Predicate<ThreadPoolRuntimeInfo> FORK_JOIN_POOL = ThreadPoolRuntimeInfo::isForkJoinPool;
+
+    private static final MetricFamily[] METRIC_FAMILIES = {
+            new MetricFamily("core_size", "gauge", "Core pool size", ALL, ThreadPoolRuntimeInfo::getCorePoolSize),
+            new MetricFamily("maximum_size", "gauge", "Maximum pool size", ALL, ThreadPoolRuntimeInfo::getMaximumPoolSize),
+            new MetricFamily("current_size", "gauge", "Current pool size", ALL, ThreadPoolRuntimeInfo::getCurrentPoolSize),
+            new MetricFamily("largest_size", "gauge", "Largest pool size", ALL, ThreadPoolRuntimeInfo::getLargestPoolSize),
+            new MetricFamily("run_state", "gauge", "Run state, 0 running, 1 shutdown, 2 stop, 3 tidying, 4 terminated", ALL, ThreadPoolRuntimeInfo::getRunState),
+            new MetricFamily("active_size", "gauge", "Active thread count", ALL, ThreadPoolRuntimeInfo::getActivePoolSize),
+            new MetricFamily("queue_size", "gauge", "Work queue size", ALL, ThreadPoolRuntimeInfo::getWorkQueueSize),
+            new MetricFamily("queue_capacity", "gauge", "Work queue capacity", ALL, ThreadPoolRuntimeInfo::getWorkQueueCapacity),
+            new MetricFamily("queue_remaining_capacity", "gauge", "Work queue remaining capacity", ALL, ThreadPoolRuntimeInfo::getWorkQueueRemainingCapacity),
+            new MetricFamily("completed_task_count_total", "counter", "Completed task count", ALL, ThreadPoolRuntimeInfo::getCompletedTaskCount),
+            new MetricFamily("reject_count_total", "counter", "Rejected task count", ALL, ThreadPoolRuntimeInfo::getRejectCount),
+            new MetricFamily("queue_wait_p50", "gauge", "Queue wait time p50 within the last collect interval in microseconds", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getQueueWaitTimeP50),
+            new MetricFamily("queue_wait_p99", "gauge", "Queue wait time p99 within the last collect interval in microseconds", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getQueueWaitTimeP99),
+            new MetricFamily("queue_wait_p999", "gauge", "Queue wait time p99.9 within the last collect interval in microseconds", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getQueueWaitTimeP999),
+            new MetricFamily("execute_time_p50", "gauge", "Execute time p50 within the last collect interval in microseconds", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getExecuteTimeP50),
+            new MetricFamily("execute_time_p99", "gauge", "Execute time p99 within the last collect interval in microseconds", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getExecuteTimeP99),
+            new MetricFamily("execute_time_p999", "gauge", "Execute time p99.9 within the last collect interval in microseconds", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getExecuteTimeP999),
+            new MetricFamily("keyed_active_keys", "gauge", "Keys with pending or running tasks", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getKeyedActiveKeyCount),
+            new MetricFamily("keyed_backlog", "gauge", "Pending keyed tasks", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getKeyedBacklog),
+            new MetricFamily("keyed_max_key_backlog", "gauge", "Pending tasks of the most backlogged key", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getKeyedMaxKeyBacklog),
+            new MetricFamily("blocked_producer_count", "gauge", "Producers blocked on submit", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getBlockedProducerCount),
+            new MetricFamily("blocked_time_total", "counter", "Producer blocked time in milliseconds", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getBlockedTime),
+            new MetricFamily("delegated_count_total", "counter", "Tasks delegated to the borrowed thread pool", ONE_THREAD_EXECUTOR, ThreadPoolRuntimeInfo::getDelegatedCount),
+            new MetricFamily("thread_cpu_utilization", "gauge", "Average worker CPU utilization in percent", THREAD_SAMPLED, ThreadPoolRuntimeInfo::getCpuUtilizationPerThread),
+            new MetricFamily("thread_runnable_ratio", "gauge", "Sampled RUNNABLE worker ratio in percent", THREAD_SAMPLED, ThreadPoolRuntimeInfo::getRunnableRatio),
+            new MetricFamily("thread_blocked_ratio", "gauge", "Sampled BLOCKED worker ratio in percent", THREAD_SAMPLED, ThreadPoolRuntimeInfo::getBlockedRatio),
+            new MetricFamily("thread_waiting_ratio", "gauge", "Sampled WAITING worker ratio in percent", THREAD_SAMPLED, ThreadPoolRuntimeInfo::getWaitingRatio),
+            new MetricFamily("steal_count_total", "counter", "Work stealing count", FORK_JOIN_POOL, ThreadPoolRuntimeInfo::getStealCount),
+            new MetricFamily("queued_submission_count", "gauge", "Queued external submissions", FORK_JOIN_POOL, ThreadPoolRuntimeInfo::getQueuedSubmissionCount),
+            new MetricFamily("queued_task_count", "gauge", "Queued tasks in worker queues", FORK_JOIN_POOL, ThreadPoolRuntimeInfo::getQueuedTaskCount)
+    };
+
+    private final String host;
+    private final int port;
+    private final Map<String, ThreadPoolRuntimeInfo> runtimeInfoMap = new ConcurrentHashMap<>();
+
+    /**
+     * 以下字段仅由抓取线程访问
+     */
+    private final Map<String, byte[]> labelsCache = new HashMap<>();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+    private final byte[] digits = new byte[20];
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    /**
+     * @param host 监听地址
+     * @param port 监听端口，为 0 时使用随机端口
+     */
+    public ThreadPoolPrometheusExporter(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * 启动内嵌 HTTP 服务
+     */
+    public void start() throws IOException {
+        serverExecutor = Executors.newSingleThreadExecutor(
+                ThreadFactoryBuilder.builder()
+                        .namePrefix("onethread_prometheus_exporter")
+                        .daemon(true)
+                        .build()
+        );
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext(METRICS_PATH, this::handle);
+        server.setExecutor(serverExecutor);
+        server.start();
+        log.info("[ThreadPool Monitor] Prometheus exporter started on {}, path {}.", server.getAddress(), METRICS_PATH);
+    }
+
+    /**
+     * 获取内嵌 HTTP 服务实际监听的地址
+     *
+     * @return 监听地址，未启动时返回 null
+     */
+    public InetSocketAddress getAddress() {
+        return server == null ? null : server.getAddress();
+    }
+
+    /**
+     * 停止内嵌 HTTP 服务
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (serverExecutor != null) {
+            serverExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 注册线程池运行时信息，抓取时直接读取该实例
+     *
+     * @param runtimeInfo 由监控器原地更新的线程池运行时信息
+     */
+    public void register(ThreadPoolRuntimeInfo runtimeInfo) {
+        runtimeInfoMap.putIfAbsent(runtimeInfo.getThreadPoolId(), runtimeInfo);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            buffer.reset();
+            render();
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, buffer.size());
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                buffer.writeTo(outputStream);
+            }
+        } catch (Throwable ex) {
+            log.error("[ThreadPool Monitor] Prometheus exporter render error.", ex);
+            throw ex;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 按指标族分组输出，同一指标族的所有线程池样本连续输出，不适用或不可用（小于 0）的值跳过
+     */
+    void render() {
+        for (MetricFamily family : METRIC_FAMILIES) {
+            boolean headerWritten = false;
+            for (ThreadPoolRuntimeInfo runtimeInfo : runtimeInfoMap.values()) {
+                if (!family.applicable.test(runtimeInfo)) {
+                    continue;
+                }
+                long value = family.extractor.applyAsLong(runtimeInfo);
+                if (value < 0) {
+                    continue;
+                }
+                if (!headerWritten) {
+                    write(family.header);
+                    headerWritten = true;
+                }
+                write(family.name);
+                write(labelsCache.computeIfAbsent(runtimeInfo.getThreadPoolId(), ThreadPoolPrometheusExporter::encodeLabels));
+                buffer.write(' ');
+                writeLong(value);
+                buffer.write('\n');
+            }
+        }
+    }
+
+    ByteArrayOutputStream getBuffer() {
+        return buffer;
+    }
+
+    private void write(byte[] bytes) {
+        buffer.write(bytes, 0, bytes.length);
+    }
+
+    private void writeLong(long value) {
+        if (value == 0) {
+            buffer.write('0');
+            return;
+        }
+        int position = digits.length;
+        while (value > 0) {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        buffer.write(digits, position, digits.length - position);
+    }
+
+    private static byte[] encodeLabels(String threadPoolId) {
+        String applicationName = Optional.ofNullable(ApplicationProperties.getApplicationName()).orElse("");
+        String labels = "{dynamic_thread_pool_id=\"" + escapeLabelValue(threadPoolId)
+                + "\",application_name=\"" + escapeLabelValue(applicationName) + "\"}";
+        return labels.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * 指标族，名称与 HELP、TYPE 行在类加载时编码一次
+     */
+    private static class MetricFamily {
+
+        private final byte[] name;
+        private final byte[] header;
+        private final Predicate<ThreadPoolRuntimeInfo> applicable;
+        private final ToLongFunction<ThreadPoolRuntimeInfo> extractor;
+
+        private MetricFamily(String name, String type, String help,
+                             Predicate<ThreadPoolRuntimeInfo> applicable, ToLongFunction<ThreadPoolRuntimeInfo> extractor) {
+            String fullName = METRIC_NAME_PREFIX + name;
+            this.name = fullName.getBytes(StandardCharsets.UTF_8);
+            this.header = ("# HELP " + fullName + " " + help + "\n# TYPE " + fullName + " " + type + "\n").getBytes(StandardCharsets.UTF_8);
+            this.applicable = applicable;
+            this.extractor = extractor;
+        }
+    }
+}
@@ -7,6 +7,9 @@ import lombok.NoArgsConstructor;
 
 /**
  * 线程池运行时监控实体
+ * <p>
+ * 字段均为基本类型，监控器按线程池复用同一个实例，每个采集周期原地写入，Gauge 直接读取基本类型字段，避免装箱和对象分配。
+ * 不适用于当前线程池类型的指标由 {@link #oneThreadExecutor}、{@link #forkJoinPool}、{@link #threadSampled} 标识。
  */
 @Data
 @Builder
@@ -22,32 +25,32 @@ public class ThreadPoolRuntimeInfo {
     /**
      * 核心线程数
      */
-    private Integer corePoolSize;//线程池允许创建的最小线程数下限 ThreadPoolExecutor.getCorePoolSize() 获取
+    private int corePoolSize;//线程池允许创建的最小线程数下限 ThreadPoolExecutor.getCorePoolSize() 获取
 
     /**
      * 最大线程数
      */
-    private Integer maximumPoolSize;//线程池允许创建的最大线程数上限 ThreadPoolExecutor.getMaximumPoolSize() 获取
+    private int maximumPoolSize;//线程池允许创建的最大线程数上限 ThreadPoolExecutor.getMaximumPoolSize() 获取
 
     /**
      * 当前线程数
      */
-    private Integer currentPoolSize;//当前线程池中的线程总数 所有已创建的线程，无论是否正在执行任务 ThreadPoolExecutor.getPoolSize() 获取
+    private int currentPoolSize;//当前线程池中的线程总数 所有已创建的线程，无论是否正在执行任务 ThreadPoolExecutor.getPoolSize() 获取
 
     /**
      * 活跃线程数
      */
-    private Integer activePoolSize;//当前正在执行任务的活跃线程数 不包括: 空闲等待任务的线程 ThreadPoolExecutor.getActiveCount() 获取
+    private int activePoolSize;//当前正在执行任务的活跃线程数 不包括: 空闲等待任务的线程 ThreadPoolExecutor.getActiveCount() 获取
 
     /**
      * 最大线程数
      */
-    private Integer largestPoolSize;//线程池历史上达到的最大线程数（largestPoolSize ≤ maximumPoolSize）ThreadPoolExecutor.getLargestPoolSize() 获取
+    private int largestPoolSize;//线程池历史上达到的最大线程数（largestPoolSize ≤ maximumPoolSize）ThreadPoolExecutor.getLargestPoolSize() 获取
 
     /**
      * 线程池任务总量
      */
-    private Long completedTaskCount;//线程池已完成的任务总数 每当一个任务执行完成，该计数器就会增加 ThreadPoolExecutor.getCompletedTaskCount() 获取
+    private long completedTaskCount;//线程池已完成的任务总数 每当一个任务执行完成，该计数器就会增加 ThreadPoolExecutor.getCompletedTaskCount() 获取
 
     /**
      * 阻塞队列类型
@@ -57,17 +60,17 @@ public class ThreadPoolRuntimeInfo {
     /**
      * 队列容量
      */
-    private Integer workQueueCapacity;//阻塞队列的容量 BlockingQueue.remainingCapacity() 方法获取
+    private int workQueueCapacity;//阻塞队列的容量 BlockingQueue.remainingCapacity() 方法获取
 
     /**
      * 队列元素数量
      */
-    private Integer workQueueSize;//阻塞队列中已存储的任务数量 BlockingQueue.size() 方法获取
+    private int workQueueSize;//阻塞队列中已存储的任务数量 BlockingQueue.size() 方法获取
 
     /**
      * 队列剩余容量
      */
-    private Integer workQueueRemainingCapacity;//阻塞队列剩余容量 BlockingQueue.remainingCapacity() 方法获取
+    private int workQueueRemainingCapacity;//阻塞队列剩余容量 BlockingQueue.remainingCapacity() 方法获取
 
     /**
      * 拒绝策略
@@ -77,5 +80,120 @@ public class ThreadPoolRuntimeInfo {
     /**
      * 执行拒绝策略次数
      */
-    private Long rejectCount;
+    private long rejectCount;
+
+    /**
+     * 运行状态码，见 {@link com.nageoffer.onethread.core.toolkit.ThreadPoolRunStateProbe.RunState#getCode()}
+     */
+    private int runState;
+
+    /**
+     * 是否为 OneThreadExecutor，为 true 时耗时分位、按 Key 积压、阻塞提交与转交指标有效
+     */
+    private boolean oneThreadExecutor;
+
+    /**
+     * 是否为 ForkJoinPool，为 true 时工作窃取与积压指标有效
+     */
+    private boolean forkJoinPool;
+
+    /**
+     * 是否已采样工作线程状态，为 true 时线程 CPU 利用率与状态占比指标有效
+     */
+    private boolean threadSampled;
+
+    /**
+     * 任务排队耗时 P50，单位微秒
+     */
+    private long queueWaitTimeP50;
+
+    /**
+     * 任务排队耗时 P99，单位微秒
+     */
+    private long queueWaitTimeP99;
+
+    /**
+     * 任务排队耗时 P999，单位微秒
+     */
+    private long queueWaitTimeP999;
+
+    /**
+     * 任务执行耗时 P50，单位微秒
+     */
+    private long executeTimeP50;
+
+    /**
+     * 任务执行耗时 P99，单位微秒
+     */
+    private long executeTimeP99;
+
+    /**
+     * 任务执行耗时 P999，单位微秒
+     */
+    private long executeTimeP999;
+
+    /**
+     * 按 Key 串行执行时有积压任务的 Key 数量
+     */
+    private int keyedActiveKeyCount;
+
+    /**
+     * 按 Key 串行执行的积压任务总数
+     */
+    private long keyedBacklog;
+
+    /**
+     * 单个 Key 的最大积压任务数
+     */
+    private int keyedMaxKeyBacklog;
+
+    /**
+     * 限时阻塞提交策略下正在阻塞的提交线程数
+     */
+    private int blockedProducerCount;
+
+    /**
+     * 限时阻塞提交策略下提交线程累计阻塞耗时，单位毫秒
+     */
+    private long blockedTime;
+
+    /**
+     * 借用线程池策略下转交给其他线程池的任务数，不计入拒绝次数
+     */
+    private long delegatedCount;
+
+    /**
+     * 采集周期内工作线程平均 CPU 利用率，百分比，无法计算时为 -1
+     */
+    private int cpuUtilizationPerThread;
+
+    /**
+     * 采集周期内工作线程处于 RUNNABLE 状态的占比，百分比（阻塞在网络 IO 的线程同样为 RUNNABLE）
+     */
+    private int runnableRatio;
+
+    /**
+     * 采集周期内工作线程处于 BLOCKED 状态（等待进入 synchronized）的占比，百分比
+     */
+    private int blockedRatio;
+
+    /**
+     * 采集周期内工作线程处于 WAITING / TIMED_WAITING 状态的占比，百分比，包含空闲等待任务的线程
+     */
+    private int waitingRatio;
+
+    /**
+     * ForkJoinPool 累计任务窃取次数
+     */
+    private long stealCount;
+
+    /**
+     * ForkJoinPool 外部提交尚未被领取的任务数
+     */
+    private long queuedSubmissionCount;
+
+    /**
+     * ForkJoinPool 工作线程本地队列中的任务数（估算值）
+     */
+    private long queuedTaskCount;
 }
@@ -0,0 +1,114 @@
+package com.nageoffer.onethread.core.monitor;
+
+/**
+ * 线程池运行时信息 JSON 序列化器，按字段顺序手写输出到复用的缓冲区，不依赖反射，序列化过程不产生对象分配
+ * <p>
+ * 不适用于当前线程池类型的指标不输出，与原先基于反射序列化时忽略 null 字段的效果一致。非线程安全，每个采集线程使用独立实例。
+ */
+public class ThreadPoolRuntimeInfoJsonWriter {
+
+    private final StringBuilder buffer = new StringBuilder(1024);
+
+    /**
+     * 序列化线程池运行时信息
+     *
+     * @param runtimeInfo 线程池运行时信息
+     * @return 复用的缓冲区，下一次调用前有效
+     */
+    public CharSequence write(ThreadPoolRuntimeInfo runtimeInfo) {
+        buffer.setLength(0);
+        buffer.append('{');
+        writeString("threadPoolId", runtimeInfo.getThreadPoolId());
+        writeNumber("corePoolSize", runtimeInfo.getCorePoolSize());
+        writeNumber("maximumPoolSize", runtimeInfo.getMaximumPoolSize());
+        writeNumber("currentPoolSize", runtimeInfo.getCurrentPoolSize());
+        writeNumber("activePoolSize", runtimeInfo.getActivePoolSize());
+        writeNumber("largestPoolSize", runtimeInfo.getLargestPoolSize());
+        writeNumber("completedTaskCount", runtimeInfo.getCompletedTaskCount());
+        writeString("workQueueName", runtimeInfo.getWorkQueueName());
+        writeNumber("workQueueCapacity", runtimeInfo.getWorkQueueCapacity());
+        writeNumber("workQueueSize", runtimeInfo.getWorkQueueSize());
+        writeNumber("workQueueRemainingCapacity", runtimeInfo.getWorkQueueRemainingCapacity());
+        writeString("rejectedHandlerName", runtimeInfo.getRejectedHandlerName());
+        writeNumber("rejectCount", runtimeInfo.getRejectCount());
+        writeNumber("runState", runtimeInfo.getRunState());
+
+        if (runtimeInfo.isOneThreadExecutor()) {
+            writeNumber("queueWaitTimeP50", runtimeInfo.getQueueWaitTimeP50());
+            writeNumber("queueWaitTimeP99", runtimeInfo.getQueueWaitTimeP99());
+            writeNumber("queueWaitTimeP999", runtimeInfo.getQueueWaitTimeP999());
+            writeNumber("executeTimeP50", runtimeInfo.getExecuteTimeP50());
+            writeNumber("executeTimeP99", runtimeInfo.getExecuteTimeP99());
+            writeNumber("executeTimeP999", runtimeInfo.getExecuteTimeP999());
+            writeNumber("keyedActiveKeyCount", runtimeInfo.getKeyedActiveKeyCount());
+            writeNumber("keyedBacklog", runtimeInfo.getKeyedBacklog());
+            writeNumber("keyedMaxKeyBacklog", runtimeInfo.getKeyedMaxKeyBacklog());
+            writeNumber("blockedProducerCount", runtimeInfo.getBlockedProducerCount());
+            writeNumber("blockedTime", runtimeInfo.getBlockedTime());
+            writeNumber("delegatedCount", runtimeInfo.getDelegatedCount());
+        }
+        if (runtimeInfo.isThreadSampled()) {
+            if (runtimeInfo.getCpuUtilizationPerThread() >= 0) {
+                writeNumber("cpuUtilizationPerThread", runtimeInfo.getCpuUtilizationPerThread());
+            }
+            writeNumber("runnableRatio", runtimeInfo.getRunnableRatio());
+            writeNumber("blockedRatio", runtimeInfo.getBlockedRatio());
+            writeNumber("waitingRatio", runtimeInfo.getWaitingRatio());
+        }
+        if (runtimeInfo.isForkJoinPool()) {
+            writeNumber("stealCount", runtimeInfo.getStealCount());
+            writeNumber("queuedSubmissionCount", runtimeInfo.getQueuedSubmissionCount());
+            writeNumber("queuedTaskCount", runtimeInfo.getQueuedTaskCount());
+        }
+        buffer.append('}');
+        return buffer;
+    }
+
+    private void writeName(String name) {
+        if (buffer.length() > 1) {
+            buffer.append(',');
+        }
+        buffer.append('"').append(name).append("\":");
+    }
+
+    private void writeNumber(String name, long value) {
+        writeName(name);
+        buffer.append(value);
+    }
+
+    private void writeString(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        writeName(name);
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    buffer.append("\\\"");
+                    break;
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        buffer.append("\\u00");
+                        buffer.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        buffer.append(c);
+                    }
+            }
+        }
+        buffer.append('"');
+    }
+}
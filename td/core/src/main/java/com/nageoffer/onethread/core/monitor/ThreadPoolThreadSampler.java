@@ -0,0 +1,162 @@
+package com.nageoffer.onethread.core.monitor;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadRegistry;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorHolder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 线程池工作线程 CPU 耗时与线程状态采样器
+ * <p>
+ * 线程状态通过高频采样 {@link Thread#getState()} 统计 RUNNABLE / BLOCKED / WAITING 占比，CPU 耗时在每个采集周期读取一次
+ * {@link ThreadMXBean#getThreadCpuTime(long)} 计算增量，两者都不触发安全点，开销与工作线程数成正比。
+ * <p>
+ * 活跃线程 CPU 利用率高说明任务是计算密集型，增加线程无益；RUNNABLE 占比高但 CPU 利用率低通常是阻塞在网络 IO，
+ * BLOCKED 占比高说明存在锁竞争，这两种情况增加线程才可能提升吞吐。WAITING 包含空闲等待任务的线程。
+ * <p>
+ * 工作线程取自 {@link OneThreadExecutor#getWorkerThreads()}，比按线程名前缀匹配更准确。非线程安全，
+ * 采样和采集需要在同一个线程中执行。
+ */
+public class ThreadPoolThreadSampler {
+
+    private final ThreadMXBean threadMXBean;
+    private final LongSupplier nanoClock;
+    private final Map<String, PoolSample> poolSampleMap = new ConcurrentHashMap<>();
+
+    public ThreadPoolThreadSampler() {
+        this(ManagementFactory.getThreadMXBean(), System::nanoTime);
+    }
+
+    /**
+     * 单元测试使用，替换 CPU 耗时来源和时钟
+     */
+    ThreadPoolThreadSampler(ThreadMXBean threadMXBean, LongSupplier nanoClock) {
+        this.threadMXBean = threadMXBean;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 对所有 OneThreadExecutor 的工作线程状态采样一次
+     */
+    public void sampleStates() {
+        for (ThreadPoolExecutorHolder holder : OneThreadRegistry.getAllHolders()) {
+            if (holder.getExecutor() instanceof OneThreadExecutor) {
+                OneThreadExecutor executor = (OneThreadExecutor) holder.getExecutor();
+                PoolSample poolSample = poolSampleMap.computeIfAbsent(holder.getThreadPoolId(), key -> new PoolSample());
+                poolSample.recordStates(executor);
+            }
+        }
+    }
+
+    /**
+     * 计算自上次采集以来的 CPU 利用率和线程状态占比，写入运行时信息并重置统计
+     *
+     * @param runtimeInfo 线程池运行时信息
+     * @param executor    线程池
+     */
+    public void fill(ThreadPoolRuntimeInfo runtimeInfo, OneThreadExecutor executor) {
+        PoolSample poolSample = poolSampleMap.computeIfAbsent(runtimeInfo.getThreadPoolId(), key -> new PoolSample());
+        if (poolSample.sampleCount == 0) {
+            // 采样周期大于采集周期时，至少采样一次当前状态
+            poolSample.recordStates(executor);
+        }
+
+        long now = nanoClock.getAsLong();
+        long cpuDeltaNanos = 0L;
+        Map<Long, Long> currentCpuTimeMap = poolSample.currentCpuTimeMap;
+        currentCpuTimeMap.clear();
+        boolean cpuTimeEnabled = threadMXBean.isThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+        if (cpuTimeEnabled) {
+            for (Thread thread : executor.getWorkerThreads()) {
+                long threadId = thread.getId();
+                long cpuTime = threadMXBean.getThreadCpuTime(threadId);
+                if (cpuTime < 0) {
+                    continue;
+                }
+                currentCpuTimeMap.put(threadId, cpuTime);
+                // 新线程以本周期内的 CPU 耗时计，已退出线程的最后一段 CPU 耗时无法获取，忽略
+                Long lastCpuTime = poolSample.lastCpuTimeMap.get(threadId);
+                cpuDeltaNanos += (lastCpuTime == null) ? cpuTime : cpuTime - lastCpuTime;
+            }
+        }
+
+        long elapsedNanos = now - poolSample.lastCollectNanos;
+        double averageThreadCount = (double) poolSample.threadSampleCount / poolSample.sampleCount;
+        runtimeInfo.setThreadSampled(true);
+        if (cpuTimeEnabled && poolSample.lastCollectNanos > 0 && elapsedNanos > 0 && averageThreadCount > 0) {
+            runtimeInfo.setCpuUtilizationPerThread(percentage(cpuDeltaNanos, elapsedNanos * averageThreadCount));
+        } else {
+            runtimeInfo.setCpuUtilizationPerThread(-1);
+        }
+        if (poolSample.threadSampleCount > 0) {
+            runtimeInfo.setRunnableRatio(percentage(poolSample.runnableCount, poolSample.threadSampleCount));
+            runtimeInfo.setBlockedRatio(percentage(poolSample.blockedCount, poolSample.threadSampleCount));
+            runtimeInfo.setWaitingRatio(percentage(poolSample.waitingCount, poolSample.threadSampleCount));
+        } else {
+            runtimeInfo.setRunnableRatio(0);
+            runtimeInfo.setBlockedRatio(0);
+            runtimeInfo.setWaitingRatio(0);
+        }
+
+        poolSample.reset(now);
+    }
+
+    static int percentage(double part, double total) {
+        return (int) Math.min(100L, Math.round(part * 100.0 / total));
+    }
+
+    /**
+     * 单个线程池在一个采集周期内的采样统计
+     */
+    private static class PoolSample {
+
+        private long sampleCount;
+        private long threadSampleCount;
+        private long runnableCount;
+        private long blockedCount;
+        private long waitingCount;
+        private long lastCollectNanos;
+        private Map<Long, Long> lastCpuTimeMap = new HashMap<>();
+        private Map<Long, Long> currentCpuTimeMap = new HashMap<>();
+
+        private void recordStates(OneThreadExecutor executor) {
+            sampleCount++;
+            for (Thread thread : executor.getWorkerThreads()) {
+                threadSampleCount++;
+                switch (thread.getState()) {
+                    case RUNNABLE:
+                        runnableCount++;
+                        break;
+                    case BLOCKED:
+                        blockedCount++;
+                        break;
+                    case WAITING:
+                    case TIMED_WAITING:
+                        waitingCount++;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        private void reset(long collectNanos) {
+            sampleCount = 0L;
+            threadSampleCount = 0L;
+            runnableCount = 0L;
+            blockedCount = 0L;
+            waitingCount = 0L;
+            lastCollectNanos = collectNanos;
+            // 交换两个 Map，下一周期清空后复用
+            Map<Long, Long> swap = lastCpuTimeMap;
+            lastCpuTimeMap = currentCpuTimeMap;
+            currentCpuTimeMap = swap;
+        }
+    }
+}
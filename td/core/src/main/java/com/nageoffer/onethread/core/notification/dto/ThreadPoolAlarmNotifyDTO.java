@@ -45,7 +45,7 @@ public class ThreadPoolAlarmNotifyDTO {
     private String receives;
 
     /**
-     * 报警类型：Capacity、Activity、Reject
+     * 报警类型：Capacity、Activity、Reject、Timeout
      */
     private String alarmType;
 
@@ -119,6 +119,11 @@ public class ThreadPoolAlarmNotifyDTO {
      */
     private Integer interval;
 
+    /**
+     * 任务执行超时详情（工作线程、执行时长及调用栈），仅 Timeout 报警有值
+     */
+    private String executeTimeoutDetail;
+
     @ToString.Exclude
     private transient Supplier<ThreadPoolAlarmNotifyDTO> supplier;
 
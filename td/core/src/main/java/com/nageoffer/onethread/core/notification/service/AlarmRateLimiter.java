@@ -22,15 +22,41 @@ public class AlarmRateLimiter {
      * @return true-允许发送，false-需要抑制
      */
     public static boolean allowAlarm(String threadPoolId, String alarmType, int intervalMinutes) {
-        String key = buildKey(threadPoolId, alarmType);//返回的是毫秒时间戳
+        return tryAcquire(threadPoolId, alarmType, intervalMinutes) != 0L;
+    }
+
+    /**
+     * 检查是否允许发送报警，允许时占用发送窗口，窗口内的后续报警被抑制
+     *
+     * @param threadPoolId    线程池ID
+     * @param alarmType       报警类型
+     * @param intervalMinutes 间隔分钟数
+     * @return 允许发送时返回占用窗口的时间戳，用于报警未送达时 {@link #release} 释放；需要抑制时返回 0
+     */
+    public static long tryAcquire(String threadPoolId, String alarmType, int intervalMinutes) {
+        String key = buildKey(threadPoolId, alarmType);
         long currentTime = System.currentTimeMillis();
+        long[] permit = new long[1];
 
-        return ALARM_RECORD.compute(key, (k, lastTime) -> {
+        ALARM_RECORD.compute(key, (k, lastTime) -> {
             if (lastTime == null || (currentTime - lastTime) > intervalMinutes * 60 * 1000L) {//5 * 60 * 1000L = 300000L 毫秒
+                permit[0] = currentTime;
                 return currentTime; // 更新时间为当前时间
             }
             return lastTime; // 保持原时间
-        }) == currentTime; // 返回值等于当前时间说明允许发送
+        });
+        return permit[0];
+    }
+
+    /**
+     * 报警被丢弃或发送失败时释放占用的窗口，下一次检查可以重新发送；窗口已被后续报警重新占用时不做处理
+     *
+     * @param threadPoolId 线程池ID
+     * @param alarmType    报警类型
+     * @param permit       {@link #tryAcquire} 返回的时间戳
+     */
+    public static void release(String threadPoolId, String alarmType, long permit) {
+        ALARM_RECORD.remove(buildKey(threadPoolId, alarmType), permit);
     }
 
     private static String buildKey(String threadPoolId, String alarmType) {
@@ -8,12 +8,16 @@ import com.nageoffer.onethread.core.notification.dto.ThreadPoolAlarmNotifyDTO;
 import com.nageoffer.onethread.core.notification.dto.ThreadPoolConfigChangeDTO;
 import com.nageoffer.onethread.core.notification.dto.WebThreadPoolConfigChangeDTO;
 import lombok.Data;
-import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static com.nageoffer.onethread.core.constant.Constants.DING_ALARM_EXECUTE_TIMEOUT_TEXT;
 import static com.nageoffer.onethread.core.constant.Constants.DING_ALARM_NOTIFY_MESSAGE_TEXT;
 import static com.nageoffer.onethread.core.constant.Constants.DING_CONFIG_CHANGE_MESSAGE_TEXT;
 import static com.nageoffer.onethread.core.constant.Constants.DING_CONFIG_WEB_CHANGE_MESSAGE_TEXT;
@@ -21,7 +25,6 @@ import static com.nageoffer.onethread.core.constant.Constants.DING_CONFIG_WEB_CH
 /**
  * 钉钉消息通知服务
  */
-@Slf4j
 public class DingTalkMessageService implements NotifierService {
 
     /**
@@ -75,6 +78,30 @@ public class DingTalkMessageService implements NotifierService {
 
     @Override
     public void sendAlarmMessage(ThreadPoolAlarmNotifyDTO alarm) {
+        List<String> atMobiles = CollectionUtil.newArrayList(alarm.getReceives().split(","));
+        sendDingTalkMarkdownMessage("线程池告警通知", buildAlarmText(alarm), atMobiles);
+    }
+
+    /**
+     * 多条告警合并为一条钉钉消息，减少机器人消息条数，避免触发钉钉发送频率限制
+     */
+    @Override
+    public void sendAlarmMessages(List<ThreadPoolAlarmNotifyDTO> alarms) {
+        if (alarms.size() == 1) {
+            sendAlarmMessage(alarms.get(0));
+            return;
+        }
+
+        Set<String> atMobiles = new LinkedHashSet<>();
+        List<String> texts = new ArrayList<>(alarms.size());
+        for (ThreadPoolAlarmNotifyDTO alarm : alarms) {
+            atMobiles.addAll(Arrays.asList(alarm.getReceives().split(",")));
+            texts.add(buildAlarmText(alarm));
+        }
+        sendDingTalkMarkdownMessage("线程池告警通知（" + alarms.size() + "条）", String.join("\n\n", texts), new ArrayList<>(atMobiles));
+    }
+
+    private String buildAlarmText(ThreadPoolAlarmNotifyDTO alarm) {
         String text = String.format(
                 DING_ALARM_NOTIFY_MESSAGE_TEXT,
                 alarm.getActiveProfile().toUpperCase(),
@@ -97,9 +124,10 @@ public class DingTalkMessageService implements NotifierService {
                 alarm.getInterval(),
                 alarm.getCurrentTime()
         );
-
-        List<String> atMobiles = CollectionUtil.newArrayList(alarm.getReceives().split(","));
-        sendDingTalkMarkdownMessage("线程池告警通知", text, atMobiles);
+        if (alarm.getExecuteTimeoutDetail() != null) {
+            text += String.format(DING_ALARM_EXECUTE_TIMEOUT_TEXT, alarm.getExecuteTimeoutDetail());
+        }
+        return text;
     }
 
     /**
@@ -118,15 +146,12 @@ public class DingTalkMessageService implements NotifierService {
         request.put("markdown", markdown);
         request.put("at", at);
 
-        try {
-            String serverUrl = BootstrapConfigProperties.getInstance().getNotifyPlatforms().getUrl();
-            String responseBody = HttpUtil.post(serverUrl, JSON.toJSONString(request));
-            DingRobotResponse response = JSON.parseObject(responseBody, DingRobotResponse.class);
-            if (response.getErrcode() != 0) {
-                log.error("Ding failed to send message, reason: {}", response.errmsg);
-            }
-        } catch (Exception ex) {
-            log.error("Ding failed to send message.", ex);
+        // 发送失败抛出异常，由 NotifierDispatcher 负责重试
+        String serverUrl = BootstrapConfigProperties.getInstance().getNotifyPlatforms().getUrl();
+        String responseBody = HttpUtil.post(serverUrl, JSON.toJSONString(request));
+        DingRobotResponse response = JSON.parseObject(responseBody, DingRobotResponse.class);
+        if (response == null || response.getErrcode() == null || response.getErrcode() != 0) {
+            throw new IllegalStateException("Ding failed to send message, reason: " + (response != null ? response.getErrmsg() : responseBody));
         }
     }
 
@@ -4,10 +4,20 @@ import com.nageoffer.onethread.core.config.BootstrapConfigProperties;
 import com.nageoffer.onethread.core.notification.dto.ThreadPoolAlarmNotifyDTO;
 import com.nageoffer.onethread.core.notification.dto.ThreadPoolConfigChangeDTO;
 import com.nageoffer.onethread.core.notification.dto.WebThreadPoolConfigChangeDTO;
+import com.nageoffer.onethread.core.toolkit.ThreadFactoryBuilder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 通知调度器，用于统一管理和路由各类通知发送器（如钉钉、飞书、企业微信等）
@@ -15,7 +25,16 @@ import java.util.Optional;
  * 该类屏蔽了具体通知平台的实现细节，对上层调用者提供统一的通知发送入口
  * 内部根据配置自动初始化可用的 Notifier 实现，并在发送通知时根据平台类型动态路由到对应的发送器
  * <p>
+ * 启动后通知先写入有界队列，由独立的投递线程异步发送，避免慢 WebHook 阻塞报警检查和配置刷新：
+ * <ul>
+ *     <li>队列写满时丢弃最早的通知</li>
+ *     <li>批量窗口内接收人相同的多条告警合并为一条消息发送</li>
+ *     <li>发送失败按指数退避重试</li>
+ *     <li>告警被丢弃或重试后仍发送失败时释放限流窗口，只有送达的告警占用窗口</li>
+ * </ul>
+ * 未启动时退化为在调用线程中同步发送
  */
+@Slf4j
 public class NotifierDispatcher implements NotifierService {
 
     private static final Map<String, NotifierService> NOTIFIER_SERVICE_MAP = new HashMap<>();
@@ -30,31 +49,273 @@ public class NotifierDispatcher implements NotifierService {
          */
     }
 
+    /**
+     * 退避时间上限，单位毫秒
+     */
+    private static final long MAX_RETRY_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * 停止时等待剩余通知发送完成的时间，单位毫秒
+     */
+    private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final int maxBatchSize;
+    private final long batchWindowMillis;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final LinkedBlockingDeque<Object> queue;
+
+    /**
+     * 队列写满被丢弃的通知数
+     */
+    @Getter
+    private final LongAdder droppedCount = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public NotifierDispatcher() {
+        this(1024, 10, 1000L, 3, 1000L);
+    }
+
+    /**
+     * @param queueCapacity      待发送通知队列容量
+     * @param maxBatchSize       单条消息最多合并的告警数
+     * @param batchWindowMillis  收到告警后等待合并后续告警的时间，单位毫秒
+     * @param maxRetries         发送失败最大重试次数
+     * @param retryBackoffMillis 首次重试退避时间，单位毫秒，之后每次翻倍
+     */
+    public NotifierDispatcher(int queueCapacity, int maxBatchSize, long batchWindowMillis, int maxRetries, long retryBackoffMillis) {
+        this.queue = new LinkedBlockingDeque<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowMillis = batchWindowMillis;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    /**
+     * 启动异步投递线程
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = ThreadFactoryBuilder.builder()
+                .namePrefix("notifier_dispatcher_")
+                .daemon(true)
+                .build()
+                .newThread(this::dispatchLoop);
+        worker.start();
+    }
+
+    /**
+     * 停止异步投递，等待队列中剩余通知发送完成（不再重试）
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+            log.warn("Notifier dispatcher stopped with {} pending notifications.", queue.size());
+        }
+    }
+
     @Override
     public void sendChangeMessage(ThreadPoolConfigChangeDTO configChange) {
-        getNotifierService().ifPresent(service -> service.sendChangeMessage(configChange));
+        dispatch(configChange);
     }
 
     @Override
     public void sendWebChangeMessage(WebThreadPoolConfigChangeDTO configChange) {
-        getNotifierService().ifPresent(service -> service.sendWebChangeMessage(configChange));
+        dispatch(configChange);
     }
 
     @Override
     public void sendAlarmMessage(ThreadPoolAlarmNotifyDTO alarm) {
-        getNotifierService().ifPresent(service -> {
-            // 频率检查
-            boolean allowSend = AlarmRateLimiter.allowAlarm(
-                    alarm.getThreadPoolId(),
-                    alarm.getAlarmType(),
-                    alarm.getInterval()
-            );
-
-            // 满足频率发送告警
-            if (allowSend) {
-                service.sendAlarmMessage(alarm.resolve());
+        if (getNotifierService().isEmpty()) {
+            return;
+        }
+
+        // 频率检查，先占用发送窗口，未送达时释放
+        long permit = AlarmRateLimiter.tryAcquire(
+                alarm.getThreadPoolId(),
+                alarm.getAlarmType(),
+                alarm.getInterval()
+        );
+
+        // 满足频率发送告警，在调用线程中采集运行时数据，保证告警内容与触发时刻一致
+        if (permit != 0L) {
+            dispatch(new PendingAlarm(alarm.resolve(), permit));
+        }
+    }
+
+    private void dispatch(Object message) {
+        if (!running) {
+            Optional<NotifierService> notifierService = getNotifierService();
+            try {
+                if (notifierService.isEmpty()) {
+                    release(message);
+                    return;
+                }
+                send(notifierService.get(), message);
+            } catch (Exception ex) {
+                release(message);
+                log.error("Failed to send notification.", ex);
+            }
+            return;
+        }
+
+        // 队列已满时丢弃最早的通知，保证最新的状态能够送达
+        while (!queue.offerLast(message)) {
+            Object dropped = queue.pollFirst();
+            if (dropped != null) {
+                droppedCount.increment();
+                release(dropped);
+                log.warn("Notification queue is full, drop the oldest {}.", getMessageType(dropped));
+            }
+        }
+    }
+
+    private void dispatchLoop() {
+        List<PendingAlarm> alarms = new ArrayList<>();
+        List<Object> messages = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Object message = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (message == null) {
+                    continue;
+                }
+                collect(message, alarms, messages);
+
+                // 批量窗口内继续收集告警，合并为一条消息发送
+                if (!alarms.isEmpty()) {
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindowMillis);
+                    long remaining;
+                    while (running && alarms.size() < maxBatchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                        Object next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        collect(next, alarms, messages);
+                    }
+                }
+
+                flush(alarms, messages);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                releaseQueued();
+                return;
+            } catch (Throwable ex) {
+                log.error("Notifier dispatcher failed to dispatch notifications.", ex);
+            } finally {
+                // 中断或异常时尚未发送的告警释放限流窗口
+                alarms.forEach(this::release);
+                alarms.clear();
+                messages.clear();
+            }
+        }
+    }
+
+    /**
+     * 投递线程被中断退出时，释放队列中剩余告警占用的限流窗口
+     */
+    private void releaseQueued() {
+        Object message;
+        while ((message = queue.pollFirst()) != null) {
+            release(message);
+        }
+    }
+
+    private void collect(Object message, List<PendingAlarm> alarms, List<Object> messages) {
+        if (message instanceof PendingAlarm) {
+            alarms.add((PendingAlarm) message);
+        } else {
+            messages.add(message);
+        }
+    }
+
+    /**
+     * 已送达或已释放的告警会从 alarms 中移除，剩余的由调用方释放
+     */
+    private void flush(List<PendingAlarm> alarms, List<Object> messages) throws InterruptedException {
+        Optional<NotifierService> notifierService = getNotifierService();
+        if (notifierService.isEmpty()) {
+            return;
+        }
+
+        NotifierService service = notifierService.get();
+        for (Object message : messages) {
+            sendWithRetry(() -> send(service, message));
+        }
+
+        // 按接收人分组合并，避免把其他线程池的告警和 @ 人发给无关的接收人
+        Map<String, List<PendingAlarm>> alarmsByReceives = new LinkedHashMap<>();
+        for (PendingAlarm each : alarms) {
+            alarmsByReceives.computeIfAbsent(each.getAlarm().getReceives(), key -> new ArrayList<>()).add(each);
+        }
+        for (List<PendingAlarm> group : alarmsByReceives.values()) {
+            List<ThreadPoolAlarmNotifyDTO> batch = new ArrayList<>(group.size());
+            group.forEach(each -> batch.add(each.getAlarm()));
+            if (!sendWithRetry(() -> service.sendAlarmMessages(batch))) {
+                group.forEach(this::release);
             }
-        });
+            alarms.removeAll(group);
+        }
+    }
+
+    /**
+     * @return 是否发送成功
+     */
+    private boolean sendWithRetry(Runnable sender) throws InterruptedException {
+        long backoffMillis = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sender.run();
+                return true;
+            } catch (Exception ex) {
+                if (attempt > maxRetries || !running) {
+                    log.error("Failed to send notification after {} attempts.", attempt, ex);
+                    return false;
+                }
+                log.warn("Failed to send notification, retry after {} ms, reason: {}", backoffMillis, ex.getMessage());
+                TimeUnit.MILLISECONDS.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void send(NotifierService service, Object message) {
+        if (message instanceof PendingAlarm) {
+            service.sendAlarmMessage(((PendingAlarm) message).getAlarm());
+        } else if (message instanceof ThreadPoolConfigChangeDTO) {
+            service.sendChangeMessage((ThreadPoolConfigChangeDTO) message);
+        } else if (message instanceof WebThreadPoolConfigChangeDTO) {
+            service.sendWebChangeMessage((WebThreadPoolConfigChangeDTO) message);
+        }
+    }
+
+    /**
+     * 告警未送达时释放占用的限流窗口
+     */
+    private void release(Object message) {
+        if (message instanceof PendingAlarm) {
+            PendingAlarm pendingAlarm = (PendingAlarm) message;
+            AlarmRateLimiter.release(pendingAlarm.getAlarm().getThreadPoolId(), pendingAlarm.getAlarm().getAlarmType(), pendingAlarm.getPermit());
+        }
+    }
+
+    private String getMessageType(Object message) {
+        return message instanceof PendingAlarm
+                ? ThreadPoolAlarmNotifyDTO.class.getSimpleName()
+                : message.getClass().getSimpleName();
     }
 
     /**
@@ -66,4 +327,19 @@ public class NotifierDispatcher implements NotifierService {
                 .map(BootstrapConfigProperties.NotifyPlatformsConfig::getPlatform)
                 .map(platform -> NOTIFIER_SERVICE_MAP.get(platform));
     }
+
+    /**
+     * 等待发送的告警及其占用的限流窗口
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class PendingAlarm {
+
+        private final ThreadPoolAlarmNotifyDTO alarm;
+
+        /**
+         * {@link AlarmRateLimiter#tryAcquire} 返回的时间戳
+         */
+        private final long permit;
+    }
 }
@@ -4,6 +4,8 @@ import com.nageoffer.onethread.core.notification.dto.ThreadPoolAlarmNotifyDTO;
 import com.nageoffer.onethread.core.notification.dto.ThreadPoolConfigChangeDTO;
 import com.nageoffer.onethread.core.notification.dto.WebThreadPoolConfigChangeDTO;
 
+import java.util.List;
+
 /**
  * 通知接口，用于发送线程池变更通知与运行时告警
  */
@@ -29,4 +31,13 @@ public interface NotifierService {
      * @param alarm 报警信息
      */
     void sendAlarmMessage(ThreadPoolAlarmNotifyDTO alarm);
+
+    /**
+     * 批量发送线程池报警通知，默认逐条发送，支持合并消息的平台可重写为一条消息
+     *
+     * @param alarms 报警信息集合
+     */
+    default void sendAlarmMessages(List<ThreadPoolAlarmNotifyDTO> alarms) {
+        alarms.forEach(this::sendAlarmMessage);
+    }
 }
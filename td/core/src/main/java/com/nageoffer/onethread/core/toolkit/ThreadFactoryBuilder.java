@@ -37,6 +37,11 @@ public class ThreadFactoryBuilder {
      */
     private Thread.UncaughtExceptionHandler uncaughtExceptionHandler;
 
+    /**
+     * 是否创建虚拟线程（JDK 21+），虚拟线程固定为守护线程且不支持设置优先级
+     */
+    private boolean virtual;
+
     /**
      * 创建 ThreadFactoryBuilder 实例
      */
@@ -72,11 +77,18 @@ public class ThreadFactoryBuilder {
         return this;
     }
 
+    public ThreadFactoryBuilder virtual(boolean virtual) {
+        this.virtual = virtual;
+        return this;
+    }
+
     /**
      * 构建线程工厂实例
      */
     public ThreadFactory build() {
-        final ThreadFactory factory = (this.backingThreadFactory != null) ? this.backingThreadFactory : Executors.defaultThreadFactory();
+        final ThreadFactory factory = (this.backingThreadFactory != null)
+                ? this.backingThreadFactory
+                : (virtual ? virtualThreadFactory() : Executors.defaultThreadFactory());
         Assert.notEmpty(namePrefix, "The thread name prefix cannot be empty or an empty string.");
         final AtomicLong count = (StrUtil.isNotBlank(namePrefix)) ? new AtomicLong(0) : null;
 
@@ -87,11 +99,11 @@ public class ThreadFactoryBuilder {
                 thread.setName(namePrefix + count.getAndIncrement());
             }
 
-            if (daemon != null) {
+            if (daemon != null && !virtual) {
                 thread.setDaemon(daemon);
             }
 
-            if (priority != null) {
+            if (priority != null && !virtual) {
                 thread.setPriority(priority);
             }
 
@@ -102,4 +114,16 @@ public class ThreadFactoryBuilder {
             return thread;
         };
     }
+
+    /**
+     * 通过反射获取 Thread.ofVirtual().factory()，避免编译期依赖 JDK 21
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException ex) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or later.", ex);
+        }
+    }
 }
@@ -2,15 +2,20 @@ package com.nageoffer.onethread.core.toolkit;
 
 import cn.hutool.core.lang.Assert;
 import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadForkJoinPool;
+import com.nageoffer.onethread.core.executor.VirtualThreadOneThreadExecutor;
 import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
 import lombok.Getter;
 
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 动态线程池构建器
@@ -73,6 +78,21 @@ public class ThreadPoolExecutorBuilder {
      */
     private long awaitTerminationMillis = 0L;
 
+    /**
+     * 虚拟线程模式标识
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * ForkJoinPool 工作线程名前缀
+     */
+    private String forkJoinThreadNamePrefix;
+
+    /**
+     * ForkJoinPool 是否为异步模式
+     */
+    private boolean asyncMode = false;
+
     /**
      * 设置构建线程池为动态线程池
      */
@@ -81,6 +101,41 @@ public class ThreadPoolExecutorBuilder {
         return this;
     }
 
+    /**
+     * 设置构建线程池为虚拟线程模式的动态线程池（JDK 21+），最大线程数作为最大并发任务数
+     *
+     * @param namePrefix 虚拟线程名前缀，如 "onethread-"，线程名形如：onethread-1
+     */
+    public ThreadPoolExecutorBuilder virtualThreads(String namePrefix) {
+        this.dynamicPool = true;
+        this.virtualThreads = true;
+        this.threadFactory = ThreadFactoryBuilder.builder()
+                .namePrefix(namePrefix)
+                .virtual(true)
+                .build();
+        return this;
+    }
+
+    /**
+     * 设置构建线程池为受管理的 ForkJoinPool，核心线程数作为并行度，通过 {@link #buildForkJoinPool()} 构建
+     *
+     * @param namePrefix 工作线程名前缀，如 "onethread-"，线程名形如：onethread-1
+     */
+    public ThreadPoolExecutorBuilder forkJoinPool(String namePrefix) {
+        this.forkJoinThreadNamePrefix = namePrefix;
+        return this;
+    }
+
+    /**
+     * 设置 ForkJoinPool 是否为异步模式，适用于不 join 的事件型任务
+     *
+     * @param asyncMode 是否为异步模式
+     */
+    public ThreadPoolExecutorBuilder asyncMode(boolean asyncMode) {
+        this.asyncMode = asyncMode;
+        return this;
+    }
+
     /**
      * 设置线程池唯一标识
      *
@@ -228,7 +283,19 @@ public class ThreadPoolExecutorBuilder {
         Assert.notNull(threadFactory, "The thread factory cannot be null.");
 
         ThreadPoolExecutor threadPoolExecutor;
-        if (dynamicPool) {
+        if (virtualThreads) {
+            threadPoolExecutor = new VirtualThreadOneThreadExecutor(
+                    threadPoolId,
+                    corePoolSize,
+                    maximumPoolSize,
+                    keepAliveTime,
+                    TimeUnit.SECONDS,
+                    blockingQueue,
+                    threadFactory,
+                    rejectedHandler,
+                    awaitTerminationMillis
+            );
+        } else if (dynamicPool) {
             threadPoolExecutor = new OneThreadExecutor(
                     threadPoolId,
                     corePoolSize,
@@ -255,4 +322,27 @@ public class ThreadPoolExecutorBuilder {
         threadPoolExecutor.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
         return threadPoolExecutor;
     }
+
+    /**
+     * 构建受管理的 ForkJoinPool 实例
+     */
+    public OneThreadForkJoinPool buildForkJoinPool() {
+        Assert.notEmpty(forkJoinThreadNamePrefix, "The fork join thread name prefix cannot be empty.");
+
+        AtomicLong count = new AtomicLong(0);
+        String namePrefix = forkJoinThreadNamePrefix;
+        ForkJoinPool.ForkJoinWorkerThreadFactory workerThreadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(namePrefix + count.getAndIncrement());
+            return thread;
+        };
+        return new OneThreadForkJoinPool(
+                threadPoolId,
+                corePoolSize,
+                maximumPoolSize,
+                keepAliveTime,
+                workerThreadFactory,
+                asyncMode
+        );
+    }
 }
@@ -0,0 +1,150 @@
+package com.nageoffer.onethread.core.toolkit;
+
+import com.nageoffer.onethread.core.executor.VirtualThreadOneThreadExecutor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池运行状态探测器
+ * <p>
+ * 类加载时通过 {@link VarHandle} 一次性解析 {@link ThreadPoolExecutor} 的 ctl 字段和运行状态常量，之后每次探测只是一次字段读取，
+ * 可以区分 SHUTDOWN、STOP、TIDYING 等中间状态。JDK 17+ 未开放 {@code java.util.concurrent} 包（缺少
+ * {@code --add-opens java.base/java.util.concurrent=ALL-UNNAMED}）时退化为 {@code isShutdown()}/{@code isTerminating()}/{@code isTerminated()}，
+ * 此时关闭中的线程池统一视为 SHUTDOWN。
+ * <p>
+ * {@link VirtualThreadOneThreadExecutor} 的任务不在父类工作线程中执行，父类 ctl 可能在虚拟线程仍在执行任务时就已到达 TERMINATED，
+ * 因此按其覆盖后的 {@code isTerminated()} 判断。
+ */
+@Slf4j
+public final class ThreadPoolRunStateProbe {
+
+    private static final VarHandle CTL;
+    private static final int COUNT_BITS;
+    private static final int SHUTDOWN;
+    private static final int STOP;
+    private static final int TIDYING;
+    private static final int TERMINATED;
+
+    static {
+        VarHandle ctl = null;
+        int countBits = Integer.SIZE - 3, shutdown = 0, stop = 0, tidying = 0, terminated = 0;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(ThreadPoolExecutor.class, MethodHandles.lookup());
+            countBits = (int) lookup.findStaticVarHandle(ThreadPoolExecutor.class, "COUNT_BITS", int.class).get();
+            shutdown = (int) lookup.findStaticVarHandle(ThreadPoolExecutor.class, "SHUTDOWN", int.class).get();
+            stop = (int) lookup.findStaticVarHandle(ThreadPoolExecutor.class, "STOP", int.class).get();
+            tidying = (int) lookup.findStaticVarHandle(ThreadPoolExecutor.class, "TIDYING", int.class).get();
+            terminated = (int) lookup.findStaticVarHandle(ThreadPoolExecutor.class, "TERMINATED", int.class).get();
+            ctl = lookup.findVarHandle(ThreadPoolExecutor.class, "ctl", AtomicInteger.class);
+        } catch (Throwable ex) {
+            log.info("Cannot access ThreadPoolExecutor run state directly, fall back to isShutdown/isTerminating/isTerminated. Reason: {}", ex.toString());
+        }
+        CTL = ctl;
+        COUNT_BITS = countBits;
+        SHUTDOWN = shutdown;
+        STOP = stop;
+        TIDYING = tidying;
+        TERMINATED = terminated;
+    }
+
+    private ThreadPoolRunStateProbe() {
+    }
+
+    /**
+     * 是否可以直接读取 ctl 字段
+     */
+    public static boolean isDirectAccess() {
+        return CTL != null;
+    }
+
+    /**
+     * 探测线程池运行状态
+     *
+     * @param executor 线程池，支持 {@link ThreadPoolExecutor}、{@link ForkJoinPool} 及其他 {@link ExecutorService}
+     * @return 运行状态
+     */
+    public static RunState probe(ExecutorService executor) {
+        if (executor instanceof VirtualThreadOneThreadExecutor) {
+            VirtualThreadOneThreadExecutor virtualExecutor = (VirtualThreadOneThreadExecutor) executor;
+            return fromFlags(virtualExecutor.isShutdown(), virtualExecutor.isTerminating(), virtualExecutor.isTerminated());
+        }
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executor;
+            if (CTL != null) {
+                return fromCtl(((AtomicInteger) CTL.get(threadPoolExecutor)).get());
+            }
+            return fromFlags(threadPoolExecutor.isShutdown(), threadPoolExecutor.isTerminating(), threadPoolExecutor.isTerminated());
+        }
+        if (executor instanceof ForkJoinPool) {
+            ForkJoinPool forkJoinPool = (ForkJoinPool) executor;
+            return fromFlags(forkJoinPool.isShutdown(), forkJoinPool.isTerminating(), forkJoinPool.isTerminated());
+        }
+        boolean terminated = executor.isTerminated();
+        return fromFlags(executor.isShutdown(), !terminated, terminated);
+    }
+
+    private static RunState fromCtl(int ctl) {
+        // 高 3 位为运行状态，低 COUNT_BITS 位为线程数
+        int runState = ctl & ~((1 << COUNT_BITS) - 1);
+        if (runState < SHUTDOWN) {
+            return RunState.RUNNING;
+        }
+        if (runState < STOP) {
+            return RunState.SHUTDOWN;
+        }
+        if (runState < TIDYING) {
+            return RunState.STOP;
+        }
+        return runState < TERMINATED ? RunState.TIDYING : RunState.TERMINATED;
+    }
+
+    private static RunState fromFlags(boolean shutdown, boolean terminating, boolean terminated) {
+        if (!shutdown) {
+            return RunState.RUNNING;
+        }
+        if (terminated) {
+            return RunState.TERMINATED;
+        }
+        return terminating ? RunState.SHUTDOWN : RunState.TERMINATED;
+    }
+
+    /**
+     * 线程池运行状态，与 {@link ThreadPoolExecutor} 内部状态一一对应
+     */
+    public enum RunState {
+
+        RUNNING(0, "Running"),
+
+        SHUTDOWN(1, "Shutting down"),
+
+        STOP(2, "Shutting down"),
+
+        TIDYING(3, "Shutting down"),
+
+        TERMINATED(4, "Terminated");
+
+        /**
+         * 状态码，用于监控指标
+         */
+        @Getter
+        private final int code;
+
+        /**
+         * 看板展示的状态描述
+         */
+        @Getter
+        private final String status;
+
+        RunState(int code, String status) {
+            this.code = code;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.nageoffer.onethread.core.alarm;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 任务执行超时检测时间轮单元测试
+ */
+public class TaskTimeoutWheelTest {
+
+    @AfterEach
+    void tearDown() {
+        TaskTimeoutWheel.unregister();
+    }
+
+    @Test
+    void testSlowTaskTimeoutOnceAndInterrupted() throws Exception {
+        List<TaskTimeoutWheel.TaskTimeout> timeouts = new CopyOnWriteArrayList<>();
+        TaskTimeoutWheel.register(timeouts::add);
+
+        OneThreadExecutor executor = (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId("test-timeout")
+                .threadFactory("test-timeout")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(32)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        executor.setExecuteTimeout(200L, true);
+
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch fastFinished = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            executor.execute(fastFinished::countDown);
+        }
+        executor.execute(() -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+        });
+
+        assertThat(fastFinished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        // 中断后同一线程继续执行快任务，不应再次报警
+        CountDownLatch afterFinished = new CountDownLatch(1);
+        executor.execute(afterFinished::countDown);
+        assertThat(afterFinished.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(500);
+
+        assertThat(timeouts).hasSize(1);
+        TaskTimeoutWheel.TaskTimeout timeout = timeouts.get(0);
+        assertThat(timeout.getThreadPoolId()).isEqualTo("test-timeout");
+        assertThat(timeout.getElapsedMillis()).isGreaterThanOrEqualTo(200L);
+        assertThat(timeout.getTimeoutMillis()).isEqualTo(200L);
+        assertThat(timeout.isInterrupted()).isTrue();
+        assertThat(timeout.getStackTrace()).extracting(StackTraceElement::getMethodName).contains("sleep");
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
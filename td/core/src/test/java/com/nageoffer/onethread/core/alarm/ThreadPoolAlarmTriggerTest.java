@@ -0,0 +1,39 @@
+package com.nageoffer.onethread.core.alarm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 线程池报警触发器单元测试
+ */
+public class ThreadPoolAlarmTriggerTest {
+
+    @AfterEach
+    void tearDown() {
+        ThreadPoolAlarmTrigger.unregister();
+    }
+
+    @Test
+    void testSignalIsCoalescedUntilDrained() {
+        AtomicInteger wakeUps = new AtomicInteger();
+        ThreadPoolAlarmTrigger.register(wakeUps::incrementAndGet);
+
+        ThreadPoolAlarmTrigger.signal("test-pool");
+        ThreadPoolAlarmTrigger.signal("test-pool");
+        assertThat(wakeUps.get()).isEqualTo(1);
+        assertThat(ThreadPoolAlarmTrigger.drain()).containsExactly("test-pool");
+
+        ThreadPoolAlarmTrigger.signal("test-pool");
+        assertThat(wakeUps.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testSignalIgnoredWithoutListener() {
+        ThreadPoolAlarmTrigger.signal("test-pool");
+        assertThat(ThreadPoolAlarmTrigger.drain()).isEmpty();
+    }
+}
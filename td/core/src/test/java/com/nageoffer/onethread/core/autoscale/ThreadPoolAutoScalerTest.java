@@ -0,0 +1,99 @@
+package com.nageoffer.onethread.core.autoscale;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorProperties;
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 线程池自动扩缩容控制器单元测试
+ */
+public class ThreadPoolAutoScalerTest {
+
+    @Test
+    void testIncreaseWhenLoadAboveTarget() {
+        ThreadPoolExecutorProperties.AutoScaleConfig config = new ThreadPoolExecutorProperties.AutoScaleConfig();
+        config.setIncreaseStep(2);
+
+        assertThat(ThreadPoolAutoScaler.nextPoolSize(4, 1.5D, false, config, 2, 16)).isEqualTo(6);
+        // 负载在目标一半到目标之间时保持不变
+        assertThat(ThreadPoolAutoScaler.nextPoolSize(4, 0.8D, true, config, 2, 16)).isEqualTo(4);
+    }
+
+    @Test
+    void testDecreaseOnlyWhenQueueEmpty() {
+        ThreadPoolExecutorProperties.AutoScaleConfig config = new ThreadPoolExecutorProperties.AutoScaleConfig();
+        config.setDecreaseFactor(0.5D);
+
+        assertThat(ThreadPoolAutoScaler.nextPoolSize(10, 0.2D, true, config, 2, 16)).isEqualTo(5);
+        assertThat(ThreadPoolAutoScaler.nextPoolSize(10, 0.2D, false, config, 2, 16)).isEqualTo(10);
+    }
+
+    @Test
+    void testClampToMinAndMax() {
+        ThreadPoolExecutorProperties.AutoScaleConfig config = new ThreadPoolExecutorProperties.AutoScaleConfig();
+        config.setIncreaseStep(4);
+        config.setDecreaseFactor(0.1D);
+
+        assertThat(ThreadPoolAutoScaler.nextPoolSize(14, 2.0D, false, config, 2, 16)).isEqualTo(16);
+        assertThat(ThreadPoolAutoScaler.nextPoolSize(16, 2.0D, false, config, 2, 16)).isEqualTo(16);
+        assertThat(ThreadPoolAutoScaler.nextPoolSize(5, 0.1D, true, config, 2, 16)).isEqualTo(2);
+        // 当前值低于下限时即使负载不高也会被拉回下限
+        assertThat(ThreadPoolAutoScaler.nextPoolSize(1, 0.8D, true, config, 2, 16)).isEqualTo(2);
+    }
+
+    @Test
+    void testResizePlatformPoolKeepsCoreNotAboveMax() {
+        OneThreadExecutor executor = buildExecutor("test-auto-scale", 2, 4);
+
+        // 超过最大线程数时先抬高最大线程数
+        ThreadPoolAutoScaler.resize(executor, 6);
+        assertThat(executor.getCorePoolSize()).isEqualTo(6);
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(6);
+
+        // 缩减时只调整核心线程数
+        ThreadPoolAutoScaler.resize(executor, 3);
+        assertThat(executor.getCorePoolSize()).isEqualTo(3);
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(6);
+        executor.shutdown();
+    }
+
+    @Test
+    void testResizeVirtualPoolAdjustsMaximum() {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require JDK 21 or later.");
+        OneThreadExecutor executor = (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .threadPoolId("test-auto-scale-virtual")
+                .corePoolSize(4)
+                .maximumPoolSize(8)
+                .workQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(16)
+                .virtualThreads("test-auto-scale-virtual_")
+                .build();
+
+        ThreadPoolAutoScaler.resize(executor, 12);
+        assertThat(executor.getCorePoolSize()).isEqualTo(4);
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(12);
+
+        // 最大并发数低于核心线程数时同步降低核心线程数
+        ThreadPoolAutoScaler.resize(executor, 2);
+        assertThat(executor.getCorePoolSize()).isEqualTo(2);
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(2);
+        executor.shutdown();
+    }
+
+    private static OneThreadExecutor buildExecutor(String threadPoolId, int corePoolSize, int maximumPoolSize) {
+        return (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId(threadPoolId)
+                .threadFactory(threadPoolId)
+                .corePoolSize(corePoolSize)
+                .maximumPoolSize(maximumPoolSize)
+                .workQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(16)
+                .build();
+    }
+}
@@ -0,0 +1,218 @@
+package com.nageoffer.onethread.core.executor;
+
+import com.nageoffer.onethread.core.alarm.ThreadPoolAlarmTrigger;
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 动态线程池单元测试
+ */
+public class OneThreadExecutorTest {
+
+    @Test
+    void testShutdownNowReturnsOriginalTasks() throws InterruptedException {
+        OneThreadExecutor executor = buildExecutor("test-shutdown-now", 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            sleepQuietly();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Runnable first = () -> {
+        };
+        Runnable second = () -> {
+        };
+        executor.execute(first);
+        executor.execute(second);
+
+        List<Runnable> pending = executor.shutdownNow();
+        assertThat(pending).containsExactly(first, second);
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testLockFreeCounters() throws InterruptedException {
+        OneThreadExecutor executor = (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId("test-counters")
+                .threadFactory("test-counters")
+                .corePoolSize(2)
+                .maximumPoolSize(2)
+                .workQueueType(BlockingQueueTypeEnum.ARRAY_BLOCKING_QUEUE)
+                .workQueueCapacity(3)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        assertThat(executor.getPoolSize()).isZero();
+        assertThat(executor.getActiveCount()).isZero();
+        assertThat(executor.getTaskCount()).isZero();
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch blocker = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    blocker.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> {
+            });
+        }
+        // 被拒绝的任务不计入任务总数
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(executor.getPoolSize()).isEqualTo(2);
+        assertThat(executor.getActiveCount()).isEqualTo(2);
+        assertThat(executor.getCompletedTaskCount()).isZero();
+        assertThat(executor.getTaskCount()).isEqualTo(5);
+
+        blocker.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getCompletedTaskCount() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getCompletedTaskCount()).isEqualTo(5);
+        assertThat(executor.getActiveCount()).isZero();
+        assertThat(executor.getPoolSize()).isEqualTo(2);
+        assertThat(executor.getTaskCount()).isEqualTo(5);
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testInFlightCountWithDiscardOldest() throws InterruptedException {
+        OneThreadExecutor executor = (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId("test-in-flight")
+                .threadFactory("test-in-flight")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.ARRAY_BLOCKING_QUEUE)
+                .workQueueCapacity(2)
+                .rejectedHandler(new ThreadPoolExecutor.DiscardOldestPolicy())
+                .build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 后 3 个任务各挤掉一个队列中最早的任务
+        Runnable last = () -> {
+        };
+        for (int i = 0; i < 4; i++) {
+            executor.execute(() -> {
+            });
+        }
+        executor.execute(last);
+        assertThat(executor.getQueue()).hasSize(2);
+        assertThat(executor.getInFlightCount()).isEqualTo(3);
+
+        assertThat(executor.remove(last)).isTrue();
+        assertThat(executor.getInFlightCount()).isEqualTo(2);
+
+        blocker.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void testAlarmSignalWhenQueueSaturatedOrRejected() throws InterruptedException {
+        ThreadPoolAlarmTrigger.register(() -> {
+        });
+        try {
+            OneThreadExecutor executor = (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                    .dynamicPool()
+                    .threadPoolId("test-saturated-signal")
+                    .threadFactory("test-saturated-signal")
+                    .corePoolSize(1)
+                    .maximumPoolSize(1)
+                    .workQueueType(BlockingQueueTypeEnum.ARRAY_BLOCKING_QUEUE)
+                    .workQueueCapacity(2)
+                    .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                    .build();
+
+            // 任务异常导致工作线程退出并补充新线程，不代表队列已满
+            executor.execute(() -> {
+                throw new IllegalStateException("Task failed.");
+            });
+            Thread.sleep(200);
+            assertThat(executor.getPoolSize()).isEqualTo(1);
+            assertThat(ThreadPoolAlarmTrigger.drain()).isEmpty();
+
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch blocker = new CountDownLatch(1);
+            Runnable blockingTask = () -> {
+                started.countDown();
+                try {
+                    blocker.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            executor.execute(blockingTask);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            executor.execute(blockingTask);
+            assertThat(ThreadPoolAlarmTrigger.drain()).isEmpty();
+
+            // 写入后队列已满时通知报警检查
+            executor.execute(blockingTask);
+            assertThat(ThreadPoolAlarmTrigger.drain()).containsExactly("test-saturated-signal");
+
+            // 拒绝时由拒绝策略包装类通知
+            assertThatThrownBy(() -> executor.execute(blockingTask)).isInstanceOf(RejectedExecutionException.class);
+            assertThat(ThreadPoolAlarmTrigger.drain()).containsExactly("test-saturated-signal");
+
+            blocker.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            ThreadPoolAlarmTrigger.unregister();
+        }
+    }
+
+    private static OneThreadExecutor buildExecutor(String threadPoolId, int corePoolSize, int maximumPoolSize) {
+        return (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId(threadPoolId)
+                .threadFactory(threadPoolId)
+                .corePoolSize(corePoolSize)
+                .maximumPoolSize(maximumPoolSize)
+                .workQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(16)
+                .build();
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
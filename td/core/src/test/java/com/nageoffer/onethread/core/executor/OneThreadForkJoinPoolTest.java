@@ -0,0 +1,118 @@
+package com.nageoffer.onethread.core.executor;
+
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 受管理的 ForkJoinPool 单元测试
+ */
+public class OneThreadForkJoinPoolTest {
+
+    @Test
+    void testReconfigureSwapsPoolWithoutLosingTasks() throws InterruptedException {
+        OneThreadForkJoinPool forkJoinPool = ThreadPoolExecutorBuilder.builder()
+                .threadPoolId("test-fork-join")
+                .corePoolSize(2)
+                .maximumPoolSize(2)
+                .keepAliveTime(60)
+                .forkJoinPool("test-fork-join_")
+                .buildForkJoinPool();
+
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+        Runnable blockingTask = () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            completed.incrementAndGet();
+        };
+        for (int i = 0; i < 4; i++) {
+            forkJoinPool.execute(blockingTask);
+        }
+        assertThat(forkJoinPool.getQueuedSubmissionCount()).isGreaterThanOrEqualTo(0L);
+
+        // 切换后新任务进入新池，旧池中的任务继续执行
+        forkJoinPool.reconfigure(4, 4, 60);
+        assertThat(forkJoinPool.getParallelism()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            forkJoinPool.execute(blockingTask);
+        }
+
+        blocker.countDown();
+        forkJoinPool.shutdown();
+        assertThat(forkJoinPool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(completed.get()).isEqualTo(8);
+    }
+
+    @Test
+    void testInvokeRecursiveTask() {
+        OneThreadForkJoinPool forkJoinPool = ThreadPoolExecutorBuilder.builder()
+                .threadPoolId("test-fork-join-invoke")
+                .corePoolSize(4)
+                .maximumPoolSize(4)
+                .forkJoinPool("test-fork-join-invoke_")
+                .buildForkJoinPool();
+
+        assertThat(forkJoinPool.invoke(new SumTask(0, 1_000_000))).isEqualTo(499_999_500_000L);
+        assertThat(forkJoinPool.getStealCount()).isGreaterThanOrEqualTo(0L);
+        forkJoinPool.shutdown();
+    }
+
+    @Test
+    void testPruneRetiredPoolsKeepsStealCount() throws InterruptedException {
+        OneThreadForkJoinPool forkJoinPool = ThreadPoolExecutorBuilder.builder()
+                .threadPoolId("test-fork-join-prune")
+                .corePoolSize(4)
+                .maximumPoolSize(4)
+                .forkJoinPool("test-fork-join-prune_")
+                .buildForkJoinPool();
+        forkJoinPool.invoke(new SumTask(0, 1_000_000));
+        ForkJoinPool retiredPool = forkJoinPool.getForkJoinPool();
+        forkJoinPool.reconfigure(2, 2, 60);
+        assertThat(retiredPool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // 查询不修改旧池列表，清理后累计窃取次数不变
+        long stealCount = forkJoinPool.getStealCount();
+        assertThat(forkJoinPool.getStealCount()).isEqualTo(stealCount);
+        forkJoinPool.pruneRetiredPools();
+        assertThat(forkJoinPool.getStealCount()).isEqualTo(stealCount);
+        assertThat(forkJoinPool.getPoolSize()).isEqualTo(forkJoinPool.getForkJoinPool().getPoolSize());
+        forkJoinPool.shutdown();
+    }
+
+    private static class SumTask extends RecursiveTask<Long> {
+
+        private final int from;
+        private final int to;
+
+        SumTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= 10_000) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += i;
+                }
+                return sum;
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(from, middle);
+            left.fork();
+            return new SumTask(middle, to).compute() + left.join();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.nageoffer.onethread.core.executor;
+
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 虚拟线程模式动态线程池单元测试
+ */
+public class VirtualThreadOneThreadExecutorTest {
+
+    @BeforeEach
+    void checkJavaVersion() {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require JDK 21 or later.");
+    }
+
+    @Test
+    void testConcurrencyLimitCanBeChangedLive() throws InterruptedException {
+        VirtualThreadOneThreadExecutor executor = (VirtualThreadOneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .threadPoolId("test-virtual")
+                .corePoolSize(1)
+                .maximumPoolSize(2)
+                .workQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(10)
+                .virtualThreads("test-virtual_")
+                .build();
+
+        CountDownLatch blocker = new CountDownLatch(1);
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        waitUntil(() -> executor.getActiveCount() == 2);
+        assertThat(executor.getQueue()).hasSize(3);
+
+        // 扩大并发上限后，队列中的任务立即被调度
+        executor.setMaximumPoolSize(5);
+        waitUntil(() -> executor.getActiveCount() == 5);
+        assertThat(executor.getQueue()).isEmpty();
+        assertThat(executor.getLargestPoolSize()).isEqualTo(5);
+
+        blocker.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getCompletedTaskCount()).isEqualTo(5);
+    }
+
+    @Test
+    void testThreadFactoryFailureRejectsTask() throws InterruptedException {
+        AtomicBoolean failing = new AtomicBoolean(false);
+        VirtualThreadOneThreadExecutor executor = new VirtualThreadOneThreadExecutor(
+                "test-virtual-factory-failure",
+                1,
+                1,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(10),
+                runnable -> {
+                    if (failing.get()) {
+                        throw new IllegalStateException("Thread factory failed.");
+                    }
+                    return new Thread(runnable);
+                },
+                new ThreadPoolExecutor.AbortPolicy(),
+                0L
+        );
+
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> {
+        });
+        assertThat(executor.getQueue()).hasSize(1);
+
+        // 排队任务出队后线程启动失败，交给拒绝策略且不会反复重试
+        failing.set(true);
+        blocker.countDown();
+        waitUntil(() -> executor.getRejectCount() == 1);
+        assertThat(executor.getQueue()).isEmpty();
+
+        // 直接提交时线程启动失败，许可被释放并执行拒绝策略
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+        assertThat(executor.getRejectCount()).isEqualTo(2);
+
+        failing.set(false);
+        CountDownLatch finished = new CountDownLatch(1);
+        executor.execute(finished::countDown);
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testQueuedTasksRunBeforeNewSubmissions() throws InterruptedException {
+        VirtualThreadOneThreadExecutor executor = (VirtualThreadOneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .threadPoolId("test-virtual-fifo")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(10)
+                .virtualThreads("test-virtual-fifo_")
+                .build();
+
+        // 模拟许可释放后、调度队列之前的时间窗口：队列中有任务且许可空闲
+        List<String> executed = new CopyOnWriteArrayList<>();
+        executor.getQueue().offer(() -> executed.add("queued"));
+        executor.execute(() -> executed.add("submitted"));
+
+        waitUntil(() -> executed.size() == 2);
+        assertThat(executed).containsExactly("queued", "submitted");
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,88 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 限时阻塞提交拒绝策略单元测试
+ */
+public class BlockingWithTimeoutPolicyTest {
+
+    @Test
+    void testBlockedProducerWakesUpWhenCapacityGrows() throws Exception {
+        OneThreadExecutor executor = buildExecutor("test-blocking", 10_000L);
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> await(blocker));
+        executor.execute(() -> await(blocker));
+
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> executor.execute(() -> await(blocker)));
+        waitUntil(() -> executor.getBlockedProducerCount().sum() == 1);
+
+        // 扩容后阻塞的提交线程立即入队
+        ((ResizableCapacityQueue) executor.getQueue()).setCapacity(2);
+        producer.get(5, TimeUnit.SECONDS);
+        assertThat(executor.getQueue()).hasSize(2);
+        assertThat(executor.getBlockedProducerCount().sum()).isZero();
+        assertThat(executor.getBlockedTimeNanos().sum()).isPositive();
+        assertThat(executor.getRejectCount()).isZero();
+
+        blocker.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testFallbackAfterTimeout() {
+        OneThreadExecutor executor = buildExecutor("test-blocking-timeout", 50L);
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> await(blocker));
+        executor.execute(() -> await(blocker));
+
+        assertThatThrownBy(() -> executor.execute(() -> await(blocker))).isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.getRejectCount()).isEqualTo(1);
+        assertThat(executor.getBlockedTimeNanos().sum()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+
+        blocker.countDown();
+        executor.shutdown();
+    }
+
+    private OneThreadExecutor buildExecutor(String threadPoolId, long timeoutMillis) {
+        return (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId(threadPoolId)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.RESIZABLE_CAPACITY_LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(1)
+                .threadFactory(threadPoolId + "_")
+                .rejectedHandler(new BlockingWithTimeoutPolicy(timeoutMillis, new ThreadPoolExecutor.AbortPolicy()))
+                .build();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
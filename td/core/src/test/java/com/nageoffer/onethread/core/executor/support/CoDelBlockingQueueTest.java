@@ -0,0 +1,103 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 排队时延准入控制队列单元测试
+ */
+public class CoDelBlockingQueueTest {
+
+    @Test
+    void testRejectWhenDelayStaysAboveTarget() throws InterruptedException {
+        CoDelBlockingQueue<Runnable> queue = new CoDelBlockingQueue<>(100);
+        queue.configure(10, 50);
+        long staleEnqueueNanos = System.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+        for (int i = 0; i < 5; i++) {
+            assertThat(queue.offer(new TimedRunnable(() -> {
+            }, staleEnqueueNanos))).isTrue();
+        }
+
+        // 首次超过目标值只开始观察，持续一个周期后才拒绝
+        queue.poll();
+        assertThat(queue.isDropping()).isFalse();
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isTrue();
+        Thread.sleep(60);
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isFalse();
+        assertThat(queue.isDropping()).isTrue();
+
+        // 积压消化完后恢复接收
+        while (queue.poll() != null) {
+        }
+        assertThat(queue.isDropping()).isFalse();
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isTrue();
+    }
+
+    @Test
+    void testRejectWithoutDequeue() throws InterruptedException {
+        CoDelBlockingQueue<Runnable> queue = new CoDelBlockingQueue<>(100);
+        queue.configure(10, 50);
+        long staleEnqueueNanos = System.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(new TimedRunnable(() -> {
+            }, staleEnqueueNanos));
+        }
+
+        // 工作线程全部卡住没有出队时，入队同样按队头任务排队耗时进入丢弃状态
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isTrue();
+        Thread.sleep(60);
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isFalse();
+        assertThat(queue.isDropping()).isTrue();
+    }
+
+    @Test
+    void testDropsFollowControlLaw() throws InterruptedException {
+        CoDelBlockingQueue<Runnable> queue = new CoDelBlockingQueue<>(100);
+        queue.configure(10, 200);
+        queue.offer(new TimedRunnable(() -> {
+        }, System.nanoTime() - TimeUnit.SECONDS.toNanos(1)));
+        queue.offer(new TimedRunnable(() -> {
+        }));
+        Thread.sleep(220);
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isFalse();
+
+        // 进入丢弃状态后不是拒绝所有任务，下一次拒绝在 interval / sqrt(1) 之后
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isTrue();
+        Thread.sleep(220);
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isFalse();
+
+        // 第二次拒绝后间隔缩短为 interval / sqrt(2)，约 141 毫秒
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isTrue();
+        Thread.sleep(160);
+        assertThat(queue.offer(new TimedRunnable(() -> {
+        }))).isFalse();
+        assertThat(queue.isDropping()).isTrue();
+    }
+
+    @Test
+    void testFreshTasksResetState() {
+        CoDelBlockingQueue<Runnable> queue = new CoDelBlockingQueue<>(100);
+        queue.configure(1000, 10);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(new TimedRunnable(() -> {
+            }));
+        }
+        queue.poll();
+        queue.poll();
+        assertThat(queue.isDropping()).isFalse();
+        assertThat(queue.offer(() -> {
+        })).isTrue();
+    }
+}
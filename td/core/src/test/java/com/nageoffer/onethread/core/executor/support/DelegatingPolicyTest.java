@@ -0,0 +1,110 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadRegistry;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorProperties;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 借用线程池拒绝策略单元测试
+ */
+public class DelegatingPolicyTest {
+
+    @Test
+    void testDelegateToElasticPool() throws InterruptedException {
+        OneThreadExecutor elastic = buildExecutor("test-elastic", new ThreadPoolExecutor.AbortPolicy());
+        OneThreadExecutor source = buildExecutor("test-delegate-source",
+                new DelegatingPolicy("test-elastic", 0, new ThreadPoolExecutor.AbortPolicy()));
+        CountDownLatch blocker = new CountDownLatch(1);
+        source.execute(() -> await(blocker));
+        source.execute(() -> await(blocker));
+
+        CountDownLatch delegated = new CountDownLatch(1);
+        source.execute(delegated::countDown);
+        assertThat(delegated.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(source.getDelegatedCount().sum()).isEqualTo(1);
+        assertThat(source.getRejectCount()).isZero();
+
+        blocker.countDown();
+        source.shutdown();
+        elastic.shutdown();
+    }
+
+    @Test
+    void testLoopFallsBackToSecondaryPolicy() {
+        OneThreadExecutor first = buildExecutor("test-delegate-a",
+                new DelegatingPolicy("test-delegate-b", 0, new ThreadPoolExecutor.AbortPolicy()));
+        OneThreadExecutor second = buildExecutor("test-delegate-b",
+                new DelegatingPolicy("test-delegate-a", 0, new ThreadPoolExecutor.AbortPolicy()));
+        CountDownLatch blocker = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            first.execute(() -> await(blocker));
+            second.execute(() -> await(blocker));
+        }
+
+        // A 转交给 B，B 饱和后不会再转交回 A
+        assertThatThrownBy(() -> first.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(first.getDelegatedCount().sum()).isZero();
+        assertThat(first.getRejectCount()).isEqualTo(1);
+        assertThat(second.getRejectCount()).isEqualTo(1);
+
+        blocker.countDown();
+        first.shutdown();
+        second.shutdown();
+    }
+
+    @Test
+    void testRateLimit() {
+        OneThreadExecutor elastic = buildExecutor("test-elastic-limited", new ThreadPoolExecutor.AbortPolicy());
+        elastic.setMaximumPoolSize(4);
+        elastic.setCorePoolSize(4);
+        OneThreadExecutor source = buildExecutor("test-delegate-limited",
+                new DelegatingPolicy("test-elastic-limited", 1, new ThreadPoolExecutor.DiscardPolicy()));
+        CountDownLatch blocker = new CountDownLatch(1);
+        source.execute(() -> await(blocker));
+        source.execute(() -> await(blocker));
+
+        source.execute(() -> await(blocker));
+        source.execute(() -> await(blocker));
+        assertThat(source.getDelegatedCount().sum()).isEqualTo(1);
+        assertThat(source.getRejectCount()).isEqualTo(1);
+
+        blocker.countDown();
+        source.shutdown();
+        elastic.shutdown();
+    }
+
+    private OneThreadExecutor buildExecutor(String threadPoolId, RejectedExecutionHandler rejectedHandler) {
+        OneThreadExecutor executor = (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId(threadPoolId)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(1)
+                .threadFactory(threadPoolId + "_")
+                .rejectedHandler(rejectedHandler)
+                .build();
+        OneThreadRegistry.putHolder(threadPoolId, executor, new ThreadPoolExecutorProperties().setThreadPoolId(threadPoolId));
+        return executor;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
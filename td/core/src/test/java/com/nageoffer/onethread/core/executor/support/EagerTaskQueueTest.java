@@ -0,0 +1,95 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 优先创建线程任务队列单元测试
+ */
+public class EagerTaskQueueTest {
+
+    @Test
+    void testThreadsGrowBeforeQueueing() throws InterruptedException {
+        OneThreadExecutor executor = (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId("test-eager")
+                .corePoolSize(1)
+                .maximumPoolSize(4)
+                .workQueueType(BlockingQueueTypeEnum.EAGER_TASK_QUEUE)
+                .workQueueCapacity(10)
+                .threadFactory("test-eager_")
+                .build();
+
+        CountDownLatch blocker = new CountDownLatch(1);
+        Runnable blockingTask = () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        for (int i = 0; i < 4; i++) {
+            executor.execute(blockingTask);
+        }
+        assertThat(executor.getQueue()).isEmpty();
+
+        // 线程数达到最大值后任务进入队列
+        executor.execute(blockingTask);
+        assertThat(executor.getQueue()).hasSize(1);
+        assertThat(executor.getRejectCount()).isZero();
+
+        blocker.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getCompletedTaskCount()).isEqualTo(5);
+    }
+
+    @Test
+    void testUnboundQueueBehavesLikeLinkedQueue() {
+        EagerTaskQueue<Runnable> queue = new EagerTaskQueue<>(1);
+        assertThat(queue.offer(() -> {
+        })).isTrue();
+        assertThat(queue.offer(() -> {
+        })).isFalse();
+
+        queue.setCapacity(2);
+        assertThat(queue.offer(() -> {
+        })).isTrue();
+    }
+
+    @Test
+    void testRejectWhenQueueFull() {
+        CountDownLatch blocker = new CountDownLatch(1);
+        ThreadPoolExecutor executor = ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId("test-eager-reject")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.EAGER_TASK_QUEUE)
+                .workQueueCapacity(1)
+                .threadFactory("test-eager-reject_")
+                .rejectedHandler(new ThreadPoolExecutor.DiscardPolicy())
+                .build();
+        Runnable blockingTask = () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.execute(blockingTask);
+        executor.execute(blockingTask);
+        executor.execute(blockingTask);
+
+        assertThat(((OneThreadExecutor) executor).getRejectCount()).isEqualTo(1);
+        blocker.countDown();
+        executor.shutdown();
+    }
+}
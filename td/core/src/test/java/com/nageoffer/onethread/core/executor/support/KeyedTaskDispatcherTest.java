@@ -0,0 +1,220 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 按 Key 串行执行调度器单元测试
+ */
+public class KeyedTaskDispatcherTest {
+
+    @Test
+    void testSameKeyRunsSeriallyInOrder() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        KeyedTaskDispatcher dispatcher = new KeyedTaskDispatcher(executor);
+        int keys = 100;
+        int tasksPerKey = 200;
+        Map<Integer, List<Integer>> results = new ConcurrentHashMap<>();
+        Map<Integer, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger overlapped = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(keys * tasksPerKey);
+
+        for (int i = 0; i < tasksPerKey; i++) {
+            for (int key = 0; key < keys; key++) {
+                int sequence = i;
+                int taskKey = key;
+                dispatcher.execute(taskKey, () -> {
+                    if (running.computeIfAbsent(taskKey, each -> new AtomicInteger()).incrementAndGet() > 1) {
+                        overlapped.incrementAndGet();
+                    }
+                    results.computeIfAbsent(taskKey, each -> new ArrayList<>()).add(sequence);
+                    running.get(taskKey).decrementAndGet();
+                    finished.countDown();
+                });
+            }
+        }
+
+        assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(overlapped.get()).isZero();
+        for (int key = 0; key < keys; key++) {
+            List<Integer> sequences = results.get(key);
+            assertThat(sequences).hasSize(tasksPerKey);
+            for (int i = 0; i < tasksPerKey; i++) {
+                assertThat(sequences.get(i)).isEqualTo(i);
+            }
+        }
+
+        // 所有 Key 执行完成后邮箱被回收
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dispatcher.getActiveKeyCount()).isZero();
+        assertThat(dispatcher.getBacklog()).isZero();
+    }
+
+    @Test
+    void testBacklogPerKey() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        KeyedTaskDispatcher dispatcher = new KeyedTaskDispatcher(executor);
+        CountDownLatch blocker = new CountDownLatch(1);
+        Runnable blockingTask = () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        for (int i = 0; i < 5; i++) {
+            dispatcher.execute("order-1", blockingTask);
+        }
+        dispatcher.execute("order-2", blockingTask);
+
+        assertThat(dispatcher.getActiveKeyCount()).isEqualTo(2);
+        assertThat(dispatcher.getKeyBacklog("order-1")).isEqualTo(5);
+        assertThat(dispatcher.getMaxKeyBacklog()).isEqualTo(5);
+        assertThat(dispatcher.getBacklog()).isEqualTo(6);
+
+        blocker.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dispatcher.getActiveKeyCount()).isZero();
+    }
+
+    @Test
+    void testMaxKeyBacklogFollowsDrain() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        KeyedTaskDispatcher dispatcher = new KeyedTaskDispatcher(executor);
+        Semaphore gate = new Semaphore(0);
+        CountDownLatch blocker = new CountDownLatch(1);
+        for (int i = 0; i < 300; i++) {
+            dispatcher.execute("order-1", gate::acquireUninterruptibly);
+        }
+        dispatcher.execute("order-2", () -> await(blocker));
+        // 超过分级统计上限时遍历邮箱
+        assertThat(dispatcher.getMaxKeyBacklog()).isEqualTo(300);
+
+        gate.release(100);
+        waitUntil(() -> dispatcher.getKeyBacklog("order-1") == 200);
+        assertThat(dispatcher.getMaxKeyBacklog()).isEqualTo(200);
+
+        gate.release(200);
+        waitUntil(() -> dispatcher.getKeyBacklog("order-1") == 0);
+        assertThat(dispatcher.getMaxKeyBacklog()).isEqualTo(1);
+
+        blocker.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dispatcher.getMaxKeyBacklog()).isZero();
+    }
+
+    @Test
+    void testDiscardOldestSkipsDispatchTask() throws InterruptedException {
+        OneThreadExecutor executor = buildExecutor("test-keyed-discard", 2, new ThreadPoolExecutor.DiscardOldestPolicy());
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> await(blocker));
+
+        List<String> executed = new CopyOnWriteArrayList<>();
+        executor.execute(() -> executed.add("plain-1"));
+        executor.execute("order-1", () -> executed.add("keyed-1"));
+        // 队列已满，丢弃最早的普通任务而不是投递任务
+        executor.execute(() -> executed.add("plain-2"));
+        executor.execute("order-1", () -> executed.add("keyed-2"));
+        // 队列中只剩投递任务和刚入队的任务时，继续丢弃普通任务
+        executor.execute(() -> executed.add("plain-3"));
+
+        blocker.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactlyInAnyOrder("keyed-1", "keyed-2", "plain-3");
+        assertThat(executed.indexOf("keyed-1")).isLessThan(executed.indexOf("keyed-2"));
+        assertThat(executor.getKeyedTaskDispatcher().getActiveKeyCount()).isZero();
+    }
+
+    @Test
+    void testFailedTaskCountedAndNextTaskRuns() throws InterruptedException {
+        OneThreadExecutor executor = buildExecutor("test-keyed-failure", 16, new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch finished = new CountDownLatch(1);
+        executor.execute("order-1", () -> {
+            throw new IllegalStateException("Keyed task failed.");
+        });
+        executor.execute("order-1", finished::countDown);
+
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getFailedCount().sum()).isEqualTo(1);
+    }
+
+    @Test
+    void testShutdownNowReturnsPendingKeyedTasks() throws InterruptedException {
+        OneThreadExecutor executor = buildExecutor("test-keyed-shutdown", 16, new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(blocker);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Runnable first = () -> {
+        };
+        Runnable second = () -> {
+        };
+        executor.execute("order-1", first);
+        executor.execute("order-1", second);
+
+        assertThat(executor.shutdownNow()).containsExactly(first, second);
+        assertThat(executor.getKeyedTaskDispatcher().getBacklog()).isZero();
+        assertThatThrownBy(() -> executor.execute("order-1", () -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static OneThreadExecutor buildExecutor(String threadPoolId, int queueCapacity, RejectedExecutionHandler handler) {
+        return (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId(threadPoolId)
+                .threadFactory(threadPoolId)
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.ARRAY_BLOCKING_QUEUE)
+                .workQueueCapacity(queueCapacity)
+                .rejectedHandler(handler)
+                .build();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
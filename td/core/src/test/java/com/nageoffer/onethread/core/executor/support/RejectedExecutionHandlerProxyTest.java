@@ -76,7 +76,7 @@ public class RejectedExecutionHandlerProxyTest {
         ThreadUtil.sleep(1000);
 
         OneThreadExecutor dynamicThreadPoolExecutor = (OneThreadExecutor) executor;
-        Long rejectCount = dynamicThreadPoolExecutor.getRejectCount().get();
+        Long rejectCount = dynamicThreadPoolExecutor.getRejectCount();
         log.info("ThreadPool name :: {}, Reject count :: {}", Thread.currentThread().getName(), rejectCount);
     }
 }
@@ -0,0 +1,116 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 数组环形可调容量队列单元测试
+ */
+public class ResizableArrayRingQueueTest {
+
+    @Test
+    void testFifoAndCapacity() {
+        ResizableArrayRingQueue<Integer> queue = new ResizableArrayRingQueue<>(3);
+        assertThat(queue.offer(1)).isTrue();
+        assertThat(queue.offer(2)).isTrue();
+        assertThat(queue.offer(3)).isTrue();
+        assertThat(queue.offer(4)).isFalse();
+        assertThat(queue.remainingCapacity()).isZero();
+
+        assertThat(queue.poll()).isEqualTo(1);
+        assertThat(queue.peek()).isEqualTo(2);
+        assertThat(queue.poll()).isEqualTo(2);
+        assertThat(queue.poll()).isEqualTo(3);
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    void testSetCapacityGrowsBeyondRingLength() {
+        ResizableArrayRingQueue<Integer> queue = new ResizableArrayRingQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(queue.offer(i)).isTrue();
+        }
+        assertThat(queue.offer(4)).isFalse();
+
+        queue.setCapacity(100);
+        for (int i = 4; i < 100; i++) {
+            assertThat(queue.offer(i)).isTrue();
+        }
+        assertThat(queue.offer(100)).isFalse();
+        assertThat(queue.size()).isEqualTo(100);
+
+        queue.setCapacity(10);
+        assertThat(queue.offer(100)).isFalse();
+        for (int i = 0; i < 100; i++) {
+            assertThat(queue.poll()).isEqualTo(i);
+        }
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testRemoveAndDrain() {
+        ResizableArrayRingQueue<String> queue = new ResizableArrayRingQueue<>(8);
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+        assertThat(queue.remove("b")).isTrue();
+        assertThat(queue.remove("x")).isFalse();
+        assertThat(queue).containsExactly("a", "c");
+
+        List<String> drained = new ArrayList<>();
+        assertThat(queue.drainTo(drained)).isEqualTo(2);
+        assertThat(drained).containsExactly("a", "c");
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    void testBlockingWithMultipleProducersAndConsumers() throws InterruptedException {
+        ResizableArrayRingQueue<Long> queue = new ResizableArrayRingQueue<>(16);
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20_000;
+        AtomicLong sum = new AtomicLong();
+        CountDownLatch consumed = new CountDownLatch(producers * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+
+        for (int i = 0; i < consumers; i++) {
+            executor.execute(() -> {
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        Long value = queue.poll(10, TimeUnit.MILLISECONDS);
+                        if (value != null) {
+                            sum.addAndGet(value);
+                            consumed.countDown();
+                        }
+                    }
+                } catch (InterruptedException ignored) {
+                }
+            });
+        }
+        for (int i = 0; i < producers; i++) {
+            executor.execute(() -> {
+                try {
+                    for (long value = 1; value <= perProducer; value++) {
+                        queue.put(value);
+                    }
+                } catch (InterruptedException ignored) {
+                }
+            });
+        }
+        // 运行过程中扩容，验证不丢失元素
+        queue.setCapacity(4096);
+
+        assertThat(consumed.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdownNow();
+        assertThat(sum.get()).isEqualTo((long) producers * perProducer * (perProducer + 1) / 2);
+    }
+}
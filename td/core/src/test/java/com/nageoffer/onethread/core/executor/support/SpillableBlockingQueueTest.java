@@ -0,0 +1,216 @@
+package com.nageoffer.onethread.core.executor.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.MappedByteBuffer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 溢写磁盘阻塞队列单元测试
+ */
+public class SpillableBlockingQueueTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void testSpillAndDrainInOrder() throws InterruptedException {
+        SpillableBlockingQueue<Runnable> queue = new SpillableBlockingQueue<>(4);
+        queue.configure(spillDirectory.toString(), 1, 4);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(queue.offer(new SerializableTask(i))).isTrue();
+        }
+        assertThat(queue.size()).isEqualTo(1000);
+        assertThat(queue.getSpilledSize()).isEqualTo(996);
+
+        for (int i = 0; i < 1000; i++) {
+            SerializableTask task = (SerializableTask) queue.poll(1, TimeUnit.SECONDS);
+            assertThat(task.index).isEqualTo(i);
+        }
+        assertThat(queue.isEmpty()).isTrue();
+
+        // 磁盘读空后重新回到内存队列
+        assertThat(queue.offer(new SerializableTask(1000))).isTrue();
+        assertThat(queue.getSpilledSize()).isZero();
+    }
+
+    @Test
+    void testTimedRunnableKeepsEnqueueTime() {
+        SpillableBlockingQueue<Runnable> queue = new SpillableBlockingQueue<>(1);
+        queue.configure(spillDirectory.toString(), 1, 1);
+        queue.offer(new TimedRunnable(new SerializableTask(0)));
+        TimedRunnable spilled = new TimedRunnable(new SerializableTask(1));
+        assertThat(queue.offer(spilled)).isTrue();
+
+        queue.poll();
+        Runnable restored = queue.poll();
+        assertThat(restored).isInstanceOf(TimedRunnable.class);
+        assertThat(((TimedRunnable) restored).getEnqueueNanos()).isEqualTo(spilled.getEnqueueNanos());
+        assertThat(((SerializableTask) TimedRunnable.unwrap(restored)).index).isEqualTo(1);
+    }
+
+    @Test
+    void testRejectWhenNotSerializableOrDiskFull() {
+        SpillableBlockingQueue<Runnable> queue = new SpillableBlockingQueue<>(1);
+        queue.configure(spillDirectory.toString(), 1, 1);
+        assertThat(queue.offer(() -> {
+        })).isTrue();
+        assertThat(queue.offer(() -> {
+        })).isFalse();
+
+        int spilled = 0;
+        while (queue.offer(new SerializableTask(spilled))) {
+            spilled++;
+        }
+        assertThat(spilled).isPositive();
+        assertThat(queue.getSpilledSize()).isEqualTo(spilled);
+
+        List<Runnable> drained = new ArrayList<>();
+        assertThat(queue.drainTo(drained)).isEqualTo(spilled + 1);
+    }
+
+    @Test
+    void testSkipRecordThatCannotBeDecoded() throws InterruptedException {
+        SpillableBlockingQueue<Runnable> queue = new SpillableBlockingQueue<>(1);
+        queue.configure(spillDirectory.toString(), 1, 1);
+        queue.offer(new SerializableTask(0));
+        assertThat(queue.offer(new UndecodableTask())).isTrue();
+        assertThat(queue.offer(new SerializableTask(2))).isTrue();
+        assertThat(queue.getSpilledSize()).isEqualTo(2);
+
+        assertThat(((SerializableTask) queue.take()).index).isEqualTo(0);
+        assertThat(((SerializableTask) queue.take()).index).isEqualTo(2);
+        assertThat(queue.getSpilledSize()).isZero();
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.peek()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+
+        // 计数恢复正常后仍可继续入队和溢写
+        assertThat(queue.offer(new SerializableTask(3))).isTrue();
+        assertThat(queue.offer(new SerializableTask(4))).isTrue();
+        assertThat(queue.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testCorruptedHeaderDiscardsRestOfSegment() throws Exception {
+        SpillableBlockingQueue<Runnable> queue = new SpillableBlockingQueue<>(1);
+        queue.configure(spillDirectory.toString(), 1, 4);
+        queue.offer(new LargeTask(0));
+        // 每个分段只能容纳两个任务，1、2 在第一个分段，3 在第二个分段
+        for (int i = 1; i <= 3; i++) {
+            assertThat(queue.offer(new LargeTask(i))).isTrue();
+        }
+        assertThat(queue.getSpilledSize()).isEqualTo(3);
+
+        // 破坏第一个分段中第一条记录的长度
+        Field segmentsField = SpillableBlockingQueue.class.getDeclaredField("segments");
+        segmentsField.setAccessible(true);
+        Object segment = ((ArrayDeque<?>) segmentsField.get(queue)).peekFirst();
+        Field bufferField = segment.getClass().getDeclaredField("buffer");
+        bufferField.setAccessible(true);
+        ((MappedByteBuffer) bufferField.get(segment)).putInt(0, -1);
+
+        assertThat(((LargeTask) queue.poll()).index).isEqualTo(0);
+        assertThat(queue.getSpilledSize()).isZero();
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(((LargeTask) queue.poll()).index).isEqualTo(3);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testOnlySpilledClassesCanBeDecoded() throws IOException {
+        SpillableBlockingQueue.JdkSerializationCodec codec = new SpillableBlockingQueue.JdkSerializationCodec();
+        assertThat(((SerializableTask) codec.decode(codec.encode(new SerializableTask(7)))).index).isEqualTo(7);
+
+        // 未经溢写序列化过的类视为外部写入的数据，拒绝反序列化
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ForgedTask());
+        }
+        assertThatThrownBy(() -> codec.decode(bytes.toByteArray())).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void testSegmentDirectoryOwnerOnly() throws IOException {
+        SpillableBlockingQueue<Runnable> queue = new SpillableBlockingQueue<>(1);
+        queue.configure(spillDirectory.toString(), 1, 1);
+        queue.offer(new SerializableTask(0));
+        assertThat(queue.offer(new SerializableTask(1))).isTrue();
+
+        List<Path> directories;
+        try (Stream<Path> children = Files.list(spillDirectory)) {
+            directories = children.collect(Collectors.toList());
+        }
+        assertThat(directories).hasSize(1);
+        assertThat(directories.get(0).getFileName().toString()).startsWith("onethread-spill-");
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(directories.get(0)))).isEqualTo("rwx------");
+        }
+    }
+
+    static class ForgedTask implements Runnable, Serializable {
+
+        @Override
+        public void run() {
+        }
+    }
+
+    static class LargeTask implements Runnable, Serializable {
+
+        private final int index;
+        private final byte[] payload = new byte[400 * 1024];
+
+        LargeTask(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+
+    static class UndecodableTask implements Runnable, Serializable {
+
+        @Override
+        public void run() {
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException {
+            throw new IOException("Class changed.");
+        }
+    }
+
+    static class SerializableTask implements Runnable, Serializable {
+
+        private final int index;
+
+        SerializableTask(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+}
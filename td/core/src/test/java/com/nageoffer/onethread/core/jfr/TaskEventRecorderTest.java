@@ -0,0 +1,90 @@
+package com.nageoffer.onethread.core.jfr;
+
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 任务生命周期 JFR 事件单元测试
+ */
+public class TaskEventRecorderTest {
+
+    @Test
+    void testOnlySlowTasksAndRejectionsAreRecorded() throws Exception {
+        ThreadPoolExecutor executor = ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId("test-jfr")
+                .threadFactory("test-jfr")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.ARRAY_BLOCKING_QUEUE)
+                .workQueueCapacity(1)
+                .rejectedHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+
+        Path file = Files.createTempFile("onethread-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TaskQueueEvent.class).withThreshold(Duration.ofMillis(100));
+            recording.enable(TaskExecuteEvent.class).withThreshold(Duration.ofMillis(100));
+            recording.enable(TaskRejectEvent.class);
+            recording.start();
+
+            CountDownLatch finished = new CountDownLatch(2);
+            executor.execute(() -> {
+                sleep(200);
+                finished.countDown();
+            });
+            executor.execute(finished::countDown);
+            assertThatThrownBy(() -> executor.execute(() -> {
+            })).isInstanceOf(RejectedExecutionException.class);
+            assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(each -> "test-jfr".equals(each.getString("threadPoolId")))
+                .collect(Collectors.toList());
+        Files.deleteIfExists(file);
+
+        // 慢任务只产生执行事件，排在其后的快任务只产生排队事件
+        assertThat(events).extracting(each -> each.getEventType().getName()).containsExactlyInAnyOrder(
+                "com.nageoffer.onethread.TaskExecute",
+                "com.nageoffer.onethread.TaskQueue",
+                "com.nageoffer.onethread.TaskReject"
+        );
+        RecordedEvent rejectEvent = events.stream()
+                .filter(each -> each.getEventType().getName().equals("com.nageoffer.onethread.TaskReject"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(rejectEvent.getString("rejectedHandler")).isEqualTo("AbortPolicy");
+        assertThat(rejectEvent.getInt("queueSize")).isEqualTo(1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
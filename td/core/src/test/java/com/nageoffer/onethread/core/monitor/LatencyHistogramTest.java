@@ -0,0 +1,67 @@
+package com.nageoffer.onethread.core.monitor;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 耗时直方图单元测试
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    void testBucketBoundsAreContiguous() {
+        long previousUpperBound = -1;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long upperBound = LatencyHistogram.bucketUpperBound(i);
+            assertThat(LatencyHistogram.bucketIndex(previousUpperBound + 1)).isEqualTo(i);
+            assertThat(LatencyHistogram.bucketIndex(upperBound)).isEqualTo(i);
+            previousUpperBound = upperBound;
+        }
+    }
+
+    @Test
+    void testPercentileWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        long p50 = histogram.valueAtPercentile(50D);
+        long p99 = histogram.valueAtPercentile(99D);
+        assertThat(p50).isBetween(500_000L, 562_500L);
+        assertThat(p99).isBetween(990_000L, 1_113_750L);
+        assertThat(LatencyHistogram.valueAtPercentile(new long[LatencyHistogram.BUCKET_COUNT], 99D)).isZero();
+    }
+
+    @Test
+    void testExecutorRecordsQueueWaitAndExecuteTime() throws InterruptedException {
+        OneThreadExecutor executor = new OneThreadExecutor(
+                "test-histogram", 1, 1, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), Thread::new, new ThreadPoolExecutor.AbortPolicy(), 0);
+        CountDownLatch latch = new CountDownLatch(2);
+        Runnable sleepTask = () -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+            }
+            latch.countDown();
+        };
+        executor.execute(sleepTask);
+        executor.execute(sleepTask);
+        latch.await(1, TimeUnit.SECONDS);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+
+        assertThat(executor.getExecuteTimeHistogram().valueAtPercentile(50D)).isGreaterThanOrEqualTo(20_000L);
+        // 第二个任务需要等待第一个任务执行完成
+        assertThat(executor.getQueueWaitHistogram().valueAtPercentile(100D)).isGreaterThanOrEqualTo(15_000L);
+        assertThat(executor.getCompletedTaskCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,81 @@
+package com.nageoffer.onethread.core.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 线程池指标历史单元测试
+ */
+public class ThreadPoolMetricsHistoryTest {
+
+    @Test
+    void testFineSeriesKeepsLatestPoints() {
+        ThreadPoolMetricsHistory history = new ThreadPoolMetricsHistory(0L, 1000L, 4, 2);
+        for (int i = 1; i <= 10; i++) {
+            history.record(runtimeInfo("pool-a", i, i * 100L), i);
+        }
+
+        ThreadPoolMetricsHistorySeries series = history.query("pool-a", false, 0L, 10_000L);
+        assertThat(series.getResolutionMillis()).isEqualTo(1000L);
+        assertThat(series.getTimestamps()).containsExactly(7000L, 8000L, 9000L, 10_000L);
+        assertThat(series.getSeries().get("queue.size")).containsExactly(7L, 8L, 9L, 10L);
+        assertThat(series.getSeries().get("completed.task.count")).containsExactly(100L, 100L, 100L, 100L);
+        assertThat(series.getSeries().get("queue.wait.p99")).containsExactly(-1L, -1L, -1L, -1L);
+    }
+
+    @Test
+    void testCoarseSeriesAggregatesAverageAndMax() {
+        ThreadPoolMetricsHistory history = new ThreadPoolMetricsHistory(0L, 1000L, 60, 1);
+        for (int i = 0; i < 120; i++) {
+            history.record(runtimeInfo("pool-a", i, 0L), i);
+        }
+
+        ThreadPoolMetricsHistorySeries series = history.query("pool-a", true, 0L, 119_000L);
+        assertThat(series.getResolutionMillis()).isEqualTo(60_000L);
+        assertThat(series.getTimestamps()).containsExactly(0L, 60_000L);
+        assertThat(series.getSeries().get("queue.size")).containsExactly(29L, 89L);
+        assertThat(series.getSeries().get("queue.size.max")).containsExactly(59L, 119L);
+    }
+
+    @Test
+    void testPoolsBeyondLimitAreNotRecorded() {
+        ThreadPoolMetricsHistory history = new ThreadPoolMetricsHistory(0L, 1000L, 4, 1);
+        history.record(runtimeInfo("pool-a", 1, 0L), 1);
+        history.record(runtimeInfo("pool-b", 1, 0L), 1);
+
+        assertThat(history.query("pool-a", false, 0L, 1000L).getTimestamps()).hasSize(1);
+        assertThat(history.query("pool-b", false, 0L, 1000L)).isNull();
+    }
+
+    @Test
+    void testSlotsFollowCollectSequence() {
+        ThreadPoolMetricsHistory history = new ThreadPoolMetricsHistory(1500L, 1000L, 4, 1);
+        for (int i = 0; i < 3; i++) {
+            history.record(runtimeInfo("pool-a", i, 0L), i);
+        }
+
+        ThreadPoolMetricsHistorySeries series = history.query("pool-a", false, 2000L, 3500L);
+        assertThat(series.getTimestamps()).containsExactly(2500L, 3500L);
+        assertThat(series.getSeries().get("queue.size")).containsExactly(1L, 2L);
+        assertThat(history.query("pool-a", false, 0L, 1000L).getTimestamps()).isEmpty();
+    }
+
+    @Test
+    void testRejectOversizedHistory() {
+        assertThatThrownBy(() -> new ThreadPoolMetricsHistory(0L, 1000L, Integer.MAX_VALUE / 2, 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ThreadPoolRuntimeInfo runtimeInfo(String threadPoolId, int queueSize, long completedTaskCount) {
+        return ThreadPoolRuntimeInfo.builder()
+                .threadPoolId(threadPoolId)
+                .activePoolSize(1)
+                .currentPoolSize(2)
+                .workQueueSize(queueSize)
+                .completedTaskCount(completedTaskCount)
+                .rejectCount(0L)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.nageoffer.onethread.core.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 线程池指标 Prometheus 文本格式导出器单元测试
+ */
+public class ThreadPoolPrometheusExporterTest {
+
+    @Test
+    void testRenderOnlyApplicableMetrics() {
+        ThreadPoolPrometheusExporter exporter = new ThreadPoolPrometheusExporter("127.0.0.1", 0);
+        exporter.register(ThreadPoolRuntimeInfo.builder()
+                .threadPoolId("onethread-producer")
+                .corePoolSize(4)
+                .completedTaskCount(1234567890123L)
+                .rejectCount(3L)
+                .oneThreadExecutor(true)
+                .queueWaitTimeP99(87L)
+                .build());
+        exporter.register(ThreadPoolRuntimeInfo.builder()
+                .threadPoolId("native-\"pool\"")
+                .corePoolSize(2)
+                .rejectCount(-1L)
+                .build());
+
+        exporter.render();
+        String text = exporter.getBuffer().toString(StandardCharsets.UTF_8);
+
+        assertThat(text).containsOnlyOnce("# TYPE dynamic_thread_pool_core_size gauge\n");
+        assertThat(text).contains("dynamic_thread_pool_completed_task_count_total{dynamic_thread_pool_id=\"onethread-producer\"");
+        assertThat(text).contains("} 1234567890123\n");
+        assertThat(text).contains("dynamic_thread_pool_queue_wait_p99{dynamic_thread_pool_id=\"onethread-producer\"");
+        assertThat(text).contains("dynamic_thread_pool_id=\"native-\\\"pool\\\"\"");
+        // 原生线程池没有拒绝次数和耗时分位指标
+        assertThat(text).doesNotContain("dynamic_thread_pool_reject_count_total{dynamic_thread_pool_id=\"native");
+        assertThat(text).doesNotContain("dynamic_thread_pool_queue_wait_p99{dynamic_thread_pool_id=\"native");
+        assertThat(text).doesNotContain("steal_count");
+    }
+
+    @Test
+    void testListenOnConfiguredHost() throws IOException {
+        ThreadPoolPrometheusExporter exporter = new ThreadPoolPrometheusExporter("127.0.0.1", 0);
+        exporter.start();
+        try {
+            assertThat(exporter.getAddress().getAddress().isLoopbackAddress()).isTrue();
+            assertThat(exporter.getAddress().getPort()).isPositive();
+        } finally {
+            exporter.stop();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.nageoffer.onethread.core.monitor;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 线程池运行时信息 JSON 序列化器单元测试
+ */
+public class ThreadPoolRuntimeInfoJsonWriterTest {
+
+    private final ThreadPoolRuntimeInfoJsonWriter writer = new ThreadPoolRuntimeInfoJsonWriter();
+
+    @Test
+    void testWriteThreadPoolExecutor() {
+        ThreadPoolRuntimeInfo runtimeInfo = ThreadPoolRuntimeInfo.builder()
+                .threadPoolId("pool-\"1\"\n")
+                .corePoolSize(2)
+                .workQueueName("LinkedBlockingQueue")
+                .rejectCount(-1L)
+                .build();
+
+        JSONObject json = JSON.parseObject(writer.write(runtimeInfo).toString());
+        assertThat(json.getString("threadPoolId")).isEqualTo("pool-\"1\"\n");
+        assertThat(json.getIntValue("corePoolSize")).isEqualTo(2);
+        assertThat(json.getLongValue("rejectCount")).isEqualTo(-1L);
+        assertThat(json).doesNotContainKeys("queueWaitTimeP99", "runnableRatio", "stealCount");
+    }
+
+    @Test
+    void testWriteOnlyApplicableFields() {
+        ThreadPoolRuntimeInfo runtimeInfo = ThreadPoolRuntimeInfo.builder()
+                .threadPoolId("onethread-producer")
+                .oneThreadExecutor(true)
+                .queueWaitTimeP99(42L)
+                .threadSampled(true)
+                .cpuUtilizationPerThread(-1)
+                .runnableRatio(30)
+                .build();
+
+        JSONObject json = JSON.parseObject(writer.write(runtimeInfo).toString());
+        assertThat(json.getLongValue("queueWaitTimeP99")).isEqualTo(42L);
+        assertThat(json.getIntValue("runnableRatio")).isEqualTo(30);
+        assertThat(json).doesNotContainKeys("cpuUtilizationPerThread", "stealCount");
+
+        // 缓冲区复用，再次写入不残留上一次的内容
+        runtimeInfo.setOneThreadExecutor(false);
+        runtimeInfo.setThreadSampled(false);
+        json = JSON.parseObject(writer.write(runtimeInfo).toString());
+        assertThat(json).doesNotContainKeys("queueWaitTimeP99", "runnableRatio");
+    }
+}
@@ -0,0 +1,127 @@
+package com.nageoffer.onethread.core.monitor;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolExecutorBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 线程池工作线程采样器单元测试
+ */
+public class ThreadPoolThreadSamplerTest {
+
+    private final Map<Long, Long> cpuTimeMap = new HashMap<>();
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+    private final ThreadPoolThreadSampler sampler = new ThreadPoolThreadSampler(threadMXBean(cpuTimeMap), clock::get);
+    private OneThreadExecutor executor;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        executor = (OneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .dynamicPool()
+                .threadPoolId("test-sampler")
+                .threadFactory("test-sampler")
+                .corePoolSize(2)
+                .maximumPoolSize(4)
+                .workQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(16)
+                .build();
+        executor.prestartAllCoreThreads();
+        awaitIdleWorkers(2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testPercentage() {
+        assertThat(ThreadPoolThreadSampler.percentage(1, 3)).isEqualTo(33);
+        assertThat(ThreadPoolThreadSampler.percentage(2, 3)).isEqualTo(67);
+        assertThat(ThreadPoolThreadSampler.percentage(0, 3)).isZero();
+        // 线程数在周期内变化时 CPU 耗时可能超过平均线程数对应的时长
+        assertThat(ThreadPoolThreadSampler.percentage(150, 100)).isEqualTo(100);
+    }
+
+    @Test
+    void testFirstCollectWithoutSamples() {
+        // 未调用 sampleStates 时采集前补采一次，首次采集没有 CPU 基准
+        ThreadPoolRuntimeInfo runtimeInfo = collect();
+        assertThat(runtimeInfo.isThreadSampled()).isTrue();
+        assertThat(runtimeInfo.getCpuUtilizationPerThread()).isEqualTo(-1);
+        assertThat(runtimeInfo.getWaitingRatio()).isEqualTo(100);
+        assertThat(runtimeInfo.getRunnableRatio()).isZero();
+        assertThat(runtimeInfo.getBlockedRatio()).isZero();
+    }
+
+    @Test
+    void testCpuUtilizationDelta() throws InterruptedException {
+        setCpuTimeMillis(50L);
+        collect();
+
+        // 两个线程在 1 秒内各耗时 100 毫秒
+        setCpuTimeMillis(150L);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(collect().getCpuUtilizationPerThread()).isEqualTo(10);
+
+        // 新线程按全部 CPU 耗时计入，已有线程本周期没有 CPU 耗时
+        executor.setCorePoolSize(3);
+        executor.prestartAllCoreThreads();
+        awaitIdleWorkers(3);
+        for (Thread thread : executor.getWorkerThreads()) {
+            cpuTimeMap.putIfAbsent(thread.getId(), TimeUnit.MILLISECONDS.toNanos(600L));
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(collect().getCpuUtilizationPerThread()).isEqualTo(20);
+    }
+
+    private ThreadPoolRuntimeInfo collect() {
+        ThreadPoolRuntimeInfo runtimeInfo = ThreadPoolRuntimeInfo.builder()
+                .threadPoolId("test-sampler")
+                .build();
+        sampler.fill(runtimeInfo, executor);
+        return runtimeInfo;
+    }
+
+    private void setCpuTimeMillis(long cpuTimeMillis) {
+        for (Thread thread : executor.getWorkerThreads()) {
+            cpuTimeMap.put(thread.getId(), TimeUnit.MILLISECONDS.toNanos(cpuTimeMillis));
+        }
+    }
+
+    private void awaitIdleWorkers(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (executor.getWorkerThreads().size() == count
+                    && executor.getWorkerThreads().stream().allMatch(each -> each.getState() == Thread.State.WAITING)) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Workers not idle.");
+    }
+
+    private static ThreadMXBean threadMXBean(Map<Long, Long> cpuTimeMap) {
+        return (ThreadMXBean) Proxy.newProxyInstance(
+                ThreadMXBean.class.getClassLoader(),
+                new Class<?>[]{ThreadMXBean.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "isThreadCpuTimeSupported", "isThreadCpuTimeEnabled" -> true;
+                    case "getThreadCpuTime" -> cpuTimeMap.getOrDefault((Long) args[0], -1L);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,219 @@
+package com.nageoffer.onethread.core.notification.service;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.nageoffer.onethread.core.config.BootstrapConfigProperties;
+import com.nageoffer.onethread.core.notification.dto.ThreadPoolAlarmNotifyDTO;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 异步批量通知调度器单元测试，使用本地 HTTP 服务模拟钉钉机器人
+ */
+public class NotifierDispatcherTest {
+
+    private HttpServer server;
+    private BootstrapConfigProperties originalProperties;
+    private final List<JSONObject> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private volatile CountDownLatch blocker = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/robot/send", exchange -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String response;
+            if (failuresBeforeSuccess.getAndDecrement() > 0) {
+                response = "{\"errcode\":130101,\"errmsg\":\"send too fast\"}";
+            } else {
+                requests.add(JSON.parseObject(body));
+                response = "{\"errcode\":0,\"errmsg\":\"ok\"}";
+            }
+            byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        });
+        server.start();
+
+        BootstrapConfigProperties.NotifyPlatformsConfig notifyPlatforms = new BootstrapConfigProperties.NotifyPlatformsConfig();
+        notifyPlatforms.setPlatform("DING");
+        notifyPlatforms.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/robot/send");
+        BootstrapConfigProperties properties = new BootstrapConfigProperties();
+        properties.setNotifyPlatforms(notifyPlatforms);
+        originalProperties = BootstrapConfigProperties.getInstance();
+        BootstrapConfigProperties.setInstance(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blocker.countDown();
+        server.stop(0);
+        BootstrapConfigProperties.setInstance(originalProperties);
+    }
+
+    @Test
+    void testAlarmsAreMergedIntoOneMessage() throws InterruptedException {
+        NotifierDispatcher dispatcher = new NotifierDispatcher(16, 10, 500L, 3, 10L);
+        dispatcher.start();
+        for (int i = 0; i < 3; i++) {
+            dispatcher.sendAlarmMessage(alarm());
+        }
+
+        waitUntilRequests(1);
+        dispatcher.stop();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getJSONObject("markdown").getString("title")).contains("3");
+    }
+
+    @Test
+    void testAlarmsAreMergedPerReceivers() throws InterruptedException {
+        NotifierDispatcher dispatcher = new NotifierDispatcher(16, 10, 500L, 3, 10L);
+        dispatcher.start();
+        dispatcher.sendAlarmMessage(alarm("test-notify-" + UUID.randomUUID(), "13800000001"));
+        dispatcher.sendAlarmMessage(alarm("test-notify-" + UUID.randomUUID(), "13800000002"));
+        dispatcher.sendAlarmMessage(alarm("test-notify-" + UUID.randomUUID(), "13800000001"));
+
+        waitUntilRequests(2);
+        dispatcher.stop();
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getJSONObject("at").getList("atMobiles", String.class)).containsExactly("13800000001");
+        assertThat(requests.get(0).getJSONObject("markdown").getString("title")).contains("2");
+        assertThat(requests.get(1).getJSONObject("at").getList("atMobiles", String.class)).containsExactly("13800000002");
+    }
+
+    @Test
+    void testFailedAlarmDoesNotConsumeRateWindow() throws InterruptedException {
+        failuresBeforeSuccess.set(1);
+        NotifierDispatcher dispatcher = new NotifierDispatcher(16, 10, 0L, 0, 10L);
+        dispatcher.start();
+        String threadPoolId = "test-notify-" + UUID.randomUUID();
+        dispatcher.sendAlarmMessage(alarm(threadPoolId, "15601166691"));
+        Thread.sleep(500);
+        assertThat(requests).isEmpty();
+
+        // 上一条告警发送失败，同一线程池同类告警不受限流影响
+        dispatcher.sendAlarmMessage(alarm(threadPoolId, "15601166691"));
+        waitUntilRequests(1);
+
+        // 送达后占用限流窗口
+        dispatcher.sendAlarmMessage(alarm(threadPoolId, "15601166691"));
+        Thread.sleep(200);
+        dispatcher.stop();
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void testRetryWithBackoff() throws InterruptedException {
+        failuresBeforeSuccess.set(2);
+        NotifierDispatcher dispatcher = new NotifierDispatcher(16, 10, 0L, 3, 10L);
+        dispatcher.start();
+        dispatcher.sendAlarmMessage(alarm());
+
+        waitUntilRequests(1);
+        dispatcher.stop();
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void testDropOldestWhenQueueIsFull() throws InterruptedException {
+        blocker = new CountDownLatch(1);
+        NotifierDispatcher dispatcher = new NotifierDispatcher(2, 1, 0L, 0, 10L);
+        dispatcher.start();
+
+        // 第一条被投递线程取出后阻塞在 HTTP 请求上，后续通知写满队列
+        dispatcher.sendAlarmMessage(alarm());
+        Thread.sleep(200);
+        for (int i = 0; i < 4; i++) {
+            dispatcher.sendAlarmMessage(alarm());
+        }
+        assertThat(dispatcher.getDroppedCount().sum()).isEqualTo(2);
+
+        blocker.countDown();
+        waitUntilRequests(3);
+        dispatcher.stop();
+        assertThat(requests).hasSize(3);
+    }
+
+    @Test
+    void testInterruptedFlushReleasesUnsentAlarms() throws InterruptedException {
+        failuresBeforeSuccess.set(Integer.MAX_VALUE);
+        NotifierDispatcher dispatcher = new NotifierDispatcher(16, 10, 200L, 3, TimeUnit.SECONDS.toMillis(30));
+        dispatcher.start();
+        String firstThreadPoolId = "test-notify-" + UUID.randomUUID();
+        String secondThreadPoolId = "test-notify-" + UUID.randomUUID();
+        String queuedThreadPoolId = "test-notify-" + UUID.randomUUID();
+        dispatcher.sendAlarmMessage(alarm(firstThreadPoolId, "13800000001"));
+        dispatcher.sendAlarmMessage(alarm(secondThreadPoolId, "13800000002"));
+
+        // 第一组发送失败后进入退避，第二组和队列中的告警还未发送，停止超时后投递线程被中断
+        Thread.sleep(500);
+        dispatcher.sendAlarmMessage(alarm(queuedThreadPoolId, "13800000003"));
+        dispatcher.stop();
+        Thread.sleep(100);
+
+        assertThat(requests).isEmpty();
+        assertThat(AlarmRateLimiter.tryAcquire(firstThreadPoolId, "Reject", 5)).isNotZero();
+        assertThat(AlarmRateLimiter.tryAcquire(secondThreadPoolId, "Reject", 5)).isNotZero();
+        assertThat(AlarmRateLimiter.tryAcquire(queuedThreadPoolId, "Reject", 5)).isNotZero();
+    }
+
+    private ThreadPoolAlarmNotifyDTO alarm() {
+        return alarm("test-notify-" + UUID.randomUUID(), "15601166691");
+    }
+
+    private ThreadPoolAlarmNotifyDTO alarm(String threadPoolId, String receives) {
+        return ThreadPoolAlarmNotifyDTO.builder()
+                .threadPoolId(threadPoolId)
+                .applicationName("test")
+                .activeProfile("dev")
+                .identify("127.0.0.1")
+                .receives(receives)
+                .alarmType("Reject")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .currentPoolSize(1)
+                .activePoolSize(1)
+                .largestPoolSize(1)
+                .completedTaskCount(0L)
+                .workQueueName("LinkedBlockingQueue")
+                .workQueueCapacity(1)
+                .workQueueSize(1)
+                .workQueueRemainingCapacity(0)
+                .rejectedHandlerName("AbortPolicy")
+                .rejectCount(1L)
+                .currentTime("2025-01-01 00:00:00")
+                .interval(5)
+                .build();
+    }
+
+    private void waitUntilRequests(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(requests).hasSizeGreaterThanOrEqualTo(count);
+    }
+}
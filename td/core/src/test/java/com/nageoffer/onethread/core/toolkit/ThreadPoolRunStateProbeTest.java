@@ -0,0 +1,85 @@
+package com.nageoffer.onethread.core.toolkit;
+
+import com.nageoffer.onethread.core.executor.VirtualThreadOneThreadExecutor;
+import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolRunStateProbe.RunState;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 线程池运行状态探测器单元测试，无论能否直接读取 ctl 字段结果都应一致
+ */
+public class ThreadPoolRunStateProbeTest {
+
+    @Test
+    void testThreadPoolExecutorLifecycle() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(ThreadPoolRunStateProbe.probe(executor)).isEqualTo(RunState.RUNNING);
+
+        executor.shutdown();
+        assertThat(ThreadPoolRunStateProbe.probe(executor)).isEqualTo(RunState.SHUTDOWN);
+        assertThat(ThreadPoolRunStateProbe.probe(executor).getStatus()).isEqualTo("Shutting down");
+
+        blocker.countDown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ThreadPoolRunStateProbe.probe(executor)).isEqualTo(RunState.TERMINATED);
+    }
+
+    @Test
+    void testVirtualThreadExecutorLifecycle() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require JDK 21 or later.");
+        VirtualThreadOneThreadExecutor executor = (VirtualThreadOneThreadExecutor) ThreadPoolExecutorBuilder.builder()
+                .threadPoolId("test-probe-virtual")
+                .corePoolSize(1)
+                .maximumPoolSize(1)
+                .workQueueType(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE)
+                .workQueueCapacity(10)
+                .virtualThreads("test-probe-virtual_")
+                .build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 父类没有工作线程，ctl 在 shutdown 后立即到达 TERMINATED，但虚拟线程中的任务仍在执行
+        executor.shutdown();
+        assertThat(ThreadPoolRunStateProbe.probe(executor)).isEqualTo(RunState.SHUTDOWN);
+
+        blocker.countDown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ThreadPoolRunStateProbe.probe(executor)).isEqualTo(RunState.TERMINATED);
+    }
+
+    @Test
+    void testForkJoinPoolLifecycle() throws Exception {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(1);
+        assertThat(ThreadPoolRunStateProbe.probe(forkJoinPool)).isEqualTo(RunState.RUNNING);
+
+        forkJoinPool.shutdown();
+        assertThat(forkJoinPool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ThreadPoolRunStateProbe.probe(forkJoinPool)).isEqualTo(RunState.TERMINATED);
+    }
+}
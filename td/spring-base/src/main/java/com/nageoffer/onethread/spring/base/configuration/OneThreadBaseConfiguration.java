@@ -1,6 +1,7 @@
 package com.nageoffer.onethread.spring.base.configuration;
 
 import com.nageoffer.onethread.core.alarm.ThreadPoolAlarmChecker;
+import com.nageoffer.onethread.core.autoscale.ThreadPoolAutoScaler;
 import com.nageoffer.onethread.core.config.BootstrapConfigProperties;
 import com.nageoffer.onethread.core.monitor.ThreadPoolMonitor;
 import com.nageoffer.onethread.core.notification.service.NotifierDispatcher;
@@ -28,7 +29,7 @@ public class OneThreadBaseConfiguration {
         return new OneThreadBeanPostProcessor(properties);
     }
 
-    @Bean
+    @Bean(initMethod = "start", destroyMethod = "stop")
     public NotifierDispatcher notifierDispatcher() {
         return new NotifierDispatcher();
     }
@@ -47,4 +48,9 @@ public class OneThreadBaseConfiguration {
     public ThreadPoolMonitor threadPoolMonitor() {
         return new ThreadPoolMonitor();
     }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ThreadPoolAutoScaler threadPoolAutoScaler(NotifierDispatcher notifierDispatcher) {
+        return new ThreadPoolAutoScaler(notifierDispatcher);
+    }
 }
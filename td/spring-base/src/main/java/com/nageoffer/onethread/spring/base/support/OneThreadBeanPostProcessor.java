@@ -3,10 +3,13 @@ package com.nageoffer.onethread.spring.base.support;
 import cn.hutool.core.lang.Assert;
 import cn.hutool.core.util.ReflectUtil;
 import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadForkJoinPool;
 import com.nageoffer.onethread.core.executor.OneThreadRegistry;
 import com.nageoffer.onethread.core.executor.ThreadPoolExecutorProperties;
 import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.executor.support.CoDelBlockingQueue;
 import com.nageoffer.onethread.core.executor.support.RejectedPolicyTypeEnum;
+import com.nageoffer.onethread.core.executor.support.SpillableBlockingQueue;
 import com.nageoffer.onethread.spring.base.DynamicThreadPool;
 import com.nageoffer.onethread.core.config.BootstrapConfigProperties;
 import lombok.RequiredArgsConstructor;
@@ -54,6 +57,26 @@ public class OneThreadBeanPostProcessor implements BeanPostProcessor {//Spring
 
             // 注册到动态线程池注册器，后续监控和报警从注册器获取线程池实例。同时，参数动态变更需要依赖 ThreadPoolExecutorProperties 比对是否有边跟
             OneThreadRegistry.putHolder(oneThreadExecutor.getThreadPoolId(), oneThreadExecutor, executorProperties);
+        } else if (bean instanceof OneThreadForkJoinPool) {
+            try {
+                if (Objects.isNull(ApplicationContextHolder.findAnnotationOnBean(beanName, DynamicThreadPool.class))) {
+                    return bean;
+                }
+            } catch (Exception ex) {
+                log.error("Failed to create dynamic fork join pool in annotation mode.", ex);
+                return bean;
+            }
+
+            OneThreadForkJoinPool forkJoinPool = (OneThreadForkJoinPool) bean;
+            ThreadPoolExecutorProperties executorProperties = properties.getExecutors()
+                    .stream()
+                    .filter(each -> Objects.equals(forkJoinPool.getThreadPoolId(), each.getThreadPoolId()))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("The thread pool id does not exist in the configuration."));
+
+            // 核心线程数作为并行度，队列、拒绝策略等参数对 ForkJoinPool 不生效
+            forkJoinPool.reconfigure(executorProperties.getCorePoolSize(), executorProperties.getMaximumPoolSize(), executorProperties.getKeepAliveTime());
+            OneThreadRegistry.putHolder(forkJoinPool.getThreadPoolId(), forkJoinPool, executorProperties);
         }
 
         return bean;
@@ -81,10 +104,23 @@ public class OneThreadBeanPostProcessor implements BeanPostProcessor {//Spring
         // IDE 中通过在 VM options 中添加参数：--add-opens=java.base/java.util.concurrent=ALL-UNNAMED
         // 部署的时候，在启动脚本（如 java -jar 命令）中加入该参数：java -jar --add-opens=java.base/java.util.concurrent=ALL-UNNAMED your-app.jar
         ReflectUtil.setFieldValue(oneThreadExecutor, "workQueue", workQueue);
+        oneThreadExecutor.bindWorkQueue(workQueue);
+        if (workQueue instanceof SpillableBlockingQueue && executorProperties.getSpill() != null) {
+            ThreadPoolExecutorProperties.SpillConfig spill = executorProperties.getSpill();
+            ((SpillableBlockingQueue<?>) workQueue).configure(spill.getDirectory(), spill.getSegmentSize(), spill.getMaxSegments());
+        }
+        if (workQueue instanceof CoDelBlockingQueue && executorProperties.getCodel() != null) {
+            ThreadPoolExecutorProperties.CoDelConfig codel = executorProperties.getCodel();
+            ((CoDelBlockingQueue<?>) workQueue).configure(codel.getTargetDelay(), codel.getInterval());
+        }
 
         // 赋值动态线程池其他核心参数
         oneThreadExecutor.setKeepAliveTime(executorProperties.getKeepAliveTime(), TimeUnit.SECONDS);
         oneThreadExecutor.allowCoreThreadTimeOut(executorProperties.getAllowCoreThreadTimeOut());
-        oneThreadExecutor.setRejectedExecutionHandler(RejectedPolicyTypeEnum.createPolicy(executorProperties.getRejectedHandler()));
+        oneThreadExecutor.setRejectedExecutionHandler(RejectedPolicyTypeEnum.createPolicy(executorProperties));
+        if (executorProperties.getExecuteTimeout() != null) {
+            ThreadPoolExecutorProperties.ExecuteTimeoutConfig executeTimeout = executorProperties.getExecuteTimeout();
+            oneThreadExecutor.setExecuteTimeout(executeTimeout.getTimeout(), Boolean.TRUE.equals(executeTimeout.getInterrupt()));
+        }
     }
 }
@@ -1,8 +1,13 @@
 package com.nageoffer.onethread.config.common.starter.refresher;
 
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import com.nageoffer.onethread.core.config.BootstrapConfigProperties;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorProperties;
 import com.nageoffer.onethread.core.parser.ConfigParserHandler;
 import com.nageoffer.onethread.spring.base.support.ApplicationContextHolder;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -13,17 +18,32 @@ import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * 基于模板方法模式抽象动态线程池刷新逻辑
+ * <p>
+ * 推送内容未变化时直接跳过；内容变化时按线程池粒度对比，只绑定并分发发生变化的线程池配置
  */
 @Slf4j
 @RequiredArgsConstructor
 public abstract class AbstractDynamicThreadPoolRefresher implements ApplicationRunner {
 
+    private static final String REFRESH_METRIC_NAME = "dynamic.thread-pool.config.refresh";
+    private static final String RESULT_TAG = "result";
+
     protected final BootstrapConfigProperties properties;
 
+    private final ThreadPoolConfigDiffer configDiffer = new ThreadPoolConfigDiffer();
+
+    /**
+     * 上一次推送内容的 MD5
+     */
+    private String lastContentMd5;
+
     /**
      * 注册配置变更监听器，由子类实现具体逻辑
      *
@@ -51,16 +71,78 @@ public abstract class AbstractDynamicThreadPoolRefresher implements ApplicationR
     }
 
     @SneakyThrows
-    public void refreshThreadPoolProperties(String configInfo) {
-        Map<Object, Object> configInfoMap = ConfigParserHandler.getInstance().parseConfig(configInfo, properties.getConfigFileType());
-        ConfigurationPropertySource sources = new MapConfigurationPropertySource(configInfoMap);//将 Map 格式的配置数据转换为 Spring 可识别的配置源（Spring Boot 提供的一个配置属性源实现）
-        Binder binder = new Binder(sources);
-        BootstrapConfigProperties refresherProperties = binder.bind(BootstrapConfigProperties.PREFIX, Bindable.ofInstance(properties)).get();
-
-        // 发布线程池配置变更事件，触发所有监听器执行线程池参数对比与刷新操作
-        // 当前支持的监听器包括：
-        // - {@link com.nageoffer.onethread.config.common.starter.refresher.DynamicThreadPoolRefreshListener}
-        // - {@link com.nageoffer.onethread.web.starter.core.WebThreadPoolRefreshListener}
-        ApplicationContextHolder.getInstance().publishEvent(new ThreadPoolConfigUpdateEvent(this, refresherProperties));
+    public synchronized void refreshThreadPoolProperties(String configInfo) {
+        // 推送内容与上一次完全一致时直接跳过，无需解析和绑定
+        String contentMd5 = DigestUtil.md5Hex(StrUtil.nullToEmpty(configInfo));
+        if (Objects.equals(contentMd5, lastContentMd5)) {
+            Metrics.counter(REFRESH_METRIC_NAME, RESULT_TAG, "skipped").increment();
+            return;
+        }
+
+        try {
+            Map<Object, Object> configInfoMap = ConfigParserHandler.getInstance().parseConfig(configInfo, properties.getConfigFileType());
+            ThreadPoolConfigDiffer.DiffResult diffResult = configDiffer.diff(configInfoMap);
+            lastContentMd5 = contentMd5;
+            if (diffResult.isEmpty()) {
+                // 仅格式、注释或顺序变化
+                Metrics.counter(REFRESH_METRIC_NAME, RESULT_TAG, "skipped").increment();
+                return;
+            }
+
+            // 线程池以外的配置发生变化时才重新绑定，且绑定源中不包含线程池配置，避免重建全部线程池配置对象
+            if (diffResult.isCommonChanged()) {
+                Binder commonBinder = new Binder(new MapConfigurationPropertySource(diffResult.getCommonConfig()));
+                commonBinder.bind(BootstrapConfigProperties.PREFIX, Bindable.ofInstance(properties));
+            }
+
+            // 只绑定发生变化的线程池配置
+            ConfigurationPropertySource sources = new MapConfigurationPropertySource(configInfoMap);//将 Map 格式的配置数据转换为 Spring 可识别的配置源（Spring Boot 提供的一个配置属性源实现）
+            Binder binder = new Binder(sources);
+            List<ThreadPoolExecutorProperties> changedExecutors = new ArrayList<>();
+            diffResult.getChangedExecutorIndexes().forEach((threadPoolId, index) -> binder
+                    .bind(BootstrapConfigProperties.PREFIX + ".executors[" + index + "]", ThreadPoolExecutorProperties.class)
+                    .ifBound(executorProperties -> {
+                        changedExecutors.add(executorProperties);
+                        replaceExecutorProperties(executorProperties);
+                    }));
+
+            BootstrapConfigProperties refresherProperties = new BootstrapConfigProperties();
+            BeanUtil.copyProperties(properties, refresherProperties);
+            refresherProperties.setExecutors(changedExecutors);
+            if (!diffResult.isCommonChanged()) {
+                refresherProperties.setWeb(null);
+            }
+
+            Metrics.counter(REFRESH_METRIC_NAME, RESULT_TAG, "applied").increment();
+            Metrics.counter(REFRESH_METRIC_NAME + ".executors").increment(changedExecutors.size());
+
+            // 发布线程池配置变更事件，触发所有监听器执行线程池参数对比与刷新操作
+            // 事件中只包含发生变化的线程池配置；线程池以外的配置未变化时 Web 线程池配置为空
+            // 当前支持的监听器包括：
+            // - {@link com.nageoffer.onethread.config.common.starter.refresher.DynamicThreadPoolRefreshListener}
+            // - {@link com.nageoffer.onethread.web.starter.core.WebThreadPoolRefreshListener}
+            ApplicationContextHolder.getInstance().publishEvent(new ThreadPoolConfigUpdateEvent(this, refresherProperties));
+        } catch (Exception ex) {
+            // 刷新失败时清空对比记录，下一次推送按全量处理
+            lastContentMd5 = null;
+            configDiffer.reset();
+            throw ex;
+        }
+    }
+
+    private void replaceExecutorProperties(ThreadPoolExecutorProperties executorProperties) {
+        List<ThreadPoolExecutorProperties> executors = properties.getExecutors() != null
+                ? new ArrayList<>(properties.getExecutors())
+                : new ArrayList<>();
+        // 原位替换，保持线程池在配置中的顺序
+        for (int i = 0; i < executors.size(); i++) {
+            if (Objects.equals(executors.get(i).getThreadPoolId(), executorProperties.getThreadPoolId())) {
+                executors.set(i, executorProperties);
+                properties.setExecutors(executors);
+                return;
+            }
+        }
+        executors.add(executorProperties);
+        properties.setExecutors(executors);
     }
 }
@@ -3,12 +3,17 @@ package com.nageoffer.onethread.config.common.starter.refresher;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.date.DateUtil;
 import com.nageoffer.onethread.core.config.BootstrapConfigProperties;
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
 import com.nageoffer.onethread.core.executor.OneThreadRegistry;
 import com.nageoffer.onethread.core.executor.ThreadPoolExecutorHolder;
 import com.nageoffer.onethread.core.executor.ThreadPoolExecutorProperties;
 import com.nageoffer.onethread.core.executor.support.BlockingQueueTypeEnum;
+import com.nageoffer.onethread.core.executor.support.CoDelBlockingQueue;
+import com.nageoffer.onethread.core.executor.support.DelegatingPolicy;
 import com.nageoffer.onethread.core.executor.support.RejectedPolicyTypeEnum;
-import com.nageoffer.onethread.core.executor.support.ResizableCapacityLinkedBlockingQueue;
+import com.nageoffer.onethread.core.executor.support.ResizableCapacityQueue;
+import com.nageoffer.onethread.core.executor.support.SpillableBlockingQueue;
+import com.nageoffer.onethread.core.jfr.ThreadPoolConfigChangeEvent;
 import com.nageoffer.onethread.core.notification.dto.ThreadPoolConfigChangeDTO;
 import com.nageoffer.onethread.core.notification.service.NotifierDispatcher;
 import com.nageoffer.onethread.spring.base.support.ApplicationContextHolder;
@@ -22,6 +27,7 @@ import java.net.InetAddress;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -51,21 +57,29 @@ public class DynamicThreadPoolRefreshListener implements ApplicationListener<Thr
         // 刷新动态线程池对象核心参数
         for (ThreadPoolExecutorProperties remoteProperties : refresherProperties.getExecutors()) {
             String threadPoolId = remoteProperties.getThreadPoolId();
-            // 以线程池 ID 为粒度加锁，避免多个线程同时刷新同一个线程池
-            synchronized (threadPoolId.intern()) {
+            ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(threadPoolId);
+            if (holder == null) {
+                log.warn("No thread pool found for thread pool id: {}", threadPoolId);
+                continue;
+            }
+            // 以线程池为粒度加锁，与自动扩缩容共用同一把锁，避免多个线程同时修改同一个线程池
+            synchronized (holder.getUpdateLock()) {
                 // 检查线程池配置是否发生变化（与当前内存中的配置对比）
                 boolean changed = hasThreadPoolConfigChanged(remoteProperties);
                 if (!changed) {
                     continue;
                 }
 
-                // 将远程配置应用到线程池，更新相关参数
+                // 将远程配置应用到线程池，更新相关参数，应用耗时计入 JFR 配置变更事件
+                ThreadPoolConfigChangeEvent configChangeEvent = new ThreadPoolConfigChangeEvent();
+                configChangeEvent.begin();
                 updateThreadPoolFromRemoteConfig(remoteProperties);
+                configChangeEvent.end();
 
                 // 线程池参数变更后进行日志打印
-                ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(threadPoolId);
                 ThreadPoolExecutorProperties originalProperties = holder.getExecutorProperties();
                 holder.setExecutorProperties(remoteProperties);
+                commitConfigChangeEvent(configChangeEvent, originalProperties, remoteProperties);
 
                 // 发送线程池配置变更消息通知
                 sendThreadPoolConfigChangeMessage(originalProperties, remoteProperties);
@@ -87,12 +101,11 @@ public class DynamicThreadPoolRefreshListener implements ApplicationListener<Thr
     private boolean hasThreadPoolConfigChanged(ThreadPoolExecutorProperties remoteProperties) {
         String threadPoolId = remoteProperties.getThreadPoolId();
         ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(threadPoolId);
-        if (holder == null) {
-            log.warn("No thread pool found for thread pool id: {}", threadPoolId);
-            return false;
-        }
         ThreadPoolExecutor executor = holder.getExecutor();
         ThreadPoolExecutorProperties originalProperties = holder.getExecutorProperties();
+        if (holder.isForkJoinPool()) {
+            return isForkJoinPoolConfigChanged(originalProperties, remoteProperties);
+        }
 
         return hasDifference(originalProperties, remoteProperties, executor);
     }
@@ -102,6 +115,15 @@ public class DynamicThreadPoolRefreshListener implements ApplicationListener<Thr
         ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(threadPoolId);
         ThreadPoolExecutor executor = holder.getExecutor();
         ThreadPoolExecutorProperties originalProperties = holder.getExecutorProperties();
+        if (holder.isForkJoinPool()) {
+            // ForkJoinPool 并行度不可修改，重建并切换到新池
+            holder.getForkJoinPool().reconfigure(
+                    Optional.ofNullable(remoteProperties.getCorePoolSize()).orElse(originalProperties.getCorePoolSize()),
+                    Optional.ofNullable(remoteProperties.getMaximumPoolSize()).orElse(originalProperties.getMaximumPoolSize()),
+                    Optional.ofNullable(remoteProperties.getKeepAliveTime()).orElse(originalProperties.getKeepAliveTime())
+            );
+            return;
+        }
 
         Integer remoteCorePoolSize = remoteProperties.getCorePoolSize();
         Integer remoteMaximumPoolSize = remoteProperties.getMaximumPoolSize();
@@ -128,9 +150,8 @@ public class DynamicThreadPoolRefreshListener implements ApplicationListener<Thr
             executor.allowCoreThreadTimeOut(remoteProperties.getAllowCoreThreadTimeOut());
         }
 
-        if (remoteProperties.getRejectedHandler() != null &&
-                !Objects.equals(remoteProperties.getRejectedHandler(), originalProperties.getRejectedHandler())) {
-            RejectedExecutionHandler handler = RejectedPolicyTypeEnum.createPolicy(remoteProperties.getRejectedHandler());
+        if (isRejectedHandlerChanged(originalProperties, remoteProperties)) {
+            RejectedExecutionHandler handler = RejectedPolicyTypeEnum.createPolicy(remoteProperties);
             executor.setRejectedExecutionHandler(handler);
         }
 
@@ -139,23 +160,80 @@ public class DynamicThreadPoolRefreshListener implements ApplicationListener<Thr
             executor.setKeepAliveTime(remoteProperties.getKeepAliveTime(), TimeUnit.SECONDS);
         }
 
-        // 更新队列容量（仅对 ResizableCapacityLinkedBlockingQueue 生效）
+        // 更新队列容量（仅对实现 ResizableCapacityQueue 的队列生效）
         if (isQueueCapacityChanged(originalProperties, remoteProperties, executor)) {
             BlockingQueue<Runnable> queue = executor.getQueue();
-            ResizableCapacityLinkedBlockingQueue<?> resizableQueue = (ResizableCapacityLinkedBlockingQueue<?>) queue;
+            ResizableCapacityQueue resizableQueue = (ResizableCapacityQueue) queue;
             resizableQueue.setCapacity(remoteProperties.getQueueCapacity());
         }
+
+        // 更新溢写参数（仅对 SpillableBlockingQueue 生效，只影响新建的分段文件）
+        if (isSpillConfigChanged(originalProperties, remoteProperties, executor)) {
+            ThreadPoolExecutorProperties.SpillConfig spill = remoteProperties.getSpill();
+            ((SpillableBlockingQueue<?>) executor.getQueue()).configure(spill.getDirectory(), spill.getSegmentSize(), spill.getMaxSegments());
+        }
+
+        // 更新排队时延准入控制参数（仅对 CoDelBlockingQueue 生效）
+        if (isCoDelConfigChanged(originalProperties, remoteProperties, executor)) {
+            ThreadPoolExecutorProperties.CoDelConfig codel = remoteProperties.getCodel();
+            ((CoDelBlockingQueue<?>) executor.getQueue()).configure(codel.getTargetDelay(), codel.getInterval());
+        }
+
+        // 更新任务执行超时检测参数（仅对 OneThreadExecutor 生效，正在执行的任务仍按原超时时间检测）
+        if (isExecuteTimeoutConfigChanged(originalProperties, remoteProperties, executor)) {
+            ThreadPoolExecutorProperties.ExecuteTimeoutConfig executeTimeout = remoteProperties.getExecuteTimeout();
+            ((OneThreadExecutor) executor).setExecuteTimeout(executeTimeout.getTimeout(), Boolean.TRUE.equals(executeTimeout.getInterrupt()));
+        }
     }
 
+    /**
+     * 线程数同时与线程池实例对比，自动扩缩容只调整实例而不修改配置属性，下发配置值时需要恢复
+     */
     private boolean hasDifference(ThreadPoolExecutorProperties originalProperties,
                                   ThreadPoolExecutorProperties remoteProperties,
                                   ThreadPoolExecutor executor) {
         return isChanged(originalProperties.getCorePoolSize(), remoteProperties.getCorePoolSize())
+                || isChanged(executor.getCorePoolSize(), remoteProperties.getCorePoolSize())
                 || isChanged(originalProperties.getMaximumPoolSize(), remoteProperties.getMaximumPoolSize())
+                || isChanged(executor.getMaximumPoolSize(), remoteProperties.getMaximumPoolSize())
                 || isChanged(originalProperties.getAllowCoreThreadTimeOut(), remoteProperties.getAllowCoreThreadTimeOut())
                 || isChanged(originalProperties.getKeepAliveTime(), remoteProperties.getKeepAliveTime())
-                || isChanged(originalProperties.getRejectedHandler(), remoteProperties.getRejectedHandler())
-                || isQueueCapacityChanged(originalProperties, remoteProperties, executor);
+                || isRejectedHandlerChanged(originalProperties, remoteProperties)
+                || isQueueCapacityChanged(originalProperties, remoteProperties, executor)
+                || isSpillConfigChanged(originalProperties, remoteProperties, executor)
+                || isCoDelConfigChanged(originalProperties, remoteProperties, executor)
+                || isExecuteTimeoutConfigChanged(originalProperties, remoteProperties, executor)
+                || isAlarmOrNotifyChanged(originalProperties, remoteProperties);
+    }
+
+    private boolean isForkJoinPoolConfigChanged(ThreadPoolExecutorProperties originalProperties,
+                                                ThreadPoolExecutorProperties remoteProperties) {
+        return isChanged(originalProperties.getCorePoolSize(), remoteProperties.getCorePoolSize())
+                || isChanged(originalProperties.getMaximumPoolSize(), remoteProperties.getMaximumPoolSize())
+                || isChanged(originalProperties.getKeepAliveTime(), remoteProperties.getKeepAliveTime())
+                || isAlarmOrNotifyChanged(originalProperties, remoteProperties);
+    }
+
+    /**
+     * 报警和通知配置在检查时从线程池属性读取，无需修改线程池实例，变更后替换属性即可生效
+     */
+    private boolean isAlarmOrNotifyChanged(ThreadPoolExecutorProperties originalProperties,
+                                           ThreadPoolExecutorProperties remoteProperties) {
+        return isChanged(originalProperties.getAlarm(), remoteProperties.getAlarm())
+                || isChanged(originalProperties.getNotify(), remoteProperties.getNotify());
+    }
+
+    private boolean isRejectedHandlerChanged(ThreadPoolExecutorProperties originalProperties,
+                                             ThreadPoolExecutorProperties remoteProperties) {
+        if (remoteProperties.getRejectedHandler() == null) {
+            return false;
+        }
+        // 限时阻塞策略、借用线程池策略的参数变更同样需要重建拒绝策略
+        return isChanged(originalProperties.getRejectedHandler(), remoteProperties.getRejectedHandler())
+                || (Objects.equals(remoteProperties.getRejectedHandler(), RejectedPolicyTypeEnum.BLOCKING_WITH_TIMEOUT_POLICY.getName())
+                && isChanged(originalProperties.getBlockingPolicy(), remoteProperties.getBlockingPolicy()))
+                || (remoteProperties.getRejectedHandler().startsWith(DelegatingPolicy.POLICY_NAME_PREFIX)
+                && isChanged(originalProperties.getDelegatePolicy(), remoteProperties.getDelegatePolicy()));
     }
 
     private <T> boolean isChanged(T before, T after) {
@@ -171,7 +249,53 @@ public class DynamicThreadPoolRefreshListener implements ApplicationListener<Thr
 
         return remoteCapacity != null
                 && !Objects.equals(remoteCapacity, originalCapacity)
-                && Objects.equals(BlockingQueueTypeEnum.RESIZABLE_CAPACITY_LINKED_BLOCKING_QUEUE.getName(), queue.getClass().getSimpleName());
+                && queue instanceof ResizableCapacityQueue;
+    }
+
+    private boolean isSpillConfigChanged(ThreadPoolExecutorProperties originalProperties,
+                                         ThreadPoolExecutorProperties remoteProperties,
+                                         ThreadPoolExecutor executor) {
+        return remoteProperties.getSpill() != null
+                && !Objects.equals(originalProperties.getSpill(), remoteProperties.getSpill())
+                && executor.getQueue() instanceof SpillableBlockingQueue;
+    }
+
+    private boolean isCoDelConfigChanged(ThreadPoolExecutorProperties originalProperties,
+                                         ThreadPoolExecutorProperties remoteProperties,
+                                         ThreadPoolExecutor executor) {
+        return remoteProperties.getCodel() != null
+                && !Objects.equals(originalProperties.getCodel(), remoteProperties.getCodel())
+                && executor.getQueue() instanceof CoDelBlockingQueue;
+    }
+
+    private boolean isExecuteTimeoutConfigChanged(ThreadPoolExecutorProperties originalProperties,
+                                                  ThreadPoolExecutorProperties remoteProperties,
+                                                  ThreadPoolExecutor executor) {
+        return remoteProperties.getExecuteTimeout() != null
+                && !Objects.equals(originalProperties.getExecuteTimeout(), remoteProperties.getExecuteTimeout())
+                && executor instanceof OneThreadExecutor;
+    }
+
+    private void commitConfigChangeEvent(ThreadPoolConfigChangeEvent event,
+                                         ThreadPoolExecutorProperties originalProperties,
+                                         ThreadPoolExecutorProperties remoteProperties) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.threadPoolId = originalProperties.getThreadPoolId();
+        event.corePoolSizeBefore = Optional.ofNullable(originalProperties.getCorePoolSize()).orElse(-1);
+        event.corePoolSizeAfter = Optional.ofNullable(remoteProperties.getCorePoolSize()).orElse(event.corePoolSizeBefore);
+        event.maximumPoolSizeBefore = Optional.ofNullable(originalProperties.getMaximumPoolSize()).orElse(-1);
+        event.maximumPoolSizeAfter = Optional.ofNullable(remoteProperties.getMaximumPoolSize()).orElse(event.maximumPoolSizeBefore);
+        event.queueCapacityBefore = Optional.ofNullable(originalProperties.getQueueCapacity()).orElse(-1);
+        event.queueCapacityAfter = Optional.ofNullable(remoteProperties.getQueueCapacity()).orElse(event.queueCapacityBefore);
+        event.keepAliveTimeBefore = Optional.ofNullable(originalProperties.getKeepAliveTime()).orElse(-1L);
+        event.keepAliveTimeAfter = Optional.ofNullable(remoteProperties.getKeepAliveTime()).orElse(event.keepAliveTimeBefore);
+        event.rejectedHandlerBefore = originalProperties.getRejectedHandler();
+        event.rejectedHandlerAfter = Optional.ofNullable(remoteProperties.getRejectedHandler()).orElse(event.rejectedHandlerBefore);
+        event.allowCoreThreadTimeOutBefore = Boolean.TRUE.equals(originalProperties.getAllowCoreThreadTimeOut());
+        event.allowCoreThreadTimeOutAfter = Optional.ofNullable(remoteProperties.getAllowCoreThreadTimeOut()).orElse(event.allowCoreThreadTimeOutBefore);
+        event.commit();
     }
 
     @SneakyThrows
@@ -0,0 +1,120 @@
+package com.nageoffer.onethread.config.common.starter.refresher;
+
+import com.nageoffer.onethread.core.config.BootstrapConfigProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 配置中心推送内容增量对比器
+ * <p>
+ * 以扁平化后的配置项为输入，按线程池 ID 分组后与上一次推送对比，只返回发生变化的线程池下标；
+ * 线程池以外的配置（如 Web 线程池、通知平台）作为整体对比
+ */
+@Slf4j
+class ThreadPoolConfigDiffer {
+
+    private static final Pattern EXECUTOR_KEY_PATTERN = Pattern.compile(
+            "^" + Pattern.quote(BootstrapConfigProperties.PREFIX + ".executors") + "\\[(\\d+)]\\.(.+)$");
+
+    /**
+     * 上一次推送的线程池配置，key 为线程池 ID，value 为去掉下标前缀后的配置项
+     */
+    private Map<String, Map<String, Object>> lastExecutorConfigs = new HashMap<>();
+
+    /**
+     * 上一次推送的线程池以外的配置项
+     */
+    private Map<String, Object> lastCommonConfig;
+
+    /**
+     * 对比本次推送与上一次推送的差异，并记录本次推送内容
+     *
+     * @param configInfoMap 扁平化后的配置项
+     * @return 差异结果
+     */
+    DiffResult diff(Map<Object, Object> configInfoMap) {
+        Map<Integer, Map<String, Object>> executorConfigsByIndex = new TreeMap<>();
+        Map<String, Object> commonConfig = new HashMap<>();
+        configInfoMap.forEach((key, value) -> {
+            String name = String.valueOf(key);
+            Matcher matcher = EXECUTOR_KEY_PATTERN.matcher(name);
+            if (matcher.matches()) {
+                executorConfigsByIndex.computeIfAbsent(Integer.parseInt(matcher.group(1)), each -> new HashMap<>())
+                        .put(matcher.group(2), value);
+            } else {
+                commonConfig.put(name, value);
+            }
+        });
+
+        Map<String, Map<String, Object>> executorConfigs = new HashMap<>();
+        Map<String, Integer> changedExecutorIndexes = new LinkedHashMap<>();
+        executorConfigsByIndex.forEach((index, executorConfig) -> {
+            String threadPoolId = getThreadPoolId(executorConfig);
+            if (threadPoolId == null) {
+                log.warn("Skip executor config without thread pool id, index: {}", index);
+                return;
+            }
+            executorConfigs.put(threadPoolId, executorConfig);
+            if (!Objects.equals(lastExecutorConfigs.get(threadPoolId), executorConfig)) {
+                changedExecutorIndexes.put(threadPoolId, index);
+            }
+        });
+
+        boolean commonChanged = !Objects.equals(lastCommonConfig, commonConfig);
+        lastExecutorConfigs = executorConfigs;
+        lastCommonConfig = commonConfig;
+        return new DiffResult(commonChanged, commonConfig, changedExecutorIndexes);
+    }
+
+    /**
+     * 清空上一次推送记录，下一次推送按全量变更处理
+     */
+    void reset() {
+        lastExecutorConfigs = new HashMap<>();
+        lastCommonConfig = null;
+    }
+
+    private String getThreadPoolId(Map<String, Object> executorConfig) {
+        // 兼容 thread-pool-id、threadPoolId 等宽松绑定写法
+        for (Map.Entry<String, Object> entry : executorConfig.entrySet()) {
+            String name = entry.getKey().replace("-", "").replace("_", "");
+            if ("threadpoolid".equalsIgnoreCase(name) && entry.getValue() != null) {
+                return entry.getValue().toString();
+            }
+        }
+        return null;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class DiffResult {
+
+        /**
+         * 线程池以外的配置是否发生变化
+         */
+        private final boolean commonChanged;
+
+        /**
+         * 线程池以外的配置项
+         */
+        private final Map<String, Object> commonConfig;
+
+        /**
+         * 发生变化的线程池，key 为线程池 ID，value 为配置中的下标
+         */
+        private final Map<String, Integer> changedExecutorIndexes;
+
+        boolean isEmpty() {
+            return !commonChanged && changedExecutorIndexes.isEmpty();
+        }
+    }
+}
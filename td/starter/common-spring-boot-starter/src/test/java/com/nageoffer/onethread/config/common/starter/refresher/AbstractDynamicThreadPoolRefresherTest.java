@@ -0,0 +1,90 @@
+package com.nageoffer.onethread.config.common.starter.refresher;
+
+import com.nageoffer.onethread.core.config.BootstrapConfigProperties;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorProperties;
+import com.nageoffer.onethread.core.parser.ConfigFileTypeEnum;
+import com.nageoffer.onethread.spring.base.support.ApplicationContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 动态线程池刷新模板单元测试
+ */
+public class AbstractDynamicThreadPoolRefresherTest {
+
+    private static final String CONFIG = """
+            onethread.executors[0].thread-pool-id=pool-a
+            onethread.executors[0].core-pool-size=4
+            onethread.executors[1].thread-pool-id=pool-b
+            onethread.executors[1].core-pool-size=8
+            """;
+
+    private final List<ThreadPoolConfigUpdateEvent> events = new CopyOnWriteArrayList<>();
+    private GenericApplicationContext context;
+    private BootstrapConfigProperties properties;
+    private AbstractDynamicThreadPoolRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        context = new GenericApplicationContext();
+        context.addApplicationListener(event -> {
+            if (event instanceof ThreadPoolConfigUpdateEvent) {
+                events.add((ThreadPoolConfigUpdateEvent) event);
+            }
+        });
+        context.refresh();
+        new ApplicationContextHolder().setApplicationContext(context);
+
+        properties = new BootstrapConfigProperties();
+        properties.setConfigFileType(ConfigFileTypeEnum.PROPERTIES);
+        refresher = new AbstractDynamicThreadPoolRefresher(properties) {
+            @Override
+            protected void registerListener() {
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void testSameContentSkipped() {
+        refresher.refreshThreadPoolProperties(CONFIG);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getBootstrapConfigProperties().getExecutors()).hasSize(2);
+
+        // 内容完全一致时按 MD5 跳过
+        refresher.refreshThreadPoolProperties(CONFIG);
+        assertThat(events).hasSize(1);
+
+        // 仅注释变化时 MD5 不同，但对比后没有变化
+        refresher.refreshThreadPoolProperties("# comment\n" + CONFIG);
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void testChangedExecutorReplacedInPlace() {
+        refresher.refreshThreadPoolProperties(CONFIG);
+
+        refresher.refreshThreadPoolProperties(CONFIG.replace("executors[0].core-pool-size=4", "executors[0].core-pool-size=6"));
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1).getBootstrapConfigProperties().getExecutors())
+                .extracting(ThreadPoolExecutorProperties::getThreadPoolId)
+                .containsExactly("pool-a");
+
+        // 替换后线程池在配置中的顺序不变
+        assertThat(properties.getExecutors())
+                .extracting(ThreadPoolExecutorProperties::getThreadPoolId)
+                .containsExactly("pool-a", "pool-b");
+        assertThat(properties.getExecutors().get(0).getCorePoolSize()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,109 @@
+package com.nageoffer.onethread.config.common.starter.refresher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 配置中心推送内容增量对比器单元测试
+ */
+public class ThreadPoolConfigDifferTest {
+
+    private final ThreadPoolConfigDiffer differ = new ThreadPoolConfigDiffer();
+
+    @Test
+    void testFirstPushReportsAllExecutors() {
+        ThreadPoolConfigDiffer.DiffResult result = differ.diff(config(executor(0, "pool-a", 4), executor(1, "pool-b", 8)));
+
+        assertThat(result.isCommonChanged()).isTrue();
+        assertThat(result.getChangedExecutorIndexes()).containsEntry("pool-a", 0).containsEntry("pool-b", 1);
+    }
+
+    @Test
+    void testNoChange() {
+        differ.diff(config(executor(0, "pool-a", 4), executor(1, "pool-b", 8)));
+
+        ThreadPoolConfigDiffer.DiffResult result = differ.diff(config(executor(0, "pool-a", 4), executor(1, "pool-b", 8)));
+        assertThat(result.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testSingleExecutorChanged() {
+        differ.diff(config(executor(0, "pool-a", 4), executor(1, "pool-b", 8)));
+
+        ThreadPoolConfigDiffer.DiffResult result = differ.diff(config(executor(0, "pool-a", 4), executor(1, "pool-b", 16)));
+        assertThat(result.isCommonChanged()).isFalse();
+        assertThat(result.getChangedExecutorIndexes()).hasSize(1).containsEntry("pool-b", 1);
+    }
+
+    @Test
+    void testReorderedExecutorsUseNewIndexes() {
+        differ.diff(config(executor(0, "pool-a", 4), executor(1, "pool-b", 8)));
+
+        // 仅调整顺序不算变化
+        ThreadPoolConfigDiffer.DiffResult result = differ.diff(config(executor(0, "pool-b", 8), executor(1, "pool-a", 4)));
+        assertThat(result.isEmpty()).isTrue();
+
+        // 调整顺序的同时修改配置，返回本次推送中的下标
+        result = differ.diff(config(executor(0, "pool-a", 6), executor(1, "pool-b", 8)));
+        assertThat(result.getChangedExecutorIndexes()).hasSize(1).containsEntry("pool-a", 0);
+    }
+
+    @Test
+    void testExecutorAddedAndRemoved() {
+        differ.diff(config(executor(0, "pool-a", 4), executor(1, "pool-b", 8)));
+
+        ThreadPoolConfigDiffer.DiffResult result = differ.diff(config(executor(0, "pool-b", 8), executor(1, "pool-c", 2)));
+        // 新增的线程池需要刷新；移除的线程池不会出现在结果中
+        assertThat(result.getChangedExecutorIndexes()).hasSize(1).containsEntry("pool-c", 1);
+
+        // 重新加入已移除的线程池按新增处理
+        result = differ.diff(config(executor(0, "pool-a", 4), executor(1, "pool-b", 8), executor(2, "pool-c", 2)));
+        assertThat(result.getChangedExecutorIndexes()).hasSize(1).containsEntry("pool-a", 0);
+    }
+
+    @Test
+    void testCommonOnlyChange() {
+        Map<Object, Object> config = config(executor(0, "pool-a", 4));
+        config.put("onethread.notify-platforms.platform", "DING");
+        differ.diff(config);
+
+        Map<Object, Object> changedConfig = config(executor(0, "pool-a", 4));
+        changedConfig.put("onethread.notify-platforms.platform", "LARK");
+        ThreadPoolConfigDiffer.DiffResult result = differ.diff(changedConfig);
+        assertThat(result.isCommonChanged()).isTrue();
+        assertThat(result.getCommonConfig()).containsEntry("onethread.notify-platforms.platform", "LARK");
+        assertThat(result.getChangedExecutorIndexes()).isEmpty();
+    }
+
+    @Test
+    void testResetTreatsNextPushAsFullChange() {
+        differ.diff(config(executor(0, "pool-a", 4)));
+        differ.reset();
+
+        ThreadPoolConfigDiffer.DiffResult result = differ.diff(config(executor(0, "pool-a", 4)));
+        assertThat(result.isCommonChanged()).isTrue();
+        assertThat(result.getChangedExecutorIndexes()).containsEntry("pool-a", 0);
+    }
+
+    @SafeVarargs
+    private static Map<Object, Object> config(Map<Object, Object>... executors) {
+        Map<Object, Object> config = new HashMap<>();
+        config.put("onethread.enable", "true");
+        for (Map<Object, Object> each : executors) {
+            config.putAll(each);
+        }
+        return config;
+    }
+
+    private static Map<Object, Object> executor(int index, String threadPoolId, int corePoolSize) {
+        String prefix = "onethread.executors[" + index + "].";
+        Map<Object, Object> executor = new HashMap<>();
+        executor.put(prefix + "thread-pool-id", threadPoolId);
+        executor.put(prefix + "core-pool-size", String.valueOf(corePoolSize));
+        return executor;
+    }
+}
@@ -1,9 +1,17 @@
 package com.nageoffer.onethread.dashboard.dev.starter.configuration;
 
+import com.nageoffer.onethread.core.monitor.ThreadPoolMonitor;
 import com.nageoffer.onethread.dashboard.dev.starter.controller.DynamicThreadPoolController;
+import com.nageoffer.onethread.dashboard.dev.starter.controller.ThreadPoolHistoryController;
+import com.nageoffer.onethread.dashboard.dev.starter.controller.ThreadPoolProfilerController;
+import com.nageoffer.onethread.dashboard.dev.starter.controller.ThreadPoolStreamController;
 import com.nageoffer.onethread.dashboard.dev.starter.controller.WebThreadPoolController;
 import com.nageoffer.onethread.dashboard.dev.starter.service.DynamicThreadPoolService;
+import com.nageoffer.onethread.dashboard.dev.starter.service.ThreadPoolHistoryService;
+import com.nageoffer.onethread.dashboard.dev.starter.service.ThreadPoolProfilerService;
+import com.nageoffer.onethread.dashboard.dev.starter.service.ThreadPoolStreamService;
 import com.nageoffer.onethread.dashboard.dev.starter.service.WebThreadPoolService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 
 /**
@@ -21,6 +29,28 @@ public class DashBoardDevAutoConfiguration {
         return new DynamicThreadPoolController(dynamicThreadPoolService);
     }
 
+    @Bean
+    public ThreadPoolHistoryService threadPoolHistoryService(ThreadPoolMonitor threadPoolMonitor) {
+        return new ThreadPoolHistoryService(threadPoolMonitor);
+    }
+
+    @Bean
+    public ThreadPoolHistoryController threadPoolHistoryController(ThreadPoolHistoryService threadPoolHistoryService) {
+        return new ThreadPoolHistoryController(threadPoolHistoryService);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "onethread.dashboard.profiler", value = "enable", havingValue = "true")
+    public ThreadPoolProfilerService threadPoolProfilerService() {
+        return new ThreadPoolProfilerService();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "onethread.dashboard.profiler", value = "enable", havingValue = "true")
+    public ThreadPoolProfilerController threadPoolProfilerController(ThreadPoolProfilerService threadPoolProfilerService) {
+        return new ThreadPoolProfilerController(threadPoolProfilerService);
+    }
+
     @Bean
     public WebThreadPoolService webThreadPoolService(com.nageoffer.onethread.web.starter.core.executor.WebThreadPoolService webThreadPoolService) {
         return new WebThreadPoolService(webThreadPoolService);
@@ -30,4 +60,14 @@ public class DashBoardDevAutoConfiguration {
     public WebThreadPoolController webThreadPoolController(WebThreadPoolService webThreadPoolService) {
         return new WebThreadPoolController(webThreadPoolService);
     }
+
+    @Bean(destroyMethod = "stop")
+    public ThreadPoolStreamService threadPoolStreamService(WebThreadPoolService webThreadPoolService) {
+        return new ThreadPoolStreamService(webThreadPoolService);
+    }
+
+    @Bean
+    public ThreadPoolStreamController threadPoolStreamController(ThreadPoolStreamService threadPoolStreamService) {
+        return new ThreadPoolStreamController(threadPoolStreamService);
+    }
 }
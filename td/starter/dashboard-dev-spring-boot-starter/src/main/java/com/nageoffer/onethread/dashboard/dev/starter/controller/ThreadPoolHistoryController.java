@@ -0,0 +1,32 @@
+package com.nageoffer.onethread.dashboard.dev.starter.controller;
+
+import com.nageoffer.onethread.core.monitor.ThreadPoolMetricsHistorySeries;
+import com.nageoffer.onethread.dashboard.dev.starter.core.Result;
+import com.nageoffer.onethread.dashboard.dev.starter.core.Results;
+import com.nageoffer.onethread.dashboard.dev.starter.service.ThreadPoolHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 线程池指标历史控制器
+ */
+@RestController
+@RequiredArgsConstructor
+public class ThreadPoolHistoryController {
+
+    private final ThreadPoolHistoryService threadPoolHistoryService;
+
+    /**
+     * 查询线程池指标历史，coarse 为 true 时返回汇总级（平均值与最大值）
+     */
+    @GetMapping("/dynamic/thread-pool/{threadPoolId}/history")
+    public Result<ThreadPoolMetricsHistorySeries> getHistory(@PathVariable String threadPoolId,
+                                                             @RequestParam(defaultValue = "false") boolean coarse,
+                                                             @RequestParam(required = false) Long from,
+                                                             @RequestParam(required = false) Long to) {
+        return Results.success(threadPoolHistoryService.getHistory(threadPoolId, coarse, from, to));
+    }
+}
@@ -0,0 +1,32 @@
+package com.nageoffer.onethread.dashboard.dev.starter.controller;
+
+import com.nageoffer.onethread.dashboard.dev.starter.service.ThreadPoolProfilerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 线程池热点任务采样分析控制器，默认关闭，通过 {@code onethread.dashboard.profiler.enable=true} 开启
+ */
+@RestController
+@RequiredArgsConstructor
+public class ThreadPoolProfilerController {
+
+    private final ThreadPoolProfilerService threadPoolProfilerService;
+
+    /**
+     * 采样线程池工作线程调用栈，返回 collapsed-stack 格式文本，可直接用于生成火焰图
+     * <p>
+     * 同步接口，请求在采样期间占用一个 Servlet 工作线程，最长 60 秒；同一时刻只允许一个采样任务，并发请求直接失败，
+     * 调用方的读超时需大于 {@code duration}
+     */
+    @GetMapping(value = "/dynamic/thread-pool/{threadPoolId}/profile", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String profile(@PathVariable String threadPoolId,
+                          @RequestParam(defaultValue = "10") int duration,
+                          @RequestParam(defaultValue = "10") int interval) {
+        return threadPoolProfilerService.profile(threadPoolId, duration, interval);
+    }
+}
@@ -0,0 +1,27 @@
+package com.nageoffer.onethread.dashboard.dev.starter.controller;
+
+import com.nageoffer.onethread.dashboard.dev.starter.service.ThreadPoolStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 线程池运行快照推送控制器
+ */
+@RestController
+@RequiredArgsConstructor
+public class ThreadPoolStreamController {
+
+    private final ThreadPoolStreamService threadPoolStreamService;
+
+    /**
+     * 通过 SSE 按指定间隔推送全部动态线程池和 Web 线程池的运行快照，替代逐个线程池轮询
+     */
+    @GetMapping(value = "/dynamic/stream/thread-pools", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(defaultValue = "1000") long interval) {
+        return threadPoolStreamService.subscribe(interval);
+    }
+}
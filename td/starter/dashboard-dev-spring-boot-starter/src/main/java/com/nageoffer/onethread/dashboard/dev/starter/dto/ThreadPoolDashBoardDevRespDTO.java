@@ -162,6 +162,36 @@ public class ThreadPoolDashBoardDevRespDTO {
      */
     private Long rejectCount;
 
+    /**
+     * 任务排队耗时 P50，单位微秒（自线程池创建以来）
+     */
+    private Long queueWaitTimeP50;
+
+    /**
+     * 任务排队耗时 P99，单位微秒（自线程池创建以来）
+     */
+    private Long queueWaitTimeP99;
+
+    /**
+     * 任务排队耗时 P999，单位微秒（自线程池创建以来）
+     */
+    private Long queueWaitTimeP999;
+
+    /**
+     * 任务执行耗时 P50，单位微秒（自线程池创建以来）
+     */
+    private Long executeTimeP50;
+
+    /**
+     * 任务执行耗时 P99，单位微秒（自线程池创建以来）
+     */
+    private Long executeTimeP99;
+
+    /**
+     * 任务执行耗时 P999，单位微秒（自线程池创建以来）
+     */
+    private Long executeTimeP999;
+
     /**
      * 当前时间
      */
@@ -0,0 +1,66 @@
+package com.nageoffer.onethread.dashboard.dev.starter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 线程池运行快照，仅包含可无锁读取的指标，用于实时推送
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThreadPoolSnapshotDTO {
+
+    /**
+     * 线程池唯一标识
+     */
+    private String threadPoolId;
+
+    /**
+     * 核心线程数，ForkJoinPool 为并行度
+     */
+    private Integer corePoolSize;
+
+    /**
+     * 最大线程数
+     */
+    private Integer maximumPoolSize;
+
+    /**
+     * 当前线程数
+     */
+    private Integer currentPoolSize;
+
+    /**
+     * 活跃线程数
+     */
+    private Integer activePoolSize;
+
+    /**
+     * 队列元素数量，ForkJoinPool 为外部提交积压数
+     */
+    private Integer workQueueSize;
+
+    /**
+     * 队列剩余容量，未知时为 -1
+     */
+    private Integer workQueueRemainingCapacity;
+
+    /**
+     * 已完成任务数，未知时为 -1
+     */
+    private Long completedTaskCount;
+
+    /**
+     * 执行拒绝策略次数，未知时为 -1
+     */
+    private Long rejectCount;
+
+    /**
+     * 线程池状态
+     */
+    private String status;
+}
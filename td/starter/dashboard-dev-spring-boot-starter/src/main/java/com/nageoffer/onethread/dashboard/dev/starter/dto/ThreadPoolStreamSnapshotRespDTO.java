@@ -0,0 +1,44 @@
+package com.nageoffer.onethread.dashboard.dev.starter.dto;
+
+import com.nageoffer.onethread.web.starter.core.WebThreadPoolBaseMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 全部线程池运行快照，通过 SSE 推送给看板
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThreadPoolStreamSnapshotRespDTO {
+
+    /**
+     * 采样时间戳，单位毫秒
+     */
+    private Long timestamp;
+
+    /**
+     * 实例标识
+     */
+    private String networkAddress;
+
+    /**
+     * 当前环境
+     */
+    private String activeProfile;
+
+    /**
+     * 动态线程池快照
+     */
+    private List<ThreadPoolSnapshotDTO> threadPools;
+
+    /**
+     * Web 容器线程池轻量级指标
+     */
+    private WebThreadPoolBaseMetrics webThreadPool;
+}
@@ -2,21 +2,20 @@ package com.nageoffer.onethread.dashboard.dev.starter.service;
 
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.net.Ipv4Util;
-import cn.hutool.core.util.ReflectUtil;
 import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadForkJoinPool;
 import com.nageoffer.onethread.core.executor.OneThreadRegistry;
 import com.nageoffer.onethread.core.executor.ThreadPoolExecutorHolder;
+import com.nageoffer.onethread.core.monitor.LatencyHistogram;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolRunStateProbe;
 import com.nageoffer.onethread.dashboard.dev.starter.dto.ThreadPoolDashBoardDevBaseMetricsRespDTO;
 import com.nageoffer.onethread.dashboard.dev.starter.dto.ThreadPoolDashBoardDevRespDTO;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 
-import java.lang.reflect.Method;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.nageoffer.onethread.dashboard.dev.starter.toolkit.MemoryUtil.getFreeMemory;
 import static com.nageoffer.onethread.dashboard.dev.starter.toolkit.MemoryUtil.getMemoryProportion;
@@ -24,7 +23,6 @@ import static com.nageoffer.onethread.dashboard.dev.starter.toolkit.MemoryUtil.g
 /**
  * 动态线程池接口
  */
-@Slf4j
 public class DynamicThreadPoolService {
 
     @Value("${server.port:8080}")
@@ -41,6 +39,9 @@ public class DynamicThreadPoolService {
     public ThreadPoolDashBoardDevBaseMetricsRespDTO getBasicMetrics(String threadPoolId) {
         ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(threadPoolId);
         Optional.ofNullable(holder).orElseThrow(() -> new RuntimeException("No thread pool with id " + threadPoolId));
+        if (holder.isForkJoinPool()) {
+            return getForkJoinPoolBasicMetrics(holder);
+        }
 
         ThreadPoolExecutor executor = holder.getExecutor();
         int corePoolSize = executor.getCorePoolSize();
@@ -55,7 +56,7 @@ public class DynamicThreadPoolService {
 
         long rejectCount = -1L;
         if (executor instanceof OneThreadExecutor) {
-            rejectCount = ((OneThreadExecutor) executor).getRejectCount().get();
+            rejectCount = ((OneThreadExecutor) executor).getRejectCount();
         }
 
         return ThreadPoolDashBoardDevBaseMetricsRespDTO.builder()
@@ -83,25 +84,28 @@ public class DynamicThreadPoolService {
     public ThreadPoolDashBoardDevRespDTO getRuntimeInfo(String threadPoolId) {
         ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(threadPoolId);
         Optional.ofNullable(holder).orElseThrow(() -> new RuntimeException("No thread pool with id " + threadPoolId));
+        if (holder.isForkJoinPool()) {
+            return getForkJoinPoolRuntimeInfo(holder);
+        }
 
         ThreadPoolExecutor executor = holder.getExecutor();
         BlockingQueue<?> queue = executor.getQueue();
 
         long rejectCount = -1L;
         if (executor instanceof OneThreadExecutor) {
-            rejectCount = ((OneThreadExecutor) executor).getRejectCount().get();
+            rejectCount = ((OneThreadExecutor) executor).getRejectCount();
         }
 
         int workQueueSize = queue.size(); // API 有锁，避免高频率调用
         int remainingCapacity = queue.remainingCapacity(); // API 有锁，避免高频率调用
-        return ThreadPoolDashBoardDevRespDTO.builder()
+        ThreadPoolDashBoardDevRespDTO respDTO = ThreadPoolDashBoardDevRespDTO.builder()
                 .threadPoolId(holder.getThreadPoolId())
                 .corePoolSize(executor.getCorePoolSize())
                 .maximumPoolSize(executor.getMaximumPoolSize())
-                .activePoolSize(executor.getActiveCount())  // API 有锁，避免高频率调用
-                .currentPoolSize(executor.getPoolSize())  // API 有锁，避免高频率调用
-                .completedTaskCount(executor.getCompletedTaskCount())  // API 有锁，避免高频率调用
-                .largestPoolSize(executor.getLargestPoolSize())  // API 有锁，避免高频率调用
+                .activePoolSize(executor.getActiveCount())  // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+                .currentPoolSize(executor.getPoolSize())  // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+                .completedTaskCount(executor.getCompletedTaskCount())  // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
+                .largestPoolSize(executor.getLargestPoolSize())  // OneThreadExecutor 为无锁计数，原生线程池需获取 mainLock
                 .workQueueName(queue.getClass().getSimpleName())
                 .workQueueSize(workQueueSize)
                 .workQueueRemainingCapacity(remainingCapacity)
@@ -116,32 +120,77 @@ public class DynamicThreadPoolService {
                 .peakLoad((int) Math.round((executor.getLargestPoolSize() * 100.0) / executor.getMaximumPoolSize()) + "%")
                 .freeMemory(getFreeMemory())
                 .memoryUsagePercentage(getMemoryProportion())
-                .status(getThreadPoolState(executor))
+                .status(ThreadPoolRunStateProbe.probe(executor).getStatus())
                 .currentTime(DateUtil.now())
                 .build();
+
+        if (executor instanceof OneThreadExecutor) {
+            LatencyHistogram queueWaitHistogram = ((OneThreadExecutor) executor).getQueueWaitHistogram();
+            LatencyHistogram executeTimeHistogram = ((OneThreadExecutor) executor).getExecuteTimeHistogram();
+            respDTO.setQueueWaitTimeP50(queueWaitHistogram.valueAtPercentile(50D));
+            respDTO.setQueueWaitTimeP99(queueWaitHistogram.valueAtPercentile(99D));
+            respDTO.setQueueWaitTimeP999(queueWaitHistogram.valueAtPercentile(99.9D));
+            respDTO.setExecuteTimeP50(executeTimeHistogram.valueAtPercentile(50D));
+            respDTO.setExecuteTimeP99(executeTimeHistogram.valueAtPercentile(99D));
+            respDTO.setExecuteTimeP999(executeTimeHistogram.valueAtPercentile(99.9D));
+        }
+        return respDTO;
     }
 
+    /**
+     * ForkJoinPool 没有阻塞队列和拒绝策略，队列指标取外部提交积压数，容量取配置的队列容量
+     */
+    private ThreadPoolDashBoardDevBaseMetricsRespDTO getForkJoinPoolBasicMetrics(ThreadPoolExecutorHolder holder) {
+        OneThreadForkJoinPool forkJoinPool = holder.getForkJoinPool();
+        int queuedSubmissionCount = (int) Math.min(forkJoinPool.getQueuedSubmissionCount(), Integer.MAX_VALUE);
+        int queueCapacity = Optional.ofNullable(holder.getExecutorProperties().getQueueCapacity()).orElse(-1);
 
-    private String getThreadPoolState(ThreadPoolExecutor executor) {
-        try {
-            Method runStateLessThan = ReflectUtil.getMethodByName(ThreadPoolExecutor.class, "runStateLessThan");
-            ReflectUtil.setAccessible(runStateLessThan);
-            AtomicInteger ctl = (AtomicInteger) ReflectUtil.getFieldValue(executor, "ctl");
-            int shutdown = (int) ReflectUtil.getFieldValue(executor, "SHUTDOWN");
-            boolean runStateLessThanBool = ReflectUtil.invoke(executor, runStateLessThan, ctl.get(), shutdown);
-            if (runStateLessThanBool) {
-                return "Running";
-            }
-
-            Method runStateAtLeast = ReflectUtil.getMethodByName(ThreadPoolExecutor.class, "runStateAtLeast");
-            ReflectUtil.setAccessible(runStateAtLeast);
-            int terminated = (int) ReflectUtil.getFieldValue(executor, "TERMINATED");
-            String resultStatus = ReflectUtil.invoke(executor, runStateAtLeast, ctl.get(), terminated) ? "Terminated" : "Shutting down";
-            return resultStatus;
-        } catch (Exception ex) {
-            log.error("Failed to get thread pool status.", ex);
-        }
+        return ThreadPoolDashBoardDevBaseMetricsRespDTO.builder()
+                .threadPoolId(holder.getThreadPoolId())
+                .corePoolSize(forkJoinPool.getParallelism())
+                .maximumPoolSize(forkJoinPool.getMaximumPoolSize())
+                .keepAliveTime(forkJoinPool.getKeepAliveTime())
+                .workQueueName("ForkJoinPool")
+                .workQueueSize(queuedSubmissionCount)
+                .workQueueRemainingCapacity(queueCapacity < 0 ? -1 : Math.max(queueCapacity - queuedSubmissionCount, 0))
+                .workQueueCapacity(queueCapacity)
+                .rejectedHandlerName("-")
+                .rejectCount(-1L)
+                .activeProfile(activeProfile.toUpperCase())
+                .networkAddress(Ipv4Util.LOCAL_IP + ":" + port)
+                .build();
+    }
 
-        return "UNKNOWN";
+    private ThreadPoolDashBoardDevRespDTO getForkJoinPoolRuntimeInfo(ThreadPoolExecutorHolder holder) {
+        OneThreadForkJoinPool forkJoinPool = holder.getForkJoinPool();
+        int queuedSubmissionCount = (int) Math.min(forkJoinPool.getQueuedSubmissionCount(), Integer.MAX_VALUE);
+        int queueCapacity = Optional.ofNullable(holder.getExecutorProperties().getQueueCapacity()).orElse(-1);
+        int activeCount = forkJoinPool.getActiveThreadCount();
+
+        return ThreadPoolDashBoardDevRespDTO.builder()
+                .threadPoolId(holder.getThreadPoolId())
+                .corePoolSize(forkJoinPool.getParallelism())
+                .maximumPoolSize(forkJoinPool.getMaximumPoolSize())
+                .activePoolSize(activeCount)
+                .currentPoolSize(forkJoinPool.getPoolSize())
+                .completedTaskCount(-1L)
+                .largestPoolSize(-1)
+                .workQueueName("ForkJoinPool")
+                .workQueueSize(queuedSubmissionCount)
+                .workQueueRemainingCapacity(queueCapacity < 0 ? -1 : Math.max(queueCapacity - queuedSubmissionCount, 0))
+                .workQueueCapacity(queueCapacity)
+                .rejectedHandlerName("-")
+                .rejectCount(-1L)
+                .activeProfile(activeProfile.toUpperCase())
+                .ip(Ipv4Util.LOCAL_IP)
+                .keepAliveTime(forkJoinPool.getKeepAliveTime())
+                .port(port)
+                .currentLoad((int) Math.round((activeCount * 100.0) / forkJoinPool.getParallelism()) + "%")
+                .peakLoad("-")
+                .freeMemory(getFreeMemory())
+                .memoryUsagePercentage(getMemoryProportion())
+                .status(ThreadPoolRunStateProbe.probe(forkJoinPool).getStatus())
+                .currentTime(DateUtil.now())
+                .build();
     }
 }
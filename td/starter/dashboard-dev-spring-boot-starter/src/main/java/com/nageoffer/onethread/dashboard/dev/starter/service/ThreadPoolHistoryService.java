@@ -0,0 +1,36 @@
+package com.nageoffer.onethread.dashboard.dev.starter.service;
+
+import com.nageoffer.onethread.core.monitor.ThreadPoolMetricsHistory;
+import com.nageoffer.onethread.core.monitor.ThreadPoolMetricsHistorySeries;
+import com.nageoffer.onethread.core.monitor.ThreadPoolMonitor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+/**
+ * 线程池指标历史查询接口
+ */
+@RequiredArgsConstructor
+public class ThreadPoolHistoryService {
+
+    private final ThreadPoolMonitor threadPoolMonitor;
+
+    /**
+     * 查询线程池指标历史
+     *
+     * @param threadPoolId 线程池唯一标识
+     * @param coarse       是否查询汇总级（每 60 个采集周期一个点）
+     * @param fromMillis   起始时间戳，为空时从最早保留的点开始
+     * @param toMillis     结束时间戳，为空时取当前时间
+     * @return 按时间升序的指标序列
+     */
+    public ThreadPoolMetricsHistorySeries getHistory(String threadPoolId, boolean coarse, Long fromMillis, Long toMillis) {
+        ThreadPoolMetricsHistory metricsHistory = threadPoolMonitor.getMetricsHistory();
+        Optional.ofNullable(metricsHistory).orElseThrow(() -> new RuntimeException("Thread pool metrics history is disabled"));
+
+        long to = Optional.ofNullable(toMillis).orElseGet(System::currentTimeMillis);
+        long from = Optional.ofNullable(fromMillis).orElse(0L);
+        ThreadPoolMetricsHistorySeries series = metricsHistory.query(threadPoolId, coarse, from, to);
+        return Optional.ofNullable(series).orElseThrow(() -> new RuntimeException("No metrics history for thread pool with id " + threadPoolId));
+    }
+}
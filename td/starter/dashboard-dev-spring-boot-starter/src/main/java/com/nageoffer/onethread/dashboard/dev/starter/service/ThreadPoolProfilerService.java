@@ -0,0 +1,169 @@
+package com.nageoffer.onethread.dashboard.dev.starter.service;
+
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadRegistry;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorHolder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 线程池热点任务采样分析接口
+ * <p>
+ * 按固定间隔批量获取线程池工作线程的调用栈，聚合为 collapsed-stack 格式（每行 {@code 栈帧;栈帧;... 次数}），
+ * 可直接交给 flamegraph.pl、speedscope 等工具生成火焰图。空闲等待任务的工作线程不计入采样。
+ * <p>
+ * 内存占用有上限：调用栈只保留叶子端 {@value #MAX_STACK_DEPTH} 层，被截断的调用栈以 {@link #TRUNCATED_STACK} 作为根栈帧；
+ * 最多保留 {@value #MAX_DISTINCT_STACKS} 个不同调用栈，超出后的新调用栈计入 {@link #TRUNCATED_STACK}，单次采样最多占用数 MB。
+ * 同一时刻只允许一个采样任务运行。
+ * <p>
+ * 采样在调用线程中同步执行，HTTP 请求会占用一个 Servlet 工作线程直到采样结束，最长 {@value #MAX_DURATION_SECONDS} 秒。
+ */
+@Slf4j
+public class ThreadPoolProfilerService {
+
+    /**
+     * 单条调用栈最大栈帧数
+     */
+    static final int MAX_STACK_DEPTH = 64;
+
+    /**
+     * 最多保留的不同调用栈数量
+     */
+    static final int MAX_DISTINCT_STACKS = 1000;
+
+    /**
+     * 最长采样时长，单位秒
+     */
+    private static final int MAX_DURATION_SECONDS = 60;
+
+    /**
+     * 被截断调用栈的根栈帧，以及超出调用栈数量上限后的聚合项
+     */
+    static final String TRUNCATED_STACK = "[truncated]";
+
+    /**
+     * 工作线程从队列获取任务的方法，位于该方法中说明线程空闲
+     */
+    private static final String GET_TASK_CLASS_NAME = "java.util.concurrent.ThreadPoolExecutor";
+    private static final String GET_TASK_METHOD_NAME = "getTask";
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final AtomicBoolean profiling = new AtomicBoolean(false);
+
+    /**
+     * 采样线程池工作线程调用栈，阻塞调用线程到采样结束
+     *
+     * @param threadPoolId    线程池唯一标识
+     * @param durationSeconds 采样时长，单位秒，最长 60 秒
+     * @param intervalMillis  采样间隔，单位毫秒，取值 1 ~ 1000
+     * @return collapsed-stack 格式的采样结果，按采样次数倒序
+     */
+    public String profile(String threadPoolId, int durationSeconds, int intervalMillis) {
+        ThreadPoolExecutorHolder holder = OneThreadRegistry.getHolder(threadPoolId);
+        Optional.ofNullable(holder).orElseThrow(() -> new RuntimeException("No thread pool with id " + threadPoolId));
+        if (!(holder.getExecutor() instanceof OneThreadExecutor)) {
+            throw new RuntimeException("Thread pool " + threadPoolId + " does not support profiling, only OneThreadExecutor is supported");
+        }
+        if (!profiling.compareAndSet(false, true)) {
+            throw new RuntimeException("Another profiling task is running, please try again later");
+        }
+
+        try {
+            OneThreadExecutor executor = (OneThreadExecutor) holder.getExecutor();
+            long durationNanos = TimeUnit.SECONDS.toNanos(Math.max(1, Math.min(durationSeconds, MAX_DURATION_SECONDS)));
+            long intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, Math.min(intervalMillis, 1000)));
+            Map<String, Long> stackCounts = sample(executor, durationNanos, intervalNanos);
+            return toCollapsed(stackCounts);
+        } finally {
+            profiling.set(false);
+        }
+    }
+
+    private Map<String, Long> sample(OneThreadExecutor executor, long durationNanos, long intervalNanos) {
+        Map<String, Long> stackCounts = new HashMap<>();
+        StringBuilder builder = new StringBuilder(1024);
+        long deadline = System.nanoTime() + durationNanos;
+        long nextSampleTime = System.nanoTime();
+        while (nextSampleTime - deadline < 0) {
+            Collection<Thread> workerThreads = executor.getWorkerThreads();
+            long[] threadIds = workerThreads.stream().mapToLong(Thread::getId).toArray();
+            // 批量获取调用栈，一次采样只进入一次安全点；多取一层用于判断是否被截断
+            ThreadInfo[] threadInfos = threadMXBean.getThreadInfo(threadIds, MAX_STACK_DEPTH + 1);
+            for (ThreadInfo threadInfo : threadInfos) {
+                if (threadInfo == null || isIdle(threadInfo.getStackTrace())) {
+                    continue;
+                }
+                addStack(stackCounts, collapse(threadInfo.getStackTrace(), builder));
+            }
+
+            nextSampleTime += intervalNanos;
+            long sleepNanos = nextSampleTime - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Thread pool profiling interrupted, returning partial result.");
+                    break;
+                }
+            }
+        }
+        return stackCounts;
+    }
+
+    static boolean isIdle(StackTraceElement[] stackTrace) {
+        for (StackTraceElement element : stackTrace) {
+            if (GET_TASK_METHOD_NAME.equals(element.getMethodName()) && GET_TASK_CLASS_NAME.equals(element.getClassName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 调用栈按从根到叶的顺序以分号拼接，超过 {@link #MAX_STACK_DEPTH} 层时丢弃根端栈帧并以 {@link #TRUNCATED_STACK} 开头
+     */
+    static String collapse(StackTraceElement[] stackTrace, StringBuilder builder) {
+        builder.setLength(0);
+        int depth = stackTrace.length;
+        if (depth > MAX_STACK_DEPTH) {
+            depth = MAX_STACK_DEPTH;
+            builder.append(TRUNCATED_STACK).append(';');
+        }
+        for (int i = depth - 1; i >= 0; i--) {
+            StackTraceElement element = stackTrace[i];
+            builder.append(element.getClassName()).append('.').append(element.getMethodName());
+            if (i > 0) {
+                builder.append(';');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 计入一次采样，不同调用栈数量达到上限后新出现的调用栈计入 {@link #TRUNCATED_STACK}
+     */
+    static void addStack(Map<String, Long> stackCounts, String stack) {
+        if (stackCounts.size() >= MAX_DISTINCT_STACKS && !stackCounts.containsKey(stack)) {
+            stack = TRUNCATED_STACK;
+        }
+        stackCounts.merge(stack, 1L, Long::sum);
+    }
+
+    private String toCollapsed(Map<String, Long> stackCounts) {
+        StringBuilder result = new StringBuilder();
+        stackCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> result.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n'));
+        return result.toString();
+    }
+}
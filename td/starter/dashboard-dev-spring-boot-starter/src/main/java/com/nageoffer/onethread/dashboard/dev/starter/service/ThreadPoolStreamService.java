@@ -0,0 +1,295 @@
+package com.nageoffer.onethread.dashboard.dev.starter.service;
+
+import cn.hutool.core.net.Ipv4Util;
+import com.alibaba.fastjson2.JSON;
+import com.nageoffer.onethread.core.executor.OneThreadExecutor;
+import com.nageoffer.onethread.core.executor.OneThreadForkJoinPool;
+import com.nageoffer.onethread.core.executor.OneThreadRegistry;
+import com.nageoffer.onethread.core.executor.ThreadPoolExecutorHolder;
+import com.nageoffer.onethread.core.toolkit.ThreadFactoryBuilder;
+import com.nageoffer.onethread.core.toolkit.ThreadPoolRunStateProbe;
+import com.nageoffer.onethread.dashboard.dev.starter.dto.ThreadPoolSnapshotDTO;
+import com.nageoffer.onethread.dashboard.dev.starter.dto.ThreadPoolStreamSnapshotRespDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池运行快照推送接口
+ * <p>
+ * 所有订阅者共享同一个采样线程：每个节拍最多采样并序列化一次，再推送给该节拍到期的订阅者，
+ * 订阅者数量只影响推送次数，不影响采样开销。快照只读取无锁指标，运行状态由 {@link ThreadPoolRunStateProbe} 探测。
+ * <p>
+ * 推送交给独立的推送线程池执行，每个订阅者同一时刻最多一个推送在途，慢客户端不会阻塞采样线程和其他订阅者；
+ * 推送超过一个节拍仍未完成的订阅者会被移除，在途推送结束后断开连接。
+ * <p>
+ * 第一个订阅者连接时开始采样，最后一个订阅者断开后停止采样，没有订阅者时不产生任何开销。
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ThreadPoolStreamService {
+
+    /**
+     * 采样节拍，订阅者推送间隔按节拍向上取整
+     */
+    private static final long TICK_MILLIS = 100L;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+
+    /**
+     * 最长推送间隔，单位毫秒
+     */
+    private static final long MAX_INTERVAL_MILLIS = 60000L;
+
+    /**
+     * 最多同时在线的订阅者数量
+     */
+    private static final int MAX_SUBSCRIBERS = 64;
+
+    private final WebThreadPoolService webThreadPoolService;
+
+    @Value("${server.port:8080}")
+    private String port;
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            ThreadFactoryBuilder.builder()
+                    .namePrefix("scheduler_thread-pool_stream")
+                    .build()
+    );
+
+    /**
+     * 推送线程池，空闲线程 60 秒后回收，在途推送达到订阅者上限时拒绝
+     */
+    private final ThreadPoolExecutor sender = new ThreadPoolExecutor(
+            0,
+            MAX_SUBSCRIBERS,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            ThreadFactoryBuilder.builder()
+                    .namePrefix("thread-pool_stream_sender")
+                    .build()
+    );
+    private long tick;
+
+    /**
+     * 采样推送任务，有订阅者时运行，订阅者增减时在同步块中启停
+     */
+    private ScheduledFuture<?> pushFuture;
+
+    /**
+     * 停止采样推送任务并断开所有订阅者
+     */
+    public void stop() {
+        synchronized (this) {
+            scheduler.shutdown();
+            sender.shutdown();
+            pushFuture = null;
+        }
+        subscribers.forEach(each -> each.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * 订阅全部线程池运行快照
+     *
+     * @param intervalMillis 推送间隔，单位毫秒，取值 100 ~ 60000
+     * @return SSE 连接，每次推送一个 {@code snapshot} 事件
+     */
+    public SseEmitter subscribe(long intervalMillis) {
+        return subscribe(new SseEmitter(0L), intervalMillis);
+    }
+
+    synchronized SseEmitter subscribe(SseEmitter emitter, long intervalMillis) {
+        if (scheduler.isShutdown()) {
+            throw new RuntimeException("Thread pool stream service is stopped");
+        }
+        if (subscribers.size() >= MAX_SUBSCRIBERS) {
+            throw new RuntimeException("Too many thread pool stream subscribers, limit is " + MAX_SUBSCRIBERS);
+        }
+
+        Subscriber subscriber = new Subscriber(emitter, toIntervalTicks(intervalMillis));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        if (pushFuture == null) {
+            pushFuture = scheduler.scheduleAtFixedRate(this::push, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return emitter;
+    }
+
+    /**
+     * 推送间隔限制在 100 ~ 60000 毫秒，并按采样节拍向上取整
+     */
+    static long toIntervalTicks(long intervalMillis) {
+        long clampedInterval = Math.max(TICK_MILLIS, Math.min(intervalMillis, MAX_INTERVAL_MILLIS));
+        return (clampedInterval + TICK_MILLIS - 1) / TICK_MILLIS;
+    }
+
+    synchronized boolean isSampling() {
+        return pushFuture != null;
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber) && subscribers.isEmpty() && pushFuture != null) {
+            pushFuture.cancel(false);
+            pushFuture = null;
+        }
+    }
+
+    private void push() {
+        try {
+            long currentTick = tick++;
+            long now = System.nanoTime();
+            String snapshotJson = null;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.state.get() == Subscriber.SENDING) {
+                    // 上一次推送超过一个节拍仍未完成，移除订阅者，由推送线程在发送结束后断开连接
+                    if (now - subscriber.sendStartNanos >= TICK_NANOS && subscriber.state.compareAndSet(Subscriber.SENDING, Subscriber.DROPPED)) {
+                        unsubscribe(subscriber);
+                    }
+                    continue;
+                }
+                if (currentTick < subscriber.nextTick) {
+                    continue;
+                }
+                if (snapshotJson == null) {
+                    snapshotJson = buildSnapshotJson();
+                }
+                subscriber.nextTick = currentTick + subscriber.intervalTicks;
+                subscriber.sendStartNanos = now;
+                subscriber.state.set(Subscriber.SENDING);
+                String data = snapshotJson;
+                try {
+                    sender.execute(() -> send(subscriber, data));
+                } catch (RejectedExecutionException ex) {
+                    // 推送线程全部被慢客户端占用，没有在途推送的订阅者可以直接断开
+                    subscriber.state.set(Subscriber.DROPPED);
+                    unsubscribe(subscriber);
+                    subscriber.emitter.completeWithError(ex);
+                }
+            }
+        } catch (Throwable ex) {
+            log.error("Thread pool stream push error.", ex);
+        }
+    }
+
+    private void send(Subscriber subscriber, String snapshotJson) {
+        try {
+            subscriber.emitter.send(SseEmitter.event().name("snapshot").data(snapshotJson, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException ex) {
+            // 客户端已断开，移除订阅者
+            subscriber.state.set(Subscriber.DROPPED);
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(ex);
+            return;
+        }
+        if (!subscriber.state.compareAndSet(Subscriber.SENDING, Subscriber.IDLE)) {
+            // 推送超时已被移除
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * 序列化全部线程池运行快照，单元测试可覆盖
+     */
+    String buildSnapshotJson() {
+        return JSON.toJSONString(buildSnapshot());
+    }
+
+    private ThreadPoolStreamSnapshotRespDTO buildSnapshot() {
+        List<ThreadPoolSnapshotDTO> threadPools = new ArrayList<>();
+        for (ThreadPoolExecutorHolder holder : OneThreadRegistry.getAllHolders()) {
+            threadPools.add(holder.isForkJoinPool() ? buildForkJoinPoolSnapshot(holder) : buildSnapshot(holder));
+        }
+
+        return ThreadPoolStreamSnapshotRespDTO.builder()
+                .timestamp(System.currentTimeMillis())
+                .networkAddress(Ipv4Util.LOCAL_IP + ":" + port)
+                .activeProfile(activeProfile.toUpperCase())
+                .threadPools(threadPools)
+                .webThreadPool(webThreadPoolService.getBasicMetrics())
+                .build();
+    }
+
+    private ThreadPoolSnapshotDTO buildSnapshot(ThreadPoolExecutorHolder holder) {
+        ThreadPoolExecutor executor = holder.getExecutor();
+        BlockingQueue<?> queue = executor.getQueue();
+        ThreadPoolSnapshotDTO snapshot = ThreadPoolSnapshotDTO.builder()
+                .threadPoolId(holder.getThreadPoolId())
+                .corePoolSize(executor.getCorePoolSize())
+                .maximumPoolSize(executor.getMaximumPoolSize())
+                .workQueueSize(queue.size())
+                .workQueueRemainingCapacity(queue.remainingCapacity())
+                .status(ThreadPoolRunStateProbe.probe(executor).getStatus())
+                .build();
+
+        if (executor instanceof OneThreadExecutor) {
+            // OneThreadExecutor 的线程数与任务数为无锁计数，原生线程池需获取 mainLock，快照中不采集
+            snapshot.setCurrentPoolSize(executor.getPoolSize());
+            snapshot.setActivePoolSize(executor.getActiveCount());
+            snapshot.setCompletedTaskCount(executor.getCompletedTaskCount());
+            snapshot.setRejectCount(((OneThreadExecutor) executor).getRejectCount());
+        } else {
+            snapshot.setCurrentPoolSize(-1);
+            snapshot.setActivePoolSize(-1);
+            snapshot.setCompletedTaskCount(-1L);
+            snapshot.setRejectCount(-1L);
+        }
+        return snapshot;
+    }
+
+    private ThreadPoolSnapshotDTO buildForkJoinPoolSnapshot(ThreadPoolExecutorHolder holder) {
+        OneThreadForkJoinPool forkJoinPool = holder.getForkJoinPool();
+        int queuedSubmissionCount = (int) Math.min(forkJoinPool.getQueuedSubmissionCount(), Integer.MAX_VALUE);
+        int queueCapacity = Optional.ofNullable(holder.getExecutorProperties().getQueueCapacity()).orElse(-1);
+
+        return ThreadPoolSnapshotDTO.builder()
+                .threadPoolId(holder.getThreadPoolId())
+                .corePoolSize(forkJoinPool.getParallelism())
+                .maximumPoolSize(forkJoinPool.getMaximumPoolSize())
+                .currentPoolSize(forkJoinPool.getPoolSize())
+                .activePoolSize(forkJoinPool.getActiveThreadCount())
+                .workQueueSize(queuedSubmissionCount)
+                .workQueueRemainingCapacity(queueCapacity < 0 ? -1 : Math.max(queueCapacity - queuedSubmissionCount, 0))
+                .completedTaskCount(-1L)
+                .rejectCount(-1L)
+                .status(ThreadPoolRunStateProbe.probe(forkJoinPool).getStatus())
+                .build();
+    }
+
+    @RequiredArgsConstructor
+    private static class Subscriber {
+
+        private static final int IDLE = 0;
+        private static final int SENDING = 1;
+        private static final int DROPPED = 2;
+
+        private final SseEmitter emitter;
+        private final long intervalTicks;
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        private long nextTick;
+        private long sendStartNanos;
+    }
+}
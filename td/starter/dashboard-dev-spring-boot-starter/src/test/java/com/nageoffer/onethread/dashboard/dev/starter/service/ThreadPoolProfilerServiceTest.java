@@ -0,0 +1,83 @@
+package com.nageoffer.onethread.dashboard.dev.starter.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 线程池热点任务采样分析单元测试
+ */
+public class ThreadPoolProfilerServiceTest {
+
+    @Test
+    void testCollapseFromRootToLeaf() {
+        StackTraceElement[] stackTrace = {
+                frame("com.example.Dao", "query"),
+                frame("com.example.Service", "handle"),
+                frame("java.lang.Thread", "run")
+        };
+
+        String stack = ThreadPoolProfilerService.collapse(stackTrace, new StringBuilder());
+        assertThat(stack).isEqualTo("java.lang.Thread.run;com.example.Service.handle;com.example.Dao.query");
+    }
+
+    @Test
+    void testCollapseTruncatedStackKeepsLeafFrames() {
+        StackTraceElement[] stackTrace = new StackTraceElement[ThreadPoolProfilerService.MAX_STACK_DEPTH + 1];
+        for (int i = 0; i < stackTrace.length; i++) {
+            stackTrace[i] = frame("com.example.Recursive", "call" + i);
+        }
+
+        String stack = ThreadPoolProfilerService.collapse(stackTrace, new StringBuilder());
+        String[] frames = stack.split(";");
+        assertThat(frames).hasSize(ThreadPoolProfilerService.MAX_STACK_DEPTH + 1);
+        assertThat(frames[0]).isEqualTo(ThreadPoolProfilerService.TRUNCATED_STACK);
+        assertThat(frames[frames.length - 1]).isEqualTo("com.example.Recursive.call0");
+        assertThat(stack).doesNotContain("call" + ThreadPoolProfilerService.MAX_STACK_DEPTH + ";");
+
+        // 未超过上限的调用栈不加标记
+        String fullStack = ThreadPoolProfilerService.collapse(
+                new StackTraceElement[]{frame("com.example.Recursive", "call0")}, new StringBuilder());
+        assertThat(fullStack).isEqualTo("com.example.Recursive.call0");
+    }
+
+    @Test
+    void testIsIdle() {
+        StackTraceElement[] idle = {
+                frame("java.util.concurrent.LinkedBlockingQueue", "take"),
+                frame("java.util.concurrent.ThreadPoolExecutor", "getTask"),
+                frame("java.util.concurrent.ThreadPoolExecutor", "runWorker")
+        };
+        StackTraceElement[] busy = {
+                frame("com.example.Task", "getTask"),
+                frame("java.util.concurrent.ThreadPoolExecutor", "runWorker")
+        };
+
+        assertThat(ThreadPoolProfilerService.isIdle(idle)).isTrue();
+        assertThat(ThreadPoolProfilerService.isIdle(busy)).isFalse();
+    }
+
+    @Test
+    void testDistinctStacksLimit() {
+        Map<String, Long> stackCounts = new HashMap<>();
+        for (int i = 0; i < ThreadPoolProfilerService.MAX_DISTINCT_STACKS; i++) {
+            ThreadPoolProfilerService.addStack(stackCounts, "stack" + i);
+        }
+
+        // 达到上限后已有调用栈继续计数，新调用栈计入截断项
+        ThreadPoolProfilerService.addStack(stackCounts, "stack0");
+        ThreadPoolProfilerService.addStack(stackCounts, "new-stack-a");
+        ThreadPoolProfilerService.addStack(stackCounts, "new-stack-b");
+        assertThat(stackCounts).hasSize(ThreadPoolProfilerService.MAX_DISTINCT_STACKS + 1);
+        assertThat(stackCounts).containsEntry("stack0", 2L)
+                .containsEntry(ThreadPoolProfilerService.TRUNCATED_STACK, 2L)
+                .doesNotContainKey("new-stack-a");
+    }
+
+    private static StackTraceElement frame(String className, String methodName) {
+        return new StackTraceElement(className, methodName, null, -1);
+    }
+}
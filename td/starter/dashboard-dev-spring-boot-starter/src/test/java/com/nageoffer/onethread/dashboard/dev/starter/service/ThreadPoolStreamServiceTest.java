@@ -0,0 +1,171 @@
+package com.nageoffer.onethread.dashboard.dev.starter.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 线程池运行快照推送单元测试
+ */
+public class ThreadPoolStreamServiceTest {
+
+    private final ThreadPoolStreamService streamService = new ThreadPoolStreamService(null) {
+
+        @Override
+        String buildSnapshotJson() {
+            return "{}";
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        streamService.stop();
+    }
+
+    @Test
+    void testIntervalClampedToTicks() {
+        assertThat(ThreadPoolStreamService.toIntervalTicks(-1L)).isEqualTo(1L);
+        assertThat(ThreadPoolStreamService.toIntervalTicks(50L)).isEqualTo(1L);
+        assertThat(ThreadPoolStreamService.toIntervalTicks(100L)).isEqualTo(1L);
+        assertThat(ThreadPoolStreamService.toIntervalTicks(150L)).isEqualTo(2L);
+        assertThat(ThreadPoolStreamService.toIntervalTicks(1000L)).isEqualTo(10L);
+        assertThat(ThreadPoolStreamService.toIntervalTicks(Long.MAX_VALUE)).isEqualTo(600L);
+    }
+
+    @Test
+    void testSamplerRunsOnlyWithSubscribers() {
+        assertThat(streamService.isSampling()).isFalse();
+
+        CapturingEmitter first = new CapturingEmitter();
+        CapturingEmitter second = new CapturingEmitter();
+        streamService.subscribe(first, 1000L);
+        streamService.subscribe(second, 1000L);
+        assertThat(streamService.isSampling()).isTrue();
+
+        first.completionCallback.run();
+        assertThat(streamService.isSampling()).isTrue();
+        second.completionCallback.run();
+        assertThat(streamService.isSampling()).isFalse();
+
+        // 重新订阅后再次开始采样
+        streamService.subscribe(new CapturingEmitter(), 1000L);
+        assertThat(streamService.isSampling()).isTrue();
+    }
+
+    @Test
+    void testEmitterRemovedOnTimeoutAndError() {
+        CapturingEmitter timedOut = new CapturingEmitter();
+        CapturingEmitter failed = new CapturingEmitter();
+        streamService.subscribe(timedOut, 1000L);
+        streamService.subscribe(failed, 1000L);
+
+        timedOut.timeoutCallback.run();
+        failed.errorCallback.accept(new IOException("Broken pipe"));
+        assertThat(streamService.isSampling()).isFalse();
+
+        // 重复回调不影响其他订阅者
+        CapturingEmitter alive = new CapturingEmitter();
+        streamService.subscribe(alive, 1000L);
+        timedOut.completionCallback.run();
+        assertThat(streamService.isSampling()).isTrue();
+    }
+
+    @Test
+    void testSubscribeAfterStop() {
+        streamService.stop();
+        assertThatThrownBy(() -> streamService.subscribe(new CapturingEmitter(), 1000L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("stopped");
+    }
+
+    @Test
+    void testSlowSubscriberDroppedWithoutBlockingOthers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter slow = new CapturingEmitter(release);
+        CapturingEmitter fast = new CapturingEmitter();
+        streamService.subscribe(slow, 100L);
+        streamService.subscribe(fast, 100L);
+
+        // 慢客户端阻塞期间，其他订阅者仍按节拍收到快照
+        waitUntil(() -> fast.sendCount.get() >= 5);
+        assertThat(slow.sendCount.get()).isEqualTo(1);
+        assertThat(slow.completed).isFalse();
+
+        // 慢客户端已被移除，在途推送结束后断开连接
+        release.countDown();
+        waitUntil(() -> slow.completed);
+        assertThat(slow.sendCount.get()).isEqualTo(1);
+        assertThat(fast.completed).isFalse();
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static class CapturingEmitter extends SseEmitter {
+
+        private final CountDownLatch sendLatch;
+        private final AtomicInteger sendCount = new AtomicInteger();
+        private volatile boolean completed;
+        private Runnable completionCallback;
+        private Runnable timeoutCallback;
+        private Consumer<Throwable> errorCallback;
+
+        CapturingEmitter() {
+            this(null);
+        }
+
+        /**
+         * @param sendLatch 不为空时发送阻塞到该计数器归零，模拟慢客户端
+         */
+        CapturingEmitter(CountDownLatch sendLatch) {
+            this.sendLatch = sendLatch;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendCount.incrementAndGet();
+            if (sendLatch != null) {
+                try {
+                    sendLatch.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            this.completionCallback = callback;
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            this.timeoutCallback = callback;
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            this.errorCallback = callback;
+        }
+    }
+}